@@ -3,12 +3,17 @@ import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.fxssi.extractor.config.StorageConfig;
 import com.fxssi.extractor.model.CurrencyPairData;
 import com.fxssi.extractor.scheduler.HourlyScheduler;
 import com.fxssi.extractor.scraper.FXSSIScraper;
 import com.fxssi.extractor.scraper.FearGreedScraper;
+import com.fxssi.extractor.scraper.SentimentFetchStage;
+import com.fxssi.extractor.scraper.SentimentSourceRegistry;
 import com.fxssi.extractor.storage.DataFileManager;
 import com.fxssi.extractor.storage.CurrencyPairDataManager;
+import com.fxssi.extractor.storage.PairTimeSeriesStore;
+import com.fxssi.extractor.storage.ScrapeCycleJournal;
 import com.fxsssi.extractor.gui.FXSSIGuiApplication;
 
 /**
@@ -31,12 +36,16 @@ public class FXSSIDataExtractor {
     private static final String CONSOLE_ARG = "--console";
     private static final String HELP_ARG = "--help";
     private static final String DATA_DIR_ARG = "--data-dir";
+    private static final String REPAIR_INDEX_ARG = "--repair-index";
+    private static final String ARCHIVE_ARG = "--archive";
     
     private FXSSIScraper scraper;
     private FearGreedScraper fearGreedScraper;
+    private SentimentFetchStage fetchStage;
     private DataFileManager fileManager;
-    private CurrencyPairDataManager currencyPairManager;
+    private PairTimeSeriesStore currencyPairManager;
     private HourlyScheduler scheduler;
+    private ScrapeCycleJournal scrapeJournal;
     private boolean isGuiMode = false;
     private String dataDirectory;
     
@@ -68,6 +77,8 @@ public class FXSSIDataExtractor {
             // Nur für Console-Modus initialisieren
             this.scraper = new FXSSIScraper(this.dataDirectory);
             this.fearGreedScraper = new FearGreedScraper(this.dataDirectory);
+            this.fetchStage = new SentimentFetchStage(SentimentSourceRegistry.withDefaults(scraper, fearGreedScraper),
+                    SentimentFetchStage.DEFAULT_DEADLINE_MS);
             this.fileManager = new DataFileManager(this.dataDirectory);
             this.currencyPairManager = new CurrencyPairDataManager(this.dataDirectory);
             this.scheduler = new HourlyScheduler(this::extractAndSaveData);
@@ -75,6 +86,9 @@ public class FXSSIDataExtractor {
             // Erstelle Verzeichnisse falls sie nicht existieren
             fileManager.createDataDirectory();
             currencyPairManager.createCurrencyDataDirectory();
+            
+            // NEU: Scrape-Journal starten und nicht übernommene Zyklen nach Absturz einspielen
+            scrapeJournal = ScrapeCycleJournal.openIfEnabled(dataDirectory, this::writeScrapeCycleToFiles);
         }
         
         LOGGER.info("FXSSIDataExtractor initialisiert - Modus: " + (guiMode ? "GUI" : "Console") + 
@@ -119,6 +133,11 @@ public class FXSSIDataExtractor {
         
         LOGGER.info("Stoppe FXSSI Data Extractor...");
         scheduler.stopScheduling();
+        fetchStage.shutdown();
+        scraper.shutdown();
+        if (scrapeJournal != null) {
+            scrapeJournal.shutdown();
+        }
         LOGGER.info("FXSSI Data Extractor gestoppt");
     }
     
@@ -132,7 +151,7 @@ public class FXSSIDataExtractor {
     /**
      * Gibt den CurrencyPairDataManager zurück (für externe Zugriffe)
      */
-    public CurrencyPairDataManager getCurrencyPairManager() {
+    public PairTimeSeriesStore getCurrencyPairManager() {
         return currencyPairManager;
     }
     
@@ -152,43 +171,20 @@ public class FXSSIDataExtractor {
         try {
             LOGGER.info("Beginne Datenextraktion von FXSSI + Fear & Greed Index...");
             
-            // 1. FXSSI-Daten laden
-            List<CurrencyPairData> currentData = scraper.extractCurrentRatioData();
-            
-            if (currentData == null) {
-                currentData = new ArrayList<>();
-            }
+            // 1.+2. Alle Sentiment-Quellen (FXSSI, Fear & Greed, ...) gleichzeitig laden und zusammenführen
+            SentimentFetchStage.FetchResult fetchResult = fetchStage.fetch();
+            List<CurrencyPairData> currentData = fetchResult.getData();
             
-            // 2. Fear & Greed Index laden und hinzufügen
-            try {
-                CurrencyPairData fearGreedData = fearGreedScraper.extractFearGreedData();
-                
-                if (fearGreedData != null) {
-                    // Prüfe ob BTC/USD bereits existiert
-                    boolean exists = currentData.stream()
-                            .anyMatch(d -> d.getCurrencyPair().equals(fearGreedData.getCurrencyPair()));
-                    
-                    if (!exists) {
-                        currentData.add(fearGreedData);
-                        LOGGER.info("Fear & Greed Index hinzugefügt: " + fearGreedData.getCurrencyPair() +
-                                   " | Index-Mapping: Buy=" + String.format("%.1f%%", fearGreedData.getBuyPercentage()) +
-                                   ", Sell=" + String.format("%.1f%%", fearGreedData.getSellPercentage()) +
-                                   " | Signal: " + fearGreedData.getTradingSignal());
-                    }
-                } else {
-                    LOGGER.warning("Fear & Greed Index konnte nicht geladen werden");
-                }
-            } catch (Exception fgError) {
-                LOGGER.log(Level.WARNING, "Fehler beim Laden des Fear & Greed Index: " + fgError.getMessage(), fgError);
+            // Nichts geändert (HTTP 304 oder gleicher Inhalts-Hash): Speichern und Signalprüfung entfallen
+            if (!fetchResult.hasChanges() && fetchResult.hasPrimaryData()) {
+                LOGGER.info("Sentiment-Daten unverändert seit letztem Abruf - Speichern übersprungen (" + fetchResult.getSummary() + ")");
+                return;
             }
             
             // 3. Daten speichern wenn vorhanden
             if (!currentData.isEmpty()) {
-                // BESTEHENDE SPEICHERUNG: Tägliche CSV-Dateien
-                fileManager.appendDataToFile(currentData);
-                
-                // NEUE SPEICHERUNG: Währungspaar-spezifische Dateien
-                currencyPairManager.appendDataForAllPairs(currentData);
+                // Tägliche CSV-Dateien UND währungspaar-spezifische Dateien (über das Journal)
+                scrapeJournal.commitOrWrite(currentData);
                 
                 LOGGER.info("Erfolgreich " + currentData.size() + " Währungspaare extrahiert und gespeichert (inkl. BTC/USD Fear & Greed)");
                 LOGGER.info("Daten gespeichert in: tägliche Datei UND " + currentData.size() + " währungspaar-spezifische Dateien");
@@ -217,6 +213,14 @@ public class FXSSIDataExtractor {
         extractAndSaveData();
     }
     
+    /**
+     * Schreibt einen Scrape-Zyklus in die tägliche und die währungspaar-spezifischen Dateien
+     */
+    private void writeScrapeCycleToFiles(List<CurrencyPairData> data) {
+        fileManager.appendDataToFile(data);
+        currencyPairManager.appendDataForAllPairs(data);
+    }
+    
     /**
      * Loggt eine Zusammenfassung der extrahierten Daten
      */
@@ -396,6 +400,8 @@ public class FXSSIDataExtractor {
         System.out.println("  " + GUI_ARG + "        Startet die grafische Benutzeroberfläche");
         System.out.println("  " + CONSOLE_ARG + "    Startet im Console-Modus (Standard)");
         System.out.println("  " + DATA_DIR_ARG + " <PFAD>  Setzt das Datenverzeichnis (Standard: ./data)");
+        System.out.println("  " + REPAIR_INDEX_ARG + " Baut die Zeit-Indizes der Währungspaar-Dateien neu auf und beendet");
+        System.out.println("  " + ARCHIVE_ARG + "    Verschiebt alte Daten in komprimierte Monatsarchive und beendet");
         System.out.println("  " + HELP_ARG + "       Zeigt diese Hilfe an");
         System.out.println();
         System.out.println("Beispiele:");
@@ -453,6 +459,12 @@ public class FXSSIDataExtractor {
                 case CONSOLE_ARG:
                     config.mode = AppMode.CONSOLE;
                     break;
+                case REPAIR_INDEX_ARG:
+                    config.mode = AppMode.REPAIR_INDEX;
+                    break;
+                case ARCHIVE_ARG:
+                    config.mode = AppMode.ARCHIVE;
+                    break;
                 case DATA_DIR_ARG:
                     // Nächstes Argument sollte der Pfad sein
                     if (i + 1 < args.length) {
@@ -505,6 +517,18 @@ public class FXSSIDataExtractor {
                     startConsoleMode(config.dataDirectory);
                     break;
                     
+                case REPAIR_INDEX:
+                    LOGGER.info("Baue Zeit-Indizes neu auf für Datenverzeichnis: " + config.dataDirectory);
+                    repairTimeIndexes(config.dataDirectory);
+                    System.exit(0);
+                    break;
+                    
+                case ARCHIVE:
+                    LOGGER.info("Archiviere alte Daten für Datenverzeichnis: " + config.dataDirectory);
+                    archiveOldData(config.dataDirectory);
+                    System.exit(0);
+                    break;
+                    
                 case HELP:
                     showHelp();
                     System.exit(0);
@@ -543,6 +567,28 @@ public class FXSSIDataExtractor {
         }
     }
     
+    /**
+     * Baut die Zeit-Indizes aller Währungspaar-Dateien neu auf
+     */
+    private static void repairTimeIndexes(String dataDirectory) {
+        CurrencyPairDataManager manager = new CurrencyPairDataManager(dataDirectory);
+        System.out.println(manager.rebuildAllTimeIndexes());
+    }
+    
+    /**
+     * Verschiebt Tages- und Währungspaar-Daten älter als storage.archive.afterDays in komprimierte Archive
+     */
+    private static void archiveOldData(String dataDirectory) {
+        int daysToKeep = new StorageConfig(dataDirectory).getArchiveAfterDays();
+        
+        DataFileManager fileManager = new DataFileManager(dataDirectory);
+        int archivedFiles = fileManager.archiveOldFiles(daysToKeep);
+        System.out.println("Tagesdateien archiviert: " + archivedFiles);
+        
+        CurrencyPairDataManager manager = new CurrencyPairDataManager(dataDirectory);
+        System.out.println(manager.archiveOldData(daysToKeep));
+    }
+    
     /**
      * Konfigurationsklasse für Command Line Argumente
      */
@@ -557,6 +603,8 @@ public class FXSSIDataExtractor {
     private enum AppMode {
         GUI,
         CONSOLE,
+        REPAIR_INDEX,
+        ARCHIVE,
         HELP
     }
 }
\ No newline at end of file
@@ -6,6 +6,10 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
 import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -19,6 +23,9 @@ public class ExportConfig {
     private static final String CONFIG_DIR = "config";
     private static final String CONFIG_FILE = "export_config.properties";
     private static final String KEY_LAST_EXPORT_DIR = "lastExportDirectory";
+    private static final String KEY_HIGH_WATER_DIR = "incrementalExportDirectory";
+    private static final String KEY_HIGH_WATER_PREFIX = "highWaterMark.";
+    private static final DateTimeFormatter HIGH_WATER_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     private final Path configPath;
     private final Properties properties;
@@ -68,4 +75,48 @@ public class ExportConfig {
             saveConfig();
         }
     }
+
+    /**
+     * Returns the timestamp of the newest row already exported for a pair,
+     * or null if nothing was exported yet to the given target directory.
+     */
+    public synchronized LocalDateTime getHighWaterMark(String targetDirectory, String currencyPair) {
+        if (targetDirectory == null || !targetDirectory.equals(properties.getProperty(KEY_HIGH_WATER_DIR))) {
+            return null;
+        }
+        String value = properties.getProperty(KEY_HIGH_WATER_PREFIX + currencyPair);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value.trim(), HIGH_WATER_FORMATTER);
+        } catch (DateTimeParseException e) {
+            LOGGER.warning("Invalid high-water mark for " + currencyPair + ": " + value);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the high-water marks of an export run. Marks belong to one target directory;
+     * switching the directory discards the marks of the previous one.
+     */
+    public synchronized void setHighWaterMarks(String targetDirectory, Map<String, LocalDateTime> marks) {
+        if (targetDirectory == null) {
+            return;
+        }
+        if (!targetDirectory.equals(properties.getProperty(KEY_HIGH_WATER_DIR))) {
+            removeHighWaterMarks();
+            properties.setProperty(KEY_HIGH_WATER_DIR, targetDirectory);
+        }
+        for (Map.Entry<String, LocalDateTime> entry : marks.entrySet()) {
+            properties.setProperty(KEY_HIGH_WATER_PREFIX + entry.getKey(), entry.getValue().format(HIGH_WATER_FORMATTER));
+        }
+        saveConfig();
+    }
+
+    private void removeHighWaterMarks() {
+        properties.stringPropertyNames().stream()
+            .filter(key -> key.startsWith(KEY_HIGH_WATER_PREFIX))
+            .forEach(properties::remove);
+    }
 }
@@ -0,0 +1,204 @@
+package com.fxssi.extractor.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Manages tuning options for the currency pair storage.
+ */
+public class StorageConfig {
+
+    private static final Logger LOGGER = Logger.getLogger(StorageConfig.class.getName());
+    private static final String CONFIG_DIR = "config";
+    private static final String CONFIG_FILE = "storage_config.properties";
+
+    public static final String KEY_BACKEND = "storage.backend";
+    public static final String KEY_BATCH_WRITE = "storage.batchWrite.enabled";
+    public static final String KEY_FSYNC_POLICY = "storage.fsync.policy";
+    public static final String KEY_MAINTENANCE_PARALLELISM = "storage.maintenance.parallelism";
+    public static final String KEY_JOURNAL_ENABLED = "storage.journal.enabled";
+    public static final String KEY_ARCHIVE_AFTER_DAYS = "storage.archive.afterDays";
+    public static final int DEFAULT_ARCHIVE_AFTER_DAYS = 90;
+    public static final String KEY_WARMUP_HORIZON_DAYS = "storage.warmup.horizonDays";
+    public static final int DEFAULT_WARMUP_HORIZON_DAYS = 30;
+    public static final String KEY_WARMUP_PARALLELISM = "storage.warmup.parallelism";
+    public static final int DEFAULT_WARMUP_PARALLELISM = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    public static final String KEY_HISTORY_CACHE_BUDGET_MB = "storage.historyCache.budgetMb";
+    public static final int DEFAULT_HISTORY_CACHE_BUDGET_MB = 64;
+    public static final String KEY_DEBUG_CAPTURE_MODE = "debug.capture.mode";
+    public static final String KEY_DEBUG_CAPTURE_INTERVAL = "debug.capture.interval";
+    public static final int DEFAULT_DEBUG_CAPTURE_INTERVAL = 24;
+    public static final String KEY_DEBUG_CAPTURE_RING_SIZE = "debug.capture.ringSize";
+    public static final int DEFAULT_DEBUG_CAPTURE_RING_SIZE = 5;
+
+    private final Path configPath;
+    private final Properties properties;
+
+    public StorageConfig(String dataDirectory) {
+        Path basePath = Paths.get(dataDirectory != null ? dataDirectory : "data");
+        this.configPath = basePath.resolve(CONFIG_DIR).resolve(CONFIG_FILE);
+        this.properties = new Properties();
+        loadConfig();
+    }
+
+    private void loadConfig() {
+        if (Files.exists(configPath)) {
+            try (InputStream is = Files.newInputStream(configPath)) {
+                properties.load(is);
+                LOGGER.info("Storage configuration loaded from: " + configPath.toAbsolutePath());
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to load storage configuration", e);
+            }
+        }
+    }
+
+    public void saveConfig() {
+        try {
+            if (!Files.exists(configPath.getParent())) {
+                Files.createDirectories(configPath.getParent());
+            }
+            try (OutputStream os = Files.newOutputStream(configPath)) {
+                properties.store(os, "FXSSI Data Extractor - Storage Configuration");
+                LOGGER.info("Storage configuration saved to: " + configPath.toAbsolutePath());
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Failed to save storage configuration", e);
+        }
+    }
+
+    public String getBackend() {
+        return properties.getProperty(KEY_BACKEND, "CSV").trim().toUpperCase();
+    }
+
+    public void setBackend(String backend) {
+        setProperty(KEY_BACKEND, backend);
+    }
+
+    public boolean isBatchWriteEnabled() {
+        return Boolean.parseBoolean(properties.getProperty(KEY_BATCH_WRITE, "true").trim());
+    }
+
+    public void setBatchWriteEnabled(boolean enabled) {
+        setProperty(KEY_BATCH_WRITE, String.valueOf(enabled));
+    }
+
+    public String getFsyncPolicy() {
+        return properties.getProperty(KEY_FSYNC_POLICY, "NONE").trim().toUpperCase();
+    }
+
+    public void setFsyncPolicy(String policy) {
+        setProperty(KEY_FSYNC_POLICY, policy);
+    }
+
+    public boolean isJournalEnabled() {
+        return Boolean.parseBoolean(properties.getProperty(KEY_JOURNAL_ENABLED, "true").trim());
+    }
+
+    public void setJournalEnabled(boolean enabled) {
+        setProperty(KEY_JOURNAL_ENABLED, String.valueOf(enabled));
+    }
+
+    /**
+     * Age in days after which daily and pair files are moved to the compressed archive.
+     */
+    public int getArchiveAfterDays() {
+        return Math.max(1, getInt(KEY_ARCHIVE_AFTER_DAYS, DEFAULT_ARCHIVE_AFTER_DAYS));
+    }
+
+    public void setArchiveAfterDays(int days) {
+        setProperty(KEY_ARCHIVE_AFTER_DAYS, String.valueOf(days));
+    }
+
+    /**
+     * Number of days of pair history preloaded into memory at GUI start (0 disables the history cache).
+     */
+    public int getWarmUpHorizonDays() {
+        return Math.max(0, getInt(KEY_WARMUP_HORIZON_DAYS, DEFAULT_WARMUP_HORIZON_DAYS));
+    }
+
+    public void setWarmUpHorizonDays(int days) {
+        setProperty(KEY_WARMUP_HORIZON_DAYS, String.valueOf(days));
+    }
+
+    public int getWarmUpParallelism() {
+        return Math.max(1, getInt(KEY_WARMUP_PARALLELISM, DEFAULT_WARMUP_PARALLELISM));
+    }
+
+    public void setWarmUpParallelism(int threads) {
+        setProperty(KEY_WARMUP_PARALLELISM, String.valueOf(threads));
+    }
+
+    /**
+     * Memory budget of the in-memory pair history cache in megabytes; least recently used pairs are evicted beyond it.
+     */
+    public int getHistoryCacheBudgetMb() {
+        return Math.max(1, getInt(KEY_HISTORY_CACHE_BUDGET_MB, DEFAULT_HISTORY_CACHE_BUDGET_MB));
+    }
+
+    public void setHistoryCacheBudgetMb(int megabytes) {
+        setProperty(KEY_HISTORY_CACHE_BUDGET_MB, String.valueOf(megabytes));
+    }
+
+    /**
+     * When raw scraper pages are written to debug_html: OFF, ON_FAILURE, EVERY_NTH or RING.
+     */
+    public String getDebugCaptureMode() {
+        return properties.getProperty(KEY_DEBUG_CAPTURE_MODE, "ON_FAILURE").trim().toUpperCase();
+    }
+
+    public void setDebugCaptureMode(String mode) {
+        setProperty(KEY_DEBUG_CAPTURE_MODE, mode);
+    }
+
+    /**
+     * Every how many scrape cycles a page is captured in EVERY_NTH mode.
+     */
+    public int getDebugCaptureInterval() {
+        return Math.max(1, getInt(KEY_DEBUG_CAPTURE_INTERVAL, DEFAULT_DEBUG_CAPTURE_INTERVAL));
+    }
+
+    public void setDebugCaptureInterval(int cycles) {
+        setProperty(KEY_DEBUG_CAPTURE_INTERVAL, String.valueOf(cycles));
+    }
+
+    /**
+     * Number of rolling snapshots kept in RING mode.
+     */
+    public int getDebugCaptureRingSize() {
+        return Math.max(1, getInt(KEY_DEBUG_CAPTURE_RING_SIZE, DEFAULT_DEBUG_CAPTURE_RING_SIZE));
+    }
+
+    public void setDebugCaptureRingSize(int snapshots) {
+        setProperty(KEY_DEBUG_CAPTURE_RING_SIZE, String.valueOf(snapshots));
+    }
+
+    /**
+     * Reads an integer option, falling back to the default on missing or invalid values.
+     */
+    public int getInt(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warning("Invalid integer for " + key + ": " + value + " - using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    private void setProperty(String key, String value) {
+        if (value != null && !value.trim().isEmpty()) {
+            properties.setProperty(key, value.trim());
+            saveConfig();
+        }
+    }
+}
@@ -0,0 +1,479 @@
+package com.fxssi.extractor.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.text.DecimalFormatSymbols;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Allokationsarmer CSV-Codec für Zeitstempel, Prozentwerte und Handelssignale
+ * Parst und formatiert direkt auf CharSequence/StringBuilder bzw. Byte-Puffern:
+ * - Zeitstempel im festen Layout "yyyy-MM-dd HH:mm:ss" ohne DateTimeFormatter
+ * - Dezimalzahlen als Festkommawerte, Komma und Punkt werden beim Parsen akzeptiert
+ * - Handelssignale über eine Lookup-Tabelle statt Enum.valueOf
+ *
+ * Die Ausgabe ist zeichengleich zum bisherigen Format (String.format("%.2f") bzw. DecimalFormat "#0.00"),
+ * bei exakten Rundungs-Grenzfällen wird auf die bisherige Formatierung zurückgegriffen.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public final class CurrencyPairCsvCodec {
+
+    /** Feste Länge des Zeitstempels "yyyy-MM-dd HH:mm:ss" */
+    public static final int TIMESTAMP_LENGTH = 19;
+
+    /** Rückgabewert für ungültige Zeitstempel/Zahlen bei den Byte-Methoden */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final CurrencyPairData.TradingSignal[] SIGNALS = CurrencyPairData.TradingSignal.values();
+    private static final CurrencyPairData.TradingSignal[] SIGNAL_BY_FIRST_CHAR = new CurrencyPairData.TradingSignal[128];
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    // Abstand zur exakten Rundungsgrenze, ab dem die schnelle Rundung sicher identisch ist
+    private static final double TIE_TOLERANCE = 1e-6;
+    private static final double FAST_PATH_LIMIT = 1e9;
+
+    // Zwischengespeicherte Symbole der Standard-Locale (Locale kann sich zur Laufzeit ändern)
+    private static volatile Locale cachedSymbolsLocale;
+    private static volatile DecimalFormatSymbols cachedSymbols;
+
+    static {
+        for (CurrencyPairData.TradingSignal signal : SIGNALS) {
+            SIGNAL_BY_FIRST_CHAR[signal.name().charAt(0)] = signal;
+        }
+    }
+
+    /**
+     * Rundungsverhalten der bisherigen Formatierung
+     */
+    public enum Rounding {
+        /** Wie String.format("%.2f"): HALF_UP auf der kürzesten Dezimaldarstellung */
+        FORMATTER_HALF_UP,
+        /** Wie DecimalFormat("#0.00"): HALF_EVEN auf dem exakten Binärwert */
+        DECIMAL_FORMAT_HALF_EVEN
+    }
+
+    private CurrencyPairCsvCodec() {
+    }
+
+    // ===== FORMATIERUNG =====
+
+    /**
+     * Hängt einen Zeitstempel im Format "yyyy-MM-dd HH:mm:ss" an
+     */
+    public static StringBuilder appendTimestamp(StringBuilder sb, LocalDateTime timestamp) {
+        int year = timestamp.getYear();
+        if (year < 0 || year > 9999) {
+            return sb.append(timestamp.format(TIMESTAMP_FORMATTER));
+        }
+        appendDigits(sb, year, 4).append('-');
+        appendDigits(sb, timestamp.getMonthValue(), 2).append('-');
+        appendDigits(sb, timestamp.getDayOfMonth(), 2).append(' ');
+        appendDigits(sb, timestamp.getHour(), 2).append(':');
+        appendDigits(sb, timestamp.getMinute(), 2).append(':');
+        return appendDigits(sb, timestamp.getSecond(), 2);
+    }
+
+    /**
+     * Formatiert einen Zeitstempel im Format "yyyy-MM-dd HH:mm:ss"
+     */
+    public static String formatTimestamp(LocalDateTime timestamp) {
+        return appendTimestamp(new StringBuilder(TIMESTAMP_LENGTH), timestamp).toString();
+    }
+
+    /**
+     * Hängt eine Zahl mit genau zwei Nachkommastellen an
+     * @param sb Ziel
+     * @param value Wert
+     * @param decimalSeparator Dezimaltrennzeichen (',' oder '.')
+     * @param rounding Rundungsverhalten der bisherigen Formatierung
+     */
+    public static StringBuilder appendFixed2(StringBuilder sb, double value, char decimalSeparator, Rounding rounding) {
+        double scaled = value * 100.0;
+        double fraction = Math.abs(scaled - Math.floor(scaled));
+
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= FAST_PATH_LIMIT
+                || Math.abs(fraction - 0.5) < TIE_TOLERANCE) {
+            return sb.append(formatFixed2Exact(value, decimalSeparator, rounding));
+        }
+
+        long hundredths = Math.round(Math.abs(scaled));
+        if (value < 0 || (value == 0.0 && 1.0 / value < 0)) {
+            // Bisherige Formatierung gibt auch für negative Werte nahe 0 ein Vorzeichen aus ("-0,00")
+            sb.append('-');
+        }
+        sb.append(hundredths / 100).append(decimalSeparator);
+        return appendDigits(sb, (int) (hundredths % 100), 2);
+    }
+
+    /**
+     * Hängt eine Zahl exakt wie String.format("%.2f") in der Standard-Locale an
+     */
+    public static StringBuilder appendFixed2DefaultLocale(StringBuilder sb, double value) {
+        DecimalFormatSymbols symbols = defaultLocaleSymbols();
+        if (symbols.getZeroDigit() != '0') {
+            // Locales mit eigenen Ziffern (z.B. arabisch) weiterhin über den Formatter
+            return sb.append(String.format("%.2f", value));
+        }
+        return appendFixed2(sb, value, symbols.getDecimalSeparator(), Rounding.FORMATTER_HALF_UP);
+    }
+
+    /**
+     * Hängt den Namen eines Handelssignals an
+     */
+    public static StringBuilder appendSignal(StringBuilder sb, CurrencyPairData.TradingSignal signal) {
+        return sb.append(signal.name());
+    }
+
+    // ===== PARSEN (CharSequence) =====
+
+    /**
+     * Parst einen Zeitstempel "yyyy-MM-dd HH:mm:ss" ab Position start
+     * @throws IllegalArgumentException bei ungültigem Format
+     */
+    public static LocalDateTime parseTimestamp(CharSequence text, int start, int end) {
+        if (end - start != TIMESTAMP_LENGTH
+                || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-' || text.charAt(start + 10) != ' '
+                || text.charAt(start + 13) != ':' || text.charAt(start + 16) != ':') {
+            return parseTimestampFallback(text, start, end);
+        }
+        int year = digits(text, start, 4);
+        int month = digits(text, start + 5, 2);
+        int day = digits(text, start + 8, 2);
+        int hour = digits(text, start + 11, 2);
+        int minute = digits(text, start + 14, 2);
+        int second = digits(text, start + 17, 2);
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0 || second < 0) {
+            return parseTimestampFallback(text, start, end);
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second);
+        } catch (DateTimeException e) {
+            return parseTimestampFallback(text, start, end);
+        }
+    }
+
+    /**
+     * Parst eine Dezimalzahl mit Komma oder Punkt als Dezimaltrennzeichen
+     * Liefert exakt denselben Wert wie Double.parseDouble auf der Punkt-Schreibweise.
+     * @throws NumberFormatException bei ungültigem Format
+     */
+    public static double parseDecimal(CharSequence text, int start, int end) {
+        // Leerzeichen am Rand ignorieren (wie Double.parseDouble)
+        while (start < end && text.charAt(start) <= ' ') start++;
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+
+        boolean negative = false;
+        int p = start;
+        if (p < end && (text.charAt(p) == '-' || text.charAt(p) == '+')) {
+            negative = text.charAt(p) == '-';
+            p++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int scale = 0;
+        boolean separatorSeen = false;
+        boolean anyDigit = false;
+
+        for (; p < end; p++) {
+            char c = text.charAt(p);
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                if (mantissa != 0 || c != '0') {
+                    significantDigits++;
+                }
+                if (significantDigits > 15) {
+                    return Double.parseDouble(text.subSequence(start, end).toString().replace(',', '.'));
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (separatorSeen) {
+                    scale++;
+                }
+            } else if ((c == ',' || c == '.') && !separatorSeen) {
+                separatorSeen = true;
+            } else {
+                throw new NumberFormatException("Ungültige Dezimalzahl: " + text.subSequence(start, end));
+            }
+        }
+        if (!anyDigit) {
+            throw new NumberFormatException("Ungültige Dezimalzahl: " + text.subSequence(start, end));
+        }
+
+        if (scale >= POWERS_OF_TEN.length) {
+            // Viele führende Nullen nach dem Komma: 10^scale nicht mehr exakt darstellbar
+            return Double.parseDouble(text.subSequence(start, end).toString().replace(',', '.'));
+        }
+
+        // Mantisse < 2^53 und 10^scale exakt darstellbar -> eine korrekt gerundete Division
+        double value = scale == 0 ? mantissa : mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Sucht das Handelssignal über die Lookup-Tabelle
+     * @throws IllegalArgumentException bei unbekanntem Signal (wie Enum.valueOf)
+     */
+    public static CurrencyPairData.TradingSignal parseSignal(CharSequence text, int start, int end) {
+        if (end > start) {
+            char first = text.charAt(start);
+            CurrencyPairData.TradingSignal candidate = first < 128 ? SIGNAL_BY_FIRST_CHAR[first] : null;
+            if (candidate != null && regionEquals(text, start, end, candidate.name())) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Unbekanntes Handelssignal: " + text.subSequence(start, end));
+    }
+
+    /**
+     * Ermittelt die Feldgrenzen einer Zeile mit derselben Semantik wie String.split
+     * (leere Felder am Zeilenende werden verworfen)
+     * @param line CSV-Zeile
+     * @param separator Feldtrenner
+     * @param fieldEnds Ziel für die Endposition jedes Feldes; Feld i beginnt bei fieldEnds[i-1] + 1
+     * @return Anzahl der Felder oder -1, falls mehr Felder als fieldEnds.length vorhanden sind
+     */
+    public static int splitFields(CharSequence line, char separator, int[] fieldEnds) {
+        int end = line.length();
+        while (end > 0 && line.charAt(end - 1) == separator) {
+            end--;
+        }
+        if (end == 0) {
+            return line.length() == 0 ? 1 : 0;
+        }
+        int count = 0;
+        int start = 0;
+        while (true) {
+            int next = indexOf(line, separator, start);
+            if (next < 0 || next >= end) {
+                next = end;
+            }
+            if (count == fieldEnds.length) {
+                return -1;
+            }
+            fieldEnds[count++] = next;
+            if (next == end) {
+                return count;
+            }
+            start = next + 1;
+        }
+    }
+
+    /**
+     * Startposition von Feld i nach splitFields
+     */
+    public static int fieldStart(int[] fieldEnds, int index) {
+        return index == 0 ? 0 : fieldEnds[index - 1] + 1;
+    }
+
+    /**
+     * Position des nächsten Trennzeichens ab from (oder -1)
+     */
+    public static int indexOf(CharSequence text, char separator, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) == separator) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ===== PARSEN (Byte-Puffer) =====
+
+    /**
+     * Parst "yyyy-MM-dd HH:mm:ss" an Position p als Sekunden seit 1970-01-01T00:00 (ohne Zeitzone)
+     * @return Sekunden oder INVALID bei ungültigem Format
+     */
+    public static long parseEpochSeconds(ByteBuffer buffer, int p, int limit) {
+        if (p + TIMESTAMP_LENGTH > limit
+                || buffer.get(p + 4) != '-' || buffer.get(p + 7) != '-' || buffer.get(p + 10) != ' '
+                || buffer.get(p + 13) != ':' || buffer.get(p + 16) != ':') {
+            return INVALID;
+        }
+        int year = digits(buffer, p, 4);
+        int month = digits(buffer, p + 5, 2);
+        int day = digits(buffer, p + 8, 2);
+        int hour = digits(buffer, p + 11, 2);
+        int minute = digits(buffer, p + 14, 2);
+        int second = digits(buffer, p + 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return INVALID;
+        }
+        return epochDay(year, month, day) * 86400L + hour * 3600L + minute * 60L + second;
+    }
+
+    /**
+     * Parst eine Dezimalzahl (Komma oder Punkt) als Festkommawert in Hundertstel
+     * Eine dritte Nachkommastelle wird kaufmännisch gerundet, weitere werden ignoriert.
+     * @return Hundertstel oder INVALID bei ungültigem Format
+     */
+    public static long parseHundredths(ByteBuffer buffer, int from, int to) {
+        long integerPart = 0;
+        int fraction = 0;
+        int fractionDigits = 0;
+        boolean inFraction = false;
+        boolean anyDigit = false;
+        boolean negative = false;
+
+        int p = from;
+        if (p < to && buffer.get(p) == '-') {
+            negative = true;
+            p++;
+        }
+        for (; p < to; p++) {
+            byte b = buffer.get(p);
+            if (b == ',' || b == '.') {
+                if (inFraction) return INVALID;
+                inFraction = true;
+            } else if (b >= '0' && b <= '9') {
+                anyDigit = true;
+                if (!inFraction) {
+                    integerPart = integerPart * 10 + (b - '0');
+                } else if (fractionDigits < 2) {
+                    fraction = fraction * 10 + (b - '0');
+                    fractionDigits++;
+                } else if (fractionDigits == 2) {
+                    if (b >= '5') fraction++;
+                    fractionDigits++;
+                }
+            } else if (b == '\r' && p == to - 1) {
+                break;
+            } else {
+                return INVALID;
+            }
+        }
+        if (!anyDigit) return INVALID;
+        if (fractionDigits == 1) fraction *= 10;
+        long hundredths = integerPart * 100 + fraction;
+        return negative ? -hundredths : hundredths;
+    }
+
+    /**
+     * Sucht das Handelssignal im Byte-Puffer (abschließendes '\r' wird ignoriert)
+     * @return Signal oder null bei unbekanntem Wert
+     */
+    public static CurrencyPairData.TradingSignal parseSignal(ByteBuffer buffer, int from, int to) {
+        if (to > from && buffer.get(to - 1) == '\r') {
+            to--;
+        }
+        if (to <= from) {
+            return null;
+        }
+        byte first = buffer.get(from);
+        CurrencyPairData.TradingSignal candidate = first >= 0 ? SIGNAL_BY_FIRST_CHAR[first] : null;
+        if (candidate == null || candidate.name().length() != to - from) {
+            return null;
+        }
+        String name = candidate.name();
+        for (int i = 1; i < name.length(); i++) {
+            if (buffer.get(from + i) != name.charAt(i)) {
+                return null;
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Tage seit 1970-01-01 für ein Datum im proleptischen gregorianischen Kalender
+     */
+    public static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    /**
+     * Exakte Formatierung für Grenzfälle (identisch zur bisherigen Implementierung)
+     */
+    private static String formatFixed2Exact(double value, char decimalSeparator, Rounding rounding) {
+        String formatted;
+        if (rounding == Rounding.DECIMAL_FORMAT_HALF_EVEN && !Double.isNaN(value) && !Double.isInfinite(value)) {
+            formatted = new BigDecimal(value).setScale(2, RoundingMode.HALF_EVEN).toPlainString();
+            if (value < 0 && formatted.charAt(0) != '-') {
+                formatted = "-" + formatted;
+            }
+        } else {
+            formatted = String.format(Locale.ROOT, "%.2f", value);
+        }
+        return formatted.replace('.', decimalSeparator);
+    }
+
+    private static DecimalFormatSymbols defaultLocaleSymbols() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        DecimalFormatSymbols symbols = cachedSymbols;
+        if (symbols == null || !locale.equals(cachedSymbolsLocale)) {
+            symbols = DecimalFormatSymbols.getInstance(locale);
+            cachedSymbolsLocale = locale;
+            cachedSymbols = symbols;
+        }
+        return symbols;
+    }
+
+    private static LocalDateTime parseTimestampFallback(CharSequence text, int start, int end) {
+        try {
+            return LocalDateTime.parse(text.subSequence(start, end), TIMESTAMP_FORMATTER);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Ungültiger Zeitstempel: " + text.subSequence(start, end), e);
+        }
+    }
+
+    private static StringBuilder appendDigits(StringBuilder sb, int value, int width) {
+        int divisor = 1;
+        for (int i = 1; i < width; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            sb.append((char) ('0' + (value / divisor) % 10));
+        }
+        return sb;
+    }
+
+    private static int digits(CharSequence text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int digits(ByteBuffer buffer, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean regionEquals(CharSequence text, int start, int end, String expected) {
+        if (end - start != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (text.charAt(start + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
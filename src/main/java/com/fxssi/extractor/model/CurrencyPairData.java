@@ -1,7 +1,6 @@
 package com.fxssi.extractor.model;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Datenmodell-Klasse für Währungspaar-Sentiment-Daten von FXSSI
@@ -18,6 +17,9 @@ public class CurrencyPairData {
     private TradingSignal tradingSignal;
     private LocalDateTime timestamp;
     
+    // Aufgelöstes Symbol (wird bei Bedarf gesetzt, beim Ändern des Paars verworfen)
+    private transient CurrencySymbol symbol;
+    
     /**
      * Enum für Handelssignale
      */
@@ -76,6 +78,19 @@ public class CurrencyPairData {
     
     public void setCurrencyPair(String currencyPair) {
         this.currencyPair = currencyPair;
+        this.symbol = null;
+    }
+    
+    /**
+     * NEU: Symbol des Währungspaars (einmal aufgelöst, danach ohne Map-Abfrage)
+     */
+    public CurrencySymbol getSymbol() {
+        CurrencySymbol resolved = symbol;
+        if (resolved == null) {
+            resolved = CurrencySymbolRegistry.of(currencyPair);
+            symbol = resolved;
+        }
+        return resolved;
     }
     
     public double getBuyPercentage() {
@@ -131,6 +146,13 @@ public class CurrencyPairData {
      * Buy% + Sell% sollte ungefähr 100% ergeben
      */
     public boolean isDataConsistent() {
+        return isDataConsistent(buyPercentage, sellPercentage);
+    }
+    
+    /**
+     * Konsistenzprüfung für Rohwerte (z.B. aus einer PairHistory)
+     */
+    public static boolean isDataConsistent(double buyPercentage, double sellPercentage) {
         double total = buyPercentage + sellPercentage;
         return total >= 99.0 && total <= 101.0; // Toleranz von 1%
     }
@@ -139,32 +161,30 @@ public class CurrencyPairData {
      * Formatiert die Daten als CSV-Zeile
      */
     public String toCsvLine() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        return String.format("%s;%s;%.2f;%.2f;%s", 
-            timestamp.format(formatter),
-            currencyPair,
-            buyPercentage,
-            sellPercentage,
-            tradingSignal.name()
-        );
+        StringBuilder sb = new StringBuilder(48);
+        CurrencyPairCsvCodec.appendTimestamp(sb, timestamp).append(';');
+        sb.append(currencyPair).append(';');
+        CurrencyPairCsvCodec.appendFixed2DefaultLocale(sb, buyPercentage).append(';');
+        CurrencyPairCsvCodec.appendFixed2DefaultLocale(sb, sellPercentage).append(';');
+        return CurrencyPairCsvCodec.appendSignal(sb, tradingSignal).toString();
     }
     
     /**
      * Erstellt ein CurrencyPairData-Objekt aus einer CSV-Zeile
+     * Prozentwerte werden mit Komma oder Punkt akzeptiert.
      */
     public static CurrencyPairData fromCsvLine(String csvLine) {
-        String[] parts = csvLine.split(";");
-        if (parts.length != 5) {
+        int[] fieldEnds = new int[5];
+        if (CurrencyPairCsvCodec.splitFields(csvLine, ';', fieldEnds) != 5) {
             throw new IllegalArgumentException("Ungültiges CSV-Format: " + csvLine);
         }
         
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-            LocalDateTime timestamp = LocalDateTime.parse(parts[0], formatter);
-            String currencyPair = parts[1];
-            double buyPercentage = Double.parseDouble(parts[2]);
-            double sellPercentage = Double.parseDouble(parts[3]);
-            TradingSignal signal = TradingSignal.valueOf(parts[4]);
+            LocalDateTime timestamp = CurrencyPairCsvCodec.parseTimestamp(csvLine, 0, fieldEnds[0]);
+            String currencyPair = csvLine.substring(fieldEnds[0] + 1, fieldEnds[1]);
+            double buyPercentage = CurrencyPairCsvCodec.parseDecimal(csvLine, fieldEnds[1] + 1, fieldEnds[2]);
+            double sellPercentage = CurrencyPairCsvCodec.parseDecimal(csvLine, fieldEnds[2] + 1, fieldEnds[3]);
+            TradingSignal signal = CurrencyPairCsvCodec.parseSignal(csvLine, fieldEnds[3] + 1, fieldEnds[4]);
             
             return new CurrencyPairData(currencyPair, buyPercentage, sellPercentage, signal, timestamp);
         } catch (Exception e) {
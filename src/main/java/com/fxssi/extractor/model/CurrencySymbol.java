@@ -0,0 +1,126 @@
+package com.fxssi.extractor.model;
+
+/**
+ * Internes Symbol eines Währungspaars mit stabiler, kleiner Ganzzahl-ID
+ * Alle Schreibweisen eines Paars (EUR/USD, EURUSD, EUR_USD) führen über die CurrencySymbolRegistry
+ * zur selben Instanz. Dateiname, Anzeigeform und MetaTrader-Namen werden einmal beim Registrieren
+ * berechnet, Vergleiche sind Referenzvergleiche.
+ * Paare jenseits der Register-Obergrenze erhalten kein Tabellen-Symbol (ID {@link #UNREGISTERED_ID});
+ * sie werden über den Dateinamen verglichen.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public final class CurrencySymbol {
+
+    /** ID nicht registrierter Symbole (Register voll) */
+    public static final int UNREGISTERED_ID = -1;
+
+    private final int id;
+    private final String displayName;
+    private final String fileName;
+    private final String compactName;
+    private final String metaTraderSymbol;
+    private final String lastSentSyncSymbol;
+
+    CurrencySymbol(int id, String displayName, String fileName) {
+        this.id = id;
+        this.displayName = displayName;
+        this.fileName = fileName;
+        this.compactName = displayName.replaceAll("[^A-Z0-9]", "");
+        this.metaTraderSymbol = toMetaTraderSymbol(displayName.replace("/", ""));
+        this.lastSentSyncSymbol = toLastSentSyncSymbol(displayName);
+    }
+
+    /**
+     * Fortlaufende ID (0..n-1), Index für CurrencySymbolMap; UNREGISTERED_ID wenn das Register voll war
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * true wenn das Symbol eine Tabellen-ID besitzt
+     */
+    public boolean isRegistered() {
+        return id != UNREGISTERED_ID;
+    }
+
+    /**
+     * Anzeigeform (z.B. "EUR/USD")
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Dateiname ohne Endung (z.B. "EUR_USD")
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Form ohne Trennzeichen, wie sie im Seitentext vorkommt (z.B. "EURUSD")
+     */
+    public String getCompactName() {
+        return compactName;
+    }
+
+    /**
+     * Name in last_known_signals.csv für MetaTrader (EURUSD, XAUUSD → GOLD, XAGUSD → SILVER)
+     */
+    public String getMetaTraderSymbol() {
+        return metaTraderSymbol;
+    }
+
+    /**
+     * Name in der MetaTrader-Sync-Datei der gesendeten Signale (XAU/USD → GOLD, XAG/USD → SILBER, sonst Anzeigeform)
+     */
+    public String getLastSentSyncSymbol() {
+        return lastSentSyncSymbol;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        // Registrierte Symbole sind je Dateiname eindeutig, nur nicht registrierte können mehrfach existieren
+        return other instanceof CurrencySymbol && fileName.equals(((CurrencySymbol) other).fileName);
+    }
+
+    @Override
+    public int hashCode() {
+        return fileName.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    private static String toMetaTraderSymbol(String withoutSlash) {
+        switch (withoutSlash) {
+            case "XAUUSD":
+                return "GOLD";
+            case "XAGUSD":
+                return "SILVER";
+            default:
+                return withoutSlash;
+        }
+    }
+
+    private static String toLastSentSyncSymbol(String displayName) {
+        switch (displayName) {
+            case "XAU/USD":
+                return "GOLD";
+            case "XAG/USD":
+                return "SILBER";
+            default:
+                return displayName;
+        }
+    }
+}
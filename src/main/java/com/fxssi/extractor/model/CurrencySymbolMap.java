@@ -0,0 +1,166 @@
+package com.fxssi.extractor.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Map von CurrencySymbol auf Werte, indiziert über die Symbol-ID (kein String-Hashing)
+ * Lesen ist sperrfrei, Schreiben wird synchronisiert (die Tabelle wächst bei neuen IDs).
+ * Iteration erfolgt in ID-Reihenfolge; nicht registrierte Symbole (Register voll) liegen in einer
+ * Ausweich-Map nach Dateiname und folgen danach.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public final class CurrencySymbolMap<V> {
+
+    private volatile AtomicReferenceArray<V> table;
+    private volatile int size;
+    // Nur für Symbole ohne Tabellen-ID, wird erst bei Bedarf angelegt
+    private volatile ConcurrentHashMap<CurrencySymbol, V> unregistered;
+
+    public CurrencySymbolMap() {
+        this.table = new AtomicReferenceArray<>(Math.max(16, CurrencySymbolRegistry.size()));
+    }
+
+    public V get(CurrencySymbol symbol) {
+        if (!symbol.isRegistered()) {
+            Map<CurrencySymbol, V> overflow = unregistered;
+            return overflow != null ? overflow.get(symbol) : null;
+        }
+        AtomicReferenceArray<V> current = table;
+        int id = symbol.getId();
+        return id < current.length() ? current.get(id) : null;
+    }
+
+    public boolean containsKey(CurrencySymbol symbol) {
+        return get(symbol) != null;
+    }
+
+    /**
+     * @return vorheriger Wert oder null
+     */
+    public synchronized V put(CurrencySymbol symbol, V value) {
+        if (value == null) {
+            throw new NullPointerException("Wert darf nicht null sein");
+        }
+        if (!symbol.isRegistered()) {
+            if (unregistered == null) {
+                unregistered = new ConcurrentHashMap<>();
+            }
+            V previous = unregistered.put(symbol, value);
+            if (previous == null) {
+                size++;
+            }
+            return previous;
+        }
+        AtomicReferenceArray<V> current = ensureCapacity(symbol.getId() + 1);
+        V previous = current.getAndSet(symbol.getId(), value);
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    public synchronized V computeIfAbsent(CurrencySymbol symbol, Function<CurrencySymbol, ? extends V> factory) {
+        V value = get(symbol);
+        if (value == null) {
+            value = factory.apply(symbol);
+            put(symbol, value);
+        }
+        return value;
+    }
+
+    /**
+     * @return entfernter Wert oder null
+     */
+    public synchronized V remove(CurrencySymbol symbol) {
+        if (!symbol.isRegistered()) {
+            V previous = unregistered != null ? unregistered.remove(symbol) : null;
+            if (previous != null) {
+                size--;
+            }
+            return previous;
+        }
+        AtomicReferenceArray<V> current = table;
+        int id = symbol.getId();
+        if (id >= current.length()) {
+            return null;
+        }
+        V previous = current.getAndSet(id, null);
+        if (previous != null) {
+            size--;
+        }
+        return previous;
+    }
+
+    public synchronized void clear() {
+        table = new AtomicReferenceArray<>(table.length());
+        unregistered = null;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Besucht alle Einträge in ID-Reihenfolge, danach die nicht registrierten Symbole
+     */
+    public void forEach(BiConsumer<CurrencySymbol, ? super V> action) {
+        AtomicReferenceArray<V> current = table;
+        for (int id = 0; id < current.length(); id++) {
+            V value = current.get(id);
+            if (value != null) {
+                action.accept(CurrencySymbolRegistry.byId(id), value);
+            }
+        }
+        Map<CurrencySymbol, V> overflow = unregistered;
+        if (overflow != null) {
+            overflow.forEach(action);
+        }
+    }
+
+    /**
+     * Momentaufnahme aller Werte in ID-Reihenfolge
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        forEach((symbol, value) -> values.add(value));
+        return values;
+    }
+
+    /**
+     * Momentaufnahme aller Schlüssel in ID-Reihenfolge
+     */
+    public List<CurrencySymbol> keys() {
+        List<CurrencySymbol> keys = new ArrayList<>(size);
+        forEach((symbol, value) -> keys.add(symbol));
+        return keys;
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    private AtomicReferenceArray<V> ensureCapacity(int required) {
+        AtomicReferenceArray<V> current = table;
+        if (required <= current.length()) {
+            return current;
+        }
+        int capacity = Math.max(required, current.length() * 2);
+        AtomicReferenceArray<V> grown = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        table = grown;
+        return grown;
+    }
+}
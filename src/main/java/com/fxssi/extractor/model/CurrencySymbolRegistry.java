@@ -0,0 +1,167 @@
+package com.fxssi.extractor.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Prozessweites Register der Währungspaar-Symbole
+ * Jede Schreibweise wird einmal normalisiert und danach über eine einzige Map-Abfrage aufgelöst.
+ * Die bekannten FXSSI-Paare werden beim Laden der Klasse in fester Reihenfolge registriert und
+ * haben damit in jedem Lauf dieselben IDs, weitere Paare erhalten die nächste freie ID.
+ * Ist die Obergrenze erreicht, werden neue Paare als nicht registrierte Symbole geliefert
+ * (gleicher Datei- und Anzeigename, keine Tabellen-ID) statt abgelehnt.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public final class CurrencySymbolRegistry {
+
+    private static final Logger LOGGER = Logger.getLogger(CurrencySymbolRegistry.class.getName());
+
+    /** Auf der FXSSI-Seite erwartete Paare (Reihenfolge bestimmt den Vorrang bei der Texterkennung) */
+    private static final String[] KNOWN_PAIRS = {
+        "AUDJPY", "AUDUSD", "EURAUD", "EURGBP", "EURJPY", "EURUSD",
+        "GBPJPY", "GBPUSD", "NZDUSD", "USDCAD", "USDCHF", "USDJPY",
+        "XAGUSD", "XAUUSD", "EURCHF", "GBPCHF"
+    };
+
+    // Obergrenze für zwischengespeicherte Roh-Schreibweisen (Schutz vor unbegrenztem Wachstum)
+    private static final int MAX_CACHED_NAMES = 4096;
+
+    // Obergrenze für verschiedene Symbole; Symbole werden nie entfernt, da ihre IDs Tabellenindizes sind
+    private static final int MAX_SYMBOLS = 1024;
+
+    private static final Pattern SIX_CHARACTERS = Pattern.compile("[A-Z0-9]{6}");
+    private static final Pattern PAIR_FILE_NAME = Pattern.compile("[A-Z0-9]{3}_[A-Z0-9]{3}");
+
+    private static final ConcurrentHashMap<String, CurrencySymbol> BY_NAME = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, CurrencySymbol> BY_FILE_NAME = new ConcurrentHashMap<>();
+    // Wächst durch Verdopplung; gültig sind die Einträge 0..symbolCount-1
+    private static volatile CurrencySymbol[] symbols = new CurrencySymbol[32];
+    private static volatile int symbolCount;
+    private static boolean overflowLogged;
+    private static final List<CurrencySymbol> KNOWN_SYMBOLS;
+
+    static {
+        CurrencySymbol[] known = new CurrencySymbol[KNOWN_PAIRS.length];
+        for (int i = 0; i < KNOWN_PAIRS.length; i++) {
+            known[i] = of(KNOWN_PAIRS[i]);
+        }
+        KNOWN_SYMBOLS = Collections.unmodifiableList(Arrays.asList(known));
+    }
+
+    private CurrencySymbolRegistry() {
+    }
+
+    /**
+     * Liefert das Symbol zu einer beliebigen Schreibweise und registriert es bei Bedarf
+     * Ist die Obergrenze verschiedener Symbole erreicht, wird ein nicht registriertes Symbol geliefert.
+     * @param currencyPair z.B. "EUR/USD", "EURUSD" oder "EUR_USD" (null wird zu "UNKNOWN")
+     */
+    public static CurrencySymbol of(String currencyPair) {
+        String name = currencyPair != null ? currencyPair : "UNKNOWN";
+        CurrencySymbol symbol = BY_NAME.get(name);
+        return symbol != null ? symbol : register(name);
+    }
+
+    /**
+     * Symbol zu einer ID
+     * @throws IndexOutOfBoundsException bei unbekannter ID
+     */
+    public static CurrencySymbol byId(int id) {
+        // symbolCount zuerst lesen: das Array enthält mindestens alle Symbole bis zu diesem Stand
+        int count = symbolCount;
+        if (id < 0 || id >= count) {
+            throw new IndexOutOfBoundsException("Unbekannte Symbol-ID: " + id);
+        }
+        return symbols[id];
+    }
+
+    /**
+     * Anzahl registrierter Symbole (IDs sind 0..size-1)
+     */
+    public static int size() {
+        return symbolCount;
+    }
+
+    /**
+     * Die bekannten FXSSI-Paare in Erkennungsreihenfolge
+     */
+    public static List<CurrencySymbol> getKnownSymbols() {
+        return KNOWN_SYMBOLS;
+    }
+
+    /**
+     * Normalisiert einen Namen für Dateinamen (Sonderzeichen → "_", Großschreibung)
+     */
+    public static String toFileName(String currencyPair) {
+        if (currencyPair == null) return "UNKNOWN";
+
+        // Entferne Sonderzeichen und ersetze durch Unterstriche
+        String normalized = currencyPair.replaceAll("[^A-Za-z0-9]", "_");
+
+        // Entferne mehrfache Unterstriche
+        normalized = normalized.replaceAll("_+", "_");
+
+        // Entferne führende/abschließende Unterstriche
+        normalized = normalized.replaceAll("^_+|_+$", "");
+
+        return normalized.toUpperCase();
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    private static synchronized CurrencySymbol register(String name) {
+        CurrencySymbol symbol = BY_NAME.get(name);
+        if (symbol != null) {
+            return symbol;
+        }
+
+        String displayName = name.trim().toUpperCase();
+        if (SIX_CHARACTERS.matcher(displayName).matches()) {
+            displayName = displayName.substring(0, 3) + "/" + displayName.substring(3);
+        }
+        String fileName = toFileName(displayName);
+
+        symbol = BY_FILE_NAME.get(fileName);
+        if (symbol == null) {
+            int id = symbolCount;
+            if (PAIR_FILE_NAME.matcher(fileName).matches()) {
+                displayName = fileName.replace('_', '/');
+            }
+            if (id >= MAX_SYMBOLS) {
+                if (!overflowLogged) {
+                    overflowLogged = true;
+                    LOGGER.warning("Zu viele verschiedene Währungspaare (max. " + MAX_SYMBOLS
+                            + ") - weitere Paare werden ohne Symbol-ID geführt, zuerst: " + name);
+                }
+                symbol = new CurrencySymbol(CurrencySymbol.UNREGISTERED_ID, displayName, fileName);
+                if (BY_NAME.size() < MAX_CACHED_NAMES) {
+                    BY_NAME.put(name, symbol);
+                }
+                return symbol;
+            }
+            symbol = new CurrencySymbol(id, displayName, fileName);
+            CurrencySymbol[] current = symbols;
+            if (id == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[id] = symbol;
+            symbols = current;
+            symbolCount = id + 1;
+            BY_FILE_NAME.put(fileName, symbol);
+            // Anzeigeform und Dateiname werden am häufigsten nachgeschlagen
+            BY_NAME.put(displayName, symbol);
+            BY_NAME.put(fileName, symbol);
+        }
+
+        if (BY_NAME.size() < MAX_CACHED_NAMES) {
+            BY_NAME.put(name, symbol);
+        }
+        return symbol;
+    }
+}
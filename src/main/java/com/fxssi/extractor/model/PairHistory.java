@@ -0,0 +1,352 @@
+package com.fxssi.extractor.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Spaltenorientierte Historie eines Währungspaars
+ * Zeitstempel als Epochensekunden (UTC), Buy/Sell als Hundertstel-Prozent (short), Signal als Ordinalwert (byte).
+ * Das sind 13 Bytes pro Datensatz statt eines CurrencyPairData-Objekts mit LocalDateTime und Paar-Name.
+ * CurrencyPairData-Objekte werden nur bei Bedarf erzeugt (get, iterator, asList).
+ *
+ * Anhängen ist nur am Besitzer möglich. window und slice liefern schreibgeschützte Sichten auf dieselben
+ * Arrays ohne Kopie. Da der Besitzer nur hinter seiner Größe schreibt und beim Wachsen neue Arrays anlegt,
+ * bleiben einmal erzeugte Sichten unverändert. Nicht thread-sicher, der Besitzer wird vom Aufrufer synchronisiert.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public final class PairHistory implements Iterable<CurrencyPairData> {
+
+    /** Speicherbedarf pro Datensatz in Bytes (ohne Array-Reserve) */
+    public static final int BYTES_PER_ROW = Long.BYTES + 2 * Short.BYTES + Byte.BYTES;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final CurrencyPairData.TradingSignal[] SIGNALS = CurrencyPairData.TradingSignal.values();
+
+    private final String currencyPair;
+    private final boolean readOnly;
+    private final int offset;
+    private long[] epochSeconds;
+    private short[] buyHundredths;
+    private short[] sellHundredths;
+    private byte[] signals;
+    private int size;
+
+    /**
+     * Leere Historie
+     * @param currencyPair Name des Währungspaars (für die Umwandlung in CurrencyPairData)
+     */
+    public PairHistory(String currencyPair) {
+        this(currencyPair, DEFAULT_CAPACITY);
+    }
+
+    public PairHistory(String currencyPair, int initialCapacity) {
+        this.currencyPair = currencyPair;
+        this.readOnly = false;
+        this.offset = 0;
+        int capacity = Math.max(0, initialCapacity);
+        this.epochSeconds = new long[capacity];
+        this.buyHundredths = new short[capacity];
+        this.sellHundredths = new short[capacity];
+        this.signals = new byte[capacity];
+    }
+
+    /**
+     * Konstruktor für Sichten
+     */
+    private PairHistory(PairHistory source, int offset, int size) {
+        this.currencyPair = source.currencyPair;
+        this.readOnly = true;
+        this.offset = offset;
+        this.size = size;
+        this.epochSeconds = source.epochSeconds;
+        this.buyHundredths = source.buyHundredths;
+        this.sellHundredths = source.sellHundredths;
+        this.signals = source.signals;
+    }
+
+    /**
+     * Übernimmt eine Liste von Datensätzen (Einträge ohne Zeitstempel werden übersprungen)
+     */
+    public static PairHistory of(String currencyPair, List<CurrencyPairData> rows) {
+        PairHistory history = new PairHistory(currencyPair, rows.size());
+        for (CurrencyPairData row : rows) {
+            history.append(row);
+        }
+        return history;
+    }
+
+    // ===== ANHÄNGEN =====
+
+    /**
+     * Hängt einen Datensatz an (ohne Zeitstempel wird er übersprungen)
+     */
+    public void append(CurrencyPairData data) {
+        if (data == null || data.getTimestamp() == null) {
+            return;
+        }
+        append(data.getTimestamp().toEpochSecond(ZoneOffset.UTC), toHundredths(data.getBuyPercentage()),
+            toHundredths(data.getSellPercentage()), data.getTradingSignal());
+    }
+
+    /**
+     * Hängt einen Datensatz in Rohform an
+     * @param buyHundredths Buy-Prozent in Hundertstel (4567 = 45,67%)
+     * @param sellHundredths Sell-Prozent in Hundertstel
+     */
+    public void append(long epochSecond, int buyHundredths, int sellHundredths, CurrencyPairData.TradingSignal signal) {
+        checkWritable();
+        ensureCapacity(size + 1);
+        epochSeconds[size] = epochSecond;
+        this.buyHundredths[size] = clampToShort(buyHundredths);
+        this.sellHundredths[size] = clampToShort(sellHundredths);
+        signals[size] = (byte) (signal != null ? signal : CurrencyPairData.TradingSignal.UNKNOWN).ordinal();
+        size++;
+    }
+
+    /**
+     * Hängt alle Datensätze einer anderen Historie ab Index from an
+     */
+    public void appendAll(PairHistory other, int from) {
+        checkWritable();
+        int count = other.size - from;
+        if (count <= 0) {
+            return;
+        }
+        ensureCapacity(size + count);
+        int source = other.offset + from;
+        System.arraycopy(other.epochSeconds, source, epochSeconds, size, count);
+        System.arraycopy(other.buyHundredths, source, buyHundredths, size, count);
+        System.arraycopy(other.sellHundredths, source, sellHundredths, size, count);
+        System.arraycopy(other.signals, source, signals, size, count);
+        size += count;
+    }
+
+    public void appendAll(PairHistory other) {
+        appendAll(other, 0);
+    }
+
+    // ===== ZUGRIFF =====
+
+    public String getCurrencyPair() {
+        return currencyPair;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getEpochSecond(int index) {
+        return epochSeconds[position(index)];
+    }
+
+    public LocalDateTime getTimestamp(int index) {
+        return LocalDateTime.ofEpochSecond(getEpochSecond(index), 0, ZoneOffset.UTC);
+    }
+
+    public int getBuyHundredths(int index) {
+        return buyHundredths[position(index)];
+    }
+
+    public int getSellHundredths(int index) {
+        return sellHundredths[position(index)];
+    }
+
+    public double getBuyPercentage(int index) {
+        return getBuyHundredths(index) / 100.0;
+    }
+
+    public double getSellPercentage(int index) {
+        return getSellHundredths(index) / 100.0;
+    }
+
+    public CurrencyPairData.TradingSignal getTradingSignal(int index) {
+        return SIGNALS[signals[position(index)]];
+    }
+
+    /**
+     * Erzeugt ein CurrencyPairData-Objekt für einen Datensatz (bei jedem Aufruf neu)
+     */
+    public CurrencyPairData get(int index) {
+        return new CurrencyPairData(currencyPair, getBuyPercentage(index), getSellPercentage(index),
+            getTradingSignal(index), getTimestamp(index));
+    }
+
+    /**
+     * Speicherbedarf der belegten Datensätze in Bytes
+     */
+    public long getSizeInBytes() {
+        return (long) size * BYTES_PER_ROW;
+    }
+
+    // ===== FENSTER =====
+
+    /**
+     * Schreibgeschützte Sicht auf ein Zeitfenster (Binärsuche, Daten müssen chronologisch sein)
+     * @param from Beginn (inklusiv), null für unbegrenzt
+     * @param to Ende (exklusiv), null für unbegrenzt
+     */
+    public PairHistory window(LocalDateTime from, LocalDateTime to) {
+        int start = from != null ? indexOfFirstAtOrAfter(from.toEpochSecond(ZoneOffset.UTC)) : 0;
+        int end = to != null ? indexOfFirstAtOrAfter(to.toEpochSecond(ZoneOffset.UTC)) : size;
+        return slice(start, Math.max(start, end));
+    }
+
+    /**
+     * Schreibgeschützte Sicht auf die Datensätze [fromIndex, toIndex)
+     */
+    public PairHistory slice(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Bereich " + fromIndex + ".." + toIndex + " bei Größe " + size);
+        }
+        return new PairHistory(this, offset + fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * Erster Index mit Zeitstempel >= epochSecond (size, falls keiner)
+     */
+    public int indexOfFirstAtOrAfter(long epochSecond) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochSeconds[offset + mid] < epochSecond) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // ===== ITERATION UND UMWANDLUNG =====
+
+    /**
+     * Iteration ohne Objekterzeugung
+     */
+    @FunctionalInterface
+    public interface RowVisitor {
+        void visit(long epochSecond, int buyHundredths, int sellHundredths, CurrencyPairData.TradingSignal signal);
+    }
+
+    public void forEachRow(RowVisitor visitor) {
+        for (int i = offset, end = offset + size; i < end; i++) {
+            visitor.visit(epochSeconds[i], buyHundredths[i], sellHundredths[i], SIGNALS[signals[i]]);
+        }
+    }
+
+    /**
+     * Iteriert mit bei Bedarf erzeugten CurrencyPairData-Objekten
+     */
+    @Override
+    public Iterator<CurrencyPairData> iterator() {
+        return new Iterator<CurrencyPairData>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public CurrencyPairData next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+        };
+    }
+
+    /**
+     * Unveränderliche Listen-Sicht, die Elemente werden bei jedem Zugriff erzeugt
+     */
+    public List<CurrencyPairData> asList() {
+        PairHistory view = readOnly ? this : slice(0, size);
+        return new ListView(view);
+    }
+
+    /**
+     * Veränderliche Kopie als Liste von CurrencyPairData
+     */
+    public List<CurrencyPairData> toList() {
+        List<CurrencyPairData> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(get(i));
+        }
+        return list;
+    }
+
+    @Override
+    public String toString() {
+        return "PairHistory{" + currencyPair + ", size=" + size
+            + (size > 0 ? ", from=" + getTimestamp(0) + ", to=" + getTimestamp(size - 1) : "") + "}";
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    private int position(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " bei Größe " + size);
+        }
+        return offset + index;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Sichten einer PairHistory sind schreibgeschützt");
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= epochSeconds.length) {
+            return;
+        }
+        int capacity = Math.max(required, Math.max(DEFAULT_CAPACITY, epochSeconds.length + (epochSeconds.length >> 1)));
+        epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+        buyHundredths = Arrays.copyOf(buyHundredths, capacity);
+        sellHundredths = Arrays.copyOf(sellHundredths, capacity);
+        signals = Arrays.copyOf(signals, capacity);
+    }
+
+    private static int toHundredths(double percentage) {
+        return (int) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(percentage * 100.0)));
+    }
+
+    private static short clampToShort(int value) {
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+    }
+
+    /**
+     * Listen-Adapter über eine schreibgeschützte Sicht
+     */
+    private static final class ListView extends AbstractList<CurrencyPairData> implements RandomAccess {
+        private final PairHistory view;
+
+        private ListView(PairHistory view) {
+            this.view = view;
+        }
+
+        @Override
+        public CurrencyPairData get(int index) {
+            return view.get(index);
+        }
+
+        @Override
+        public int size() {
+            return view.size();
+        }
+    }
+}
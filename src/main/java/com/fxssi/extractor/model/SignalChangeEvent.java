@@ -3,8 +3,6 @@ package com.fxssi.extractor.model;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 import java.util.Locale;
 
@@ -26,15 +24,11 @@ public class SignalChangeEvent {
     private final SignalChangeImportance importance;
     
     // Formatter für CSV-Verarbeitung
-    private static final DecimalFormat CSV_DECIMAL_FORMAT;
+    // CSV-Output erfolgt über CurrencyPairCsvCodec (Komma als Dezimaltrennzeichen, wie DecimalFormat "#0.00")
     private static final NumberFormat CSV_PARSE_FORMAT;
     
     static {
-        // Für CSV-Output: Komma als Dezimaltrennzeichen (Deutsches Format)
-        DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.GERMAN);
-        CSV_DECIMAL_FORMAT = new DecimalFormat("#0.00", symbols);
-        
-        // Für CSV-Input: Flexibles Parsing (sowohl Komma als auch Punkt)
+        // Für CSV-Input: Fallback für Werte, die der Codec nicht direkt parsen kann
         CSV_PARSE_FORMAT = NumberFormat.getNumberInstance(Locale.GERMAN);
     }
     
@@ -105,21 +99,20 @@ public class SignalChangeEvent {
      * Konstruktor aus CSV-Zeile - REPARIERT für deutsches Dezimalformat
      */
     public static SignalChangeEvent fromCsvLine(String csvLine) {
-        String[] parts = csvLine.split(";");
-        if (parts.length != 6) {
+        int[] fieldEnds = new int[6];
+        if (CurrencyPairCsvCodec.splitFields(csvLine, ';', fieldEnds) != 6) {
             throw new IllegalArgumentException("Ungültiges Signal-Change CSV-Format: " + csvLine);
         }
         
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-            LocalDateTime changeTime = LocalDateTime.parse(parts[0], formatter);
-            String currencyPair = parts[1];
-            CurrencyPairData.TradingSignal fromSignal = CurrencyPairData.TradingSignal.valueOf(parts[2]);
-            CurrencyPairData.TradingSignal toSignal = CurrencyPairData.TradingSignal.valueOf(parts[3]);
+            LocalDateTime changeTime = CurrencyPairCsvCodec.parseTimestamp(csvLine, 0, fieldEnds[0]);
+            String currencyPair = csvLine.substring(fieldEnds[0] + 1, fieldEnds[1]);
+            CurrencyPairData.TradingSignal fromSignal = CurrencyPairCsvCodec.parseSignal(csvLine, fieldEnds[1] + 1, fieldEnds[2]);
+            CurrencyPairData.TradingSignal toSignal = CurrencyPairCsvCodec.parseSignal(csvLine, fieldEnds[2] + 1, fieldEnds[3]);
             
             // REPARIERT: Flexibles Parsing für Dezimalzahlen (Komma und Punkt)
-            double fromBuyPercentage = parseDecimalValue(parts[4]);
-            double toBuyPercentage = parseDecimalValue(parts[5]);
+            double fromBuyPercentage = parseDecimalValue(csvLine.substring(fieldEnds[3] + 1, fieldEnds[4]));
+            double toBuyPercentage = parseDecimalValue(csvLine.substring(fieldEnds[4] + 1, fieldEnds[5]));
             
             return new SignalChangeEvent(currencyPair, fromSignal, toSignal, changeTime, fromBuyPercentage, toBuyPercentage);
         } catch (Exception e) {
@@ -135,20 +128,18 @@ public class SignalChangeEvent {
             return 0.0;
         }
         
-        value = value.trim();
-        
         try {
-            // Versuche zuerst deutsches Format (Komma)
+            // Schneller Pfad: einfache Festkommazahl mit Komma oder Punkt
+            return CurrencyPairCsvCodec.parseDecimal(value, 0, value.length());
+        } catch (NumberFormatException e) {
+            // Fallback: bisheriges Parsing (z.B. Tausendertrennzeichen oder Exponent)
+            value = value.trim();
             if (value.contains(",")) {
-                return CSV_PARSE_FORMAT.parse(value).doubleValue();
-            } else {
-                // Fallback: Standard-Format (Punkt)
-                return Double.parseDouble(value);
+                synchronized (CSV_PARSE_FORMAT) {
+                    return CSV_PARSE_FORMAT.parse(value).doubleValue();
+                }
             }
-        } catch (Exception e) {
-            // Letzter Versuch: Komma durch Punkt ersetzen
-            String normalizedValue = value.replace(",", ".");
-            return Double.parseDouble(normalizedValue);
+            return Double.parseDouble(value);
         }
     }
     
@@ -261,14 +252,14 @@ public class SignalChangeEvent {
      * Formatiert als CSV-Zeile für Speicherung - KONSISTENT mit deutschem Format
      */
     public String toCsvLine() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        return String.format("%s;%s;%s;%s;%s;%s",
-            changeTime.format(formatter),
-            currencyPair,
-            fromSignal.name(),
-            toSignal.name(),
-            CSV_DECIMAL_FORMAT.format(fromBuyPercentage),
-            CSV_DECIMAL_FORMAT.format(toBuyPercentage));
+        StringBuilder sb = new StringBuilder(64);
+        CurrencyPairCsvCodec.appendTimestamp(sb, changeTime).append(';');
+        sb.append(currencyPair).append(';');
+        CurrencyPairCsvCodec.appendSignal(sb, fromSignal).append(';');
+        CurrencyPairCsvCodec.appendSignal(sb, toSignal).append(';');
+        CurrencyPairCsvCodec.appendFixed2(sb, fromBuyPercentage, ',', CurrencyPairCsvCodec.Rounding.DECIMAL_FORMAT_HALF_EVEN).append(';');
+        CurrencyPairCsvCodec.appendFixed2(sb, toBuyPercentage, ',', CurrencyPairCsvCodec.Rounding.DECIMAL_FORMAT_HALF_EVEN);
+        return sb.toString();
     }
     
     /**
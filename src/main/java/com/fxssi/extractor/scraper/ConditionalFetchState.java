@@ -0,0 +1,103 @@
+package com.fxssi.extractor.scraper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Merkt sich die Validatoren (ETag, Last-Modified) und den Inhalts-Hash des letzten ausgewerteten Abrufs
+ * Daraus entstehen die bedingten Request-Header (If-None-Match, If-Modified-Since). Liefert der Server
+ * trotzdem den vollen Inhalt, entscheidet der SHA-256-Hash des relevanten Abschnitts, ob sich etwas geändert hat.
+ * Der Zustand gilt nur für dieselbe URL, bei einer neuen URL wird er verworfen.
+ *
+ * Jeder Abruf merkt sich zu Beginn die Generation (getGeneration). reset() erhöht sie, dadurch wird
+ * ein remember() eines Abrufs, dessen Ergebnis inzwischen verworfen wurde (z.B. nach Zeitüberschreitung),
+ * ignoriert und der nächste Abruf wertet wieder vollständig aus.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class ConditionalFetchState {
+
+    private String url;
+    private String etag;
+    private String lastModified;
+    private String contentHash;
+    private long generation;
+
+    /**
+     * Bedingte Request-Header für die URL (leer, falls noch nichts ausgewertet wurde)
+     */
+    public synchronized Map<String, String> getRequestHeaders(String requestUrl) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (contentHash == null || !requestUrl.equals(url)) {
+            return headers;
+        }
+        if (etag != null) {
+            headers.put("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            headers.put("If-Modified-Since", lastModified);
+        }
+        return headers;
+    }
+
+    /**
+     * Prüft, ob der Inhalt dem zuletzt ausgewerteten entspricht
+     */
+    public synchronized boolean isUnchanged(String requestUrl, String hash) {
+        return hash != null && hash.equals(contentHash) && requestUrl.equals(url);
+    }
+
+    /**
+     * Aktuelle Generation, zu Beginn eines Abrufs abzufragen und an remember zu übergeben
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Merkt sich einen erfolgreich ausgewerteten Abruf
+     * @param fetchGeneration Generation zu Beginn des Abrufs
+     * @return false wenn der Zustand seitdem verworfen wurde (nichts gemerkt)
+     */
+    public synchronized boolean remember(long fetchGeneration, String requestUrl, String etag, String lastModified, String hash) {
+        if (fetchGeneration != generation) {
+            return false;
+        }
+        this.url = requestUrl;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.contentHash = hash;
+        return true;
+    }
+
+    /**
+     * Verwirft den Zustand, der nächste Abruf lädt und wertet vollständig aus
+     */
+    public synchronized void reset() {
+        url = null;
+        etag = null;
+        lastModified = null;
+        contentHash = null;
+        generation++;
+    }
+
+    /**
+     * SHA-256 eines Textes als Hex-String
+     */
+    public static String sha256(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 nicht verfügbar", e);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.fxssi.extractor.scraper;
+
+import com.fxssi.extractor.config.StorageConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Schreibt Debug-Schnappschüsse geladener Seiten asynchron in das debug_html-Verzeichnis
+ * Geschrieben werden die unveränderten Bytes der HTTP-Antwort, das DOM wird dafür nicht erneut serialisiert.
+ * Ob ein Zyklus erfasst wird, entscheidet der Modus; die Dateien schreibt ein eigener Daemon-Thread,
+ * der Scrape-Thread wartet nie auf die Festplatte. Ist der Schreiber noch beschäftigt, wird der
+ * Schnappschuss verworfen statt Speicher anzuhäufen.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class DebugCaptureSink {
+
+    private static final Logger LOGGER = Logger.getLogger(DebugCaptureSink.class.getName());
+
+    // Maximal wartende Schnappschüsse (jeder hält eine komplette Seite im Speicher)
+    private static final int MAX_PENDING = 2;
+
+    /**
+     * Wann ein Schnappschuss geschrieben wird
+     */
+    public enum Mode {
+        /** Nie */
+        OFF,
+        /** Nur wenn die Auswertung keine Daten ergeben hat */
+        ON_FAILURE,
+        /** Jeden N-ten Zyklus sowie bei Fehlern */
+        EVERY_NTH,
+        /** Jeden Zyklus, die letzten K Schnappschüsse bleiben als rollierende Dateien erhalten */
+        RING
+    }
+
+    private final Path debugPath;
+    private final String filePrefix;
+    private final Mode mode;
+    private final int interval;
+    private final int ringSize;
+    private final AtomicLong cycleCounter = new AtomicLong();
+    private final ThreadPoolExecutor writer;
+
+    /**
+     * @param debugPath Zielverzeichnis der Schnappschüsse
+     * @param filePrefix Präfix der Dateinamen (z.B. "fxssi")
+     * @param mode Erfassungsmodus
+     * @param interval N für EVERY_NTH
+     * @param ringSize K für RING
+     */
+    public DebugCaptureSink(Path debugPath, String filePrefix, Mode mode, int interval, int ringSize) {
+        this.debugPath = debugPath;
+        this.filePrefix = filePrefix;
+        this.mode = mode != null ? mode : Mode.OFF;
+        this.interval = Math.max(1, interval);
+        this.ringSize = Math.max(1, ringSize);
+        this.writer = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_PENDING),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "Debug-Capture-" + filePrefix);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.writer.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Erzeugt die Senke aus der Speicher-Konfiguration (debug.capture.*) für data/debug_html
+     */
+    public static DebugCaptureSink fromConfig(String dataDirectory, String filePrefix) {
+        StorageConfig config = new StorageConfig(dataDirectory);
+        Mode mode;
+        try {
+            mode = Mode.valueOf(config.getDebugCaptureMode());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Unbekannter Debug-Modus '" + config.getDebugCaptureMode() + "' - verwende ON_FAILURE");
+            mode = Mode.ON_FAILURE;
+        }
+        return new DebugCaptureSink(Paths.get(dataDirectory, "debug_html"), filePrefix, mode,
+                config.getDebugCaptureInterval(), config.getDebugCaptureRingSize());
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Zählt einen Zyklus und übergibt die Seite bei Bedarf an den Schreib-Thread
+     * @param rawBody unveränderte Bytes der HTTP-Antwort (werden nicht kopiert und dürfen danach nicht verändert werden)
+     * @param parseFailed true wenn die Auswertung keine Daten ergeben hat
+     * @param summary Struktur-Zusammenfassung, wird nur für erfasste Zyklen auf dem aufrufenden Thread erzeugt
+     * @return true wenn der Schnappschuss zum Schreiben eingereiht wurde
+     */
+    public boolean capture(byte[] rawBody, boolean parseFailed, Supplier<String> summary) {
+        if (mode == Mode.OFF || rawBody == null) {
+            return false;
+        }
+        long cycle = cycleCounter.incrementAndGet();
+        if (!shouldCapture(cycle, parseFailed)) {
+            return false;
+        }
+
+        String baseName = mode == Mode.RING
+                ? String.format("%s_ring_%02d", filePrefix, (cycle - 1) % ringSize)
+                : filePrefix + "_current";
+        String header = "Zeitstempel: " + LocalDateTime.now() + "\n"
+                + "Zyklus: " + cycle + (parseFailed ? " (Auswertung ohne Daten)" : "") + "\n\n";
+        String text = header + (summary != null ? summary.get() : "");
+
+        try {
+            writer.execute(() -> write(baseName, rawBody, text));
+            return true;
+        } catch (RejectedExecutionException e) {
+            LOGGER.fine("Debug-Schnappschuss verworfen - Schreiber ausgelastet");
+            return false;
+        }
+    }
+
+    /**
+     * Beendet den Schreib-Thread, bereits eingereihte Schnappschüsse werden noch geschrieben
+     */
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    private boolean shouldCapture(long cycle, boolean parseFailed) {
+        switch (mode) {
+            case ON_FAILURE:
+                return parseFailed;
+            case EVERY_NTH:
+                return parseFailed || cycle % interval == 0;
+            case RING:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void write(String baseName, byte[] rawBody, String summary) {
+        try {
+            Files.createDirectories(debugPath);
+            Files.write(debugPath.resolve(baseName + ".html"), rawBody);
+            Files.write(debugPath.resolve(baseName + "_structure.txt"), summary.getBytes(StandardCharsets.UTF_8));
+            LOGGER.fine("Debug-Schnappschuss gespeichert: " + debugPath.resolve(baseName + ".html").toAbsolutePath());
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Speichern des Debug-Schnappschusses: " + e.getMessage(), e);
+        }
+    }
+}
@@ -2,15 +2,21 @@ package com.fxssi.extractor.scraper;
 
 import com.fxssi.extractor.model.CurrencyPairData;
 import com.fxssi.extractor.model.CurrencyPairData.TradingSignal;
+import com.fxssi.extractor.model.CurrencySymbol;
+import com.fxssi.extractor.model.CurrencySymbolRegistry;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
 import java.util.logging.Level;
@@ -24,12 +30,14 @@ import java.util.regex.Pattern;
  * @author Generated for FXSSI Data Extraction
  * @version 1.4 (mit korrekter HTML-Struktur-Erkennung für .line/.symbol/.ratio Elemente)
  */
-public class FXSSIScraper {
+public class FXSSIScraper implements SentimentSource {
     
     private static final Logger LOGGER = Logger.getLogger(FXSSIScraper.class.getName());
     private static final String FXSSI_URL = "https://fxssi.com/tools/current-ratio";
-    private static final int TIMEOUT_MS = 15000; // 15 Sekunden Timeout
-    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+    private static final String ACCEPT_HTML = "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8";
+    
+    /** Name als Sentiment-Quelle */
+    public static final String SOURCE_NAME = "FXSSI";
     
     // Pattern für Extraktion von Prozentangaben
     private static final Pattern PERCENTAGE_PATTERN = Pattern.compile("(\\d+(?:\\.\\d+)?)%");
@@ -38,6 +46,15 @@ public class FXSSIScraper {
     // Instance-Variable für Datenverzeichnis
     private final String dataDirectory;
     
+    // Gemeinsamer HTTP-Transport (Keep-Alive, HTTP/2)
+    private final SentimentHttpClient httpClient;
+    
+    // Asynchrone, gesampelte Ablage der geladenen Seiten in debug_html
+    private final DebugCaptureSink debugCapture;
+    
+    // Validatoren und Ratio-Hash des letzten ausgewerteten Abrufs
+    private final ConditionalFetchState conditionalState = new ConditionalFetchState();
+    
     /**
      * Konstruktor mit Standard-Datenverzeichnis
      */
@@ -50,9 +67,20 @@ public class FXSSIScraper {
      * @param dataDirectory Pfad zum Datenverzeichnis
      */
     public FXSSIScraper(String dataDirectory) {
+        this(dataDirectory, SentimentHttpClient.getShared());
+    }
+    
+    /**
+     * NEU: Konstruktor mit eigenem HTTP-Transport (z.B. mit anderen Timeouts)
+     * @param dataDirectory Pfad zum Datenverzeichnis
+     * @param httpClient HTTP-Transport für alle Requests
+     */
+    public FXSSIScraper(String dataDirectory, SentimentHttpClient httpClient) {
         this.dataDirectory = dataDirectory != null ? dataDirectory : "data";
+        this.httpClient = httpClient;
+        this.debugCapture = DebugCaptureSink.fromConfig(this.dataDirectory, "fxssi");
         LOGGER.info("FXSSIScraper initialisiert für URL: " + FXSSI_URL);
-        LOGGER.info("Debug-Dateien werden gespeichert in: " + this.dataDirectory + "/debug_html");
+        LOGGER.info("Debug-Dateien werden gespeichert in: " + this.dataDirectory + "/debug_html (Modus: " + debugCapture.getMode() + ")");
     }
     
     /**
@@ -64,29 +92,129 @@ public class FXSSIScraper {
         LOGGER.info("Beginne Datenextraktion von FXSSI...");
         
         try {
-            Document document = loadWebPage();
-            
-            // Debug: Dokumentstruktur analysieren und HTML speichern
-            analyzeDocumentStructure(document);
-            
-            List<CurrencyPairData> currencyData = parseCurrentRatioData(document);
-            
-            // Filtere Duplikate und validiere Daten
-            List<CurrencyPairData> cleanedData = removeDuplicatesAndValidate(currencyData);
+            SentimentHttpClient.Response response = loadWebPage();
+            return extractFromDocument(parseDocument(response), response.getBody());
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Fehler beim Extrahieren der FXSSI-Daten: " + e.getMessage(), e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Wertet eine geladene Seite aus
+     * @param rawHtml unveränderte Bytes der Antwort für den Debug-Schnappschuss
+     */
+    private List<CurrencyPairData> extractFromDocument(Document document, byte[] rawHtml) {
+        // Debug: Dokumentstruktur analysieren
+        analyzeDocumentStructure(document);
+        
+        List<CurrencyPairData> currencyData = parseCurrentRatioData(document);
+        
+        // Filtere Duplikate und validiere Daten
+        List<CurrencyPairData> cleanedData = removeDuplicatesAndValidate(currencyData);
+        
+        // Debug-Schnappschuss je nach Modus (Schreiben erfolgt asynchron)
+        debugCapture.capture(rawHtml, cleanedData.isEmpty(), () -> buildStructureAnalysis(document));
+        
+        LOGGER.info("Erfolgreich " + cleanedData.size() + " einzigartige Währungspaare extrahiert");
+        logExtractionSummary(cleanedData);
+        
+        return cleanedData;
+    }
+    
+    // ===== SENTIMENT-QUELLE =====
+    
+    @Override
+    public String getSourceName() {
+        return SOURCE_NAME;
+    }
+    
+    /**
+     * Bedingter Abruf: bei 304 oder unverändertem .sentiment-ratios-Abschnitt wird nicht ausgewertet
+     */
+    @Override
+    public synchronized List<CurrencyPairData> fetchSentimentData() throws IOException {
+        LOGGER.info("Beginne bedingten Abruf von FXSSI...");
+        long generation = conditionalState.getGeneration();
+        
+        try {
+            SentimentHttpClient.Response response = loadWebPageConditional();
+            if (response.getStatusCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                LOGGER.info("FXSSI-Seite unverändert (HTTP 304) - Auswertung übersprungen");
+                return NOT_MODIFIED;
+            }
+            if (response.getStatusCode() != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP-Status " + response.getStatusCode() + " von " + FXSSI_URL);
+            }
             
-            LOGGER.info("Erfolgreich " + cleanedData.size() + " einzigartige Währungspaare extrahiert");
-            logExtractionSummary(cleanedData);
+            Document document = parseDocument(response);
+            String ratiosHash = ConditionalFetchState.sha256(getRatiosSection(document));
+            if (conditionalState.isUnchanged(FXSSI_URL, ratiosHash)) {
+                conditionalState.remember(generation, FXSSI_URL, response.getEtag(), response.getLastModified(), ratiosHash);
+                LOGGER.info("FXSSI-Ratios unverändert (gleicher Hash) - Auswertung übersprungen");
+                return NOT_MODIFIED;
+            }
             
-            return cleanedData;
+            List<CurrencyPairData> data = extractFromDocument(document, response.getBody());
+            if (!data.isEmpty()) {
+                conditionalState.remember(generation, FXSSI_URL, response.getEtag(), response.getLastModified(), ratiosHash);
+            }
+            return data;
             
-        } catch (Exception e) {
+        } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Fehler beim Extrahieren der FXSSI-Daten: " + e.getMessage(), e);
             throw e;
         }
     }
     
+    @Override
+    public void resetChangeDetection() {
+        conditionalState.reset();
+    }
+    
+    /**
+     * HTTP-Timeout plus Reserve für Verbindungsaufbau und Auswertung
+     */
+    @Override
+    public long getTimeoutMillis() {
+        return httpClient.getRequestTimeoutMillis() + 5000;
+    }
+    
     /**
-     * Analysiert die Dokumentstruktur für besseres Debugging und speichert HTML
+     * FXSSI ist die Hauptquelle aller Währungspaare
+     */
+    @Override
+    public boolean isPrimary() {
+        return true;
+    }
+    
+    /**
+     * Lädt die Webseite mit If-None-Match/If-Modified-Since (HTTP-Fehler werden als Status geliefert)
+     */
+    private SentimentHttpClient.Response loadWebPageConditional() throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Accept-Language", "en-US,en;q=0.5");
+        headers.putAll(conditionalState.getRequestHeaders(FXSSI_URL));
+        return httpClient.get(FXSSI_URL, ACCEPT_HTML, headers);
+    }
+    
+    /**
+     * Parst die Antwort mit Zeichensatz aus dem Header (sonst Erkennung über das meta-Tag)
+     */
+    private Document parseDocument(SentimentHttpClient.Response response) throws IOException {
+        return Jsoup.parse(new ByteArrayInputStream(response.getBody()), response.getCharset(), response.getUri());
+    }
+    
+    /**
+     * Relevanter Abschnitt für den Änderungs-Hash (ganze Seite, falls .sentiment-ratios fehlt)
+     */
+    private String getRatiosSection(Document document) {
+        Elements ratios = document.select(".sentiment-ratios");
+        return ratios.isEmpty() ? document.body().html() : ratios.outerHtml();
+    }
+    
+    /**
+     * Analysiert die Dokumentstruktur für besseres Debugging (nur bei Log-Level FINE)
      */
     private void analyzeDocumentStructure(Document document) {
         if (LOGGER.isLoggable(Level.FINE)) {
@@ -118,168 +246,77 @@ public class FXSSIScraper {
             
             LOGGER.fine("=== ENDE DOKUMENT-ANALYSE ===");
         }
-        
-        // Speichere HTML-Struktur für Debugging
-        saveHtmlForDebugging(document);
-    }
-    
-    /**
-     * Speichert die aktuelle HTML-Struktur für Debugging-Zwecke
-     */
-    private void saveHtmlForDebugging(Document document) {
-        try {
-            // Erstelle Debug-Verzeichnis im konfigurierten Root-Pfad
-            java.nio.file.Path debugPath = java.nio.file.Paths.get(dataDirectory, "debug_html");
-            if (!java.nio.file.Files.exists(debugPath)) {
-                java.nio.file.Files.createDirectories(debugPath);
-                LOGGER.info("Debug-Verzeichnis erstellt: " + debugPath.toAbsolutePath());
-            }
-            
-            // Speichere komplette HTML-Seite (überschreibt vorherige)
-            saveCompleteHtml(document, debugPath);
-            
-            // Speichere Struktur-Analyse mit neuer Erkennung
-            saveStructureAnalysisUpdated(document, debugPath);
-            
-            // Speichere relevante Bereiche mit neuer Struktur
-            saveRelevantSectionsUpdated(document, debugPath);
-            
-            LOGGER.info("HTML-Debug-Dateien gespeichert in: " + debugPath.toAbsolutePath());
-            
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Fehler beim Speichern der Debug-HTML: " + e.getMessage(), e);
-        }
-    }
-    
-    /**
-     * Speichert die komplette HTML-Seite
-     */
-    private void saveCompleteHtml(Document document, java.nio.file.Path debugPath) {
-        try {
-            java.nio.file.Path htmlFile = debugPath.resolve("fxssi_current.html");
-            java.nio.file.Files.write(htmlFile, document.outerHtml().getBytes("UTF-8"));
-            LOGGER.fine("Komplette HTML gespeichert: " + htmlFile.getFileName());
-        } catch (Exception e) {
-            LOGGER.warning("Fehler beim Speichern der kompletten HTML: " + e.getMessage());
-        }
     }
     
     /**
-     * Speichert eine aktualisierte Struktur-Analyse mit neuer Erkennung
+     * Struktur-Analyse der geladenen Seite für den Debug-Schnappschuss
      */
-    private void saveStructureAnalysisUpdated(Document document, java.nio.file.Path debugPath) {
-        try {
-            java.nio.file.Path structureFile = debugPath.resolve("fxssi_structure.txt");
-            StringBuilder analysis = new StringBuilder();
-            
-            analysis.append("FXSSI Website Struktur-Analyse (Aktualisiert)\n");
-            analysis.append("=============================================\n");
-            analysis.append("URL: ").append(FXSSI_URL).append("\n");
-            analysis.append("Zeitstempel: ").append(java.time.LocalDateTime.now()).append("\n");
-            analysis.append("Titel: ").append(document.title()).append("\n\n");
-            
-            // Neue Struktur-Analyse basierend auf der erkannten HTML-Struktur
-            analysis.append("=== NEUE FXSSI STRUKTUR-ERKENNUNG ===\n");
-            
-            Elements sentimentRatios = document.select(".sentiment-ratios");
-            analysis.append("Sentiment-Ratios Container: ").append(sentimentRatios.size()).append("\n");
-            
-            Elements lineElements = document.select(".line");
-            analysis.append("Line Elemente (.line): ").append(lineElements.size()).append("\n");
-            
-            if (!lineElements.isEmpty()) {
-                analysis.append("\nDetaillierte Analyse der .line Elemente:\n");
-                for (int i = 0; i < Math.min(5, lineElements.size()); i++) {
-                    Element line = lineElements.get(i);
-                    analysis.append("Line ").append(i+1).append(":\n");
-                    
-                    Elements symbols = line.select(".symbol");
-                    if (!symbols.isEmpty()) {
-                        analysis.append("  Symbol: ").append(symbols.first().text()).append("\n");
-                    }
+    private String buildStructureAnalysis(Document document) {
+        StringBuilder analysis = new StringBuilder();
+        
+        analysis.append("FXSSI Website Struktur-Analyse (Aktualisiert)\n");
+        analysis.append("=============================================\n");
+        analysis.append("URL: ").append(FXSSI_URL).append("\n");
+        analysis.append("Titel: ").append(document.title()).append("\n\n");
+        
+        // Neue Struktur-Analyse basierend auf der erkannten HTML-Struktur
+        analysis.append("=== NEUE FXSSI STRUKTUR-ERKENNUNG ===\n");
+        
+        Elements sentimentRatios = document.select(".sentiment-ratios");
+        analysis.append("Sentiment-Ratios Container: ").append(sentimentRatios.size()).append("\n");
+        
+        Elements lineElements = document.select(".line");
+        analysis.append("Line Elemente (.line): ").append(lineElements.size()).append("\n");
+        
+        if (!lineElements.isEmpty()) {
+            analysis.append("\nDetaillierte Analyse der .line Elemente:\n");
+            for (int i = 0; i < Math.min(5, lineElements.size()); i++) {
+                Element line = lineElements.get(i);
+                analysis.append("Line ").append(i+1).append(":\n");
+                
+                Elements symbols = line.select(".symbol");
+                if (!symbols.isEmpty()) {
+                    analysis.append("  Symbol: ").append(symbols.first().text()).append("\n");
+                }
+                
+                Elements ratios = line.select(".ratio");
+                if (!ratios.isEmpty()) {
+                    Elements leftBars = ratios.select(".ratio-bar-left");
+                    Elements rightBars = ratios.select(".ratio-bar-right");
                     
-                    Elements ratios = line.select(".ratio");
-                    if (!ratios.isEmpty()) {
-                        Elements leftBars = ratios.select(".ratio-bar-left");
-                        Elements rightBars = ratios.select(".ratio-bar-right");
-                        
-                        if (!leftBars.isEmpty()) {
-                            analysis.append("  Left Ratio: ").append(leftBars.first().text()).append("\n");
-                        }
-                        if (!rightBars.isEmpty()) {
-                            analysis.append("  Right Ratio: ").append(rightBars.first().text()).append("\n");
-                        }
+                    if (!leftBars.isEmpty()) {
+                        analysis.append("  Left Ratio: ").append(leftBars.first().text()).append("\n");
                     }
-                    
-                    Elements signals = line.select(".signal");
-                    if (!signals.isEmpty()) {
-                        analysis.append("  Signal: ").append(signals.first().className()).append("\n");
+                    if (!rightBars.isEmpty()) {
+                        analysis.append("  Right Ratio: ").append(rightBars.first().text()).append("\n");
                     }
-                    analysis.append("\n");
                 }
+                
+                Elements signals = line.select(".signal");
+                if (!signals.isEmpty()) {
+                    analysis.append("  Signal: ").append(signals.first().className()).append("\n");
+                }
+                analysis.append("\n");
             }
-            
-            java.nio.file.Files.write(structureFile, analysis.toString().getBytes("UTF-8"));
-            LOGGER.fine("Aktualisierte Struktur-Analyse gespeichert: " + structureFile.getFileName());
-            
-        } catch (Exception e) {
-            LOGGER.warning("Fehler beim Speichern der aktualisierten Struktur-Analyse: " + e.getMessage());
-        }
-    }
-    
-    /**
-     * Speichert relevante HTML-Bereiche mit neuer Struktur-Erkennung
-     */
-    private void saveRelevantSectionsUpdated(Document document, java.nio.file.Path debugPath) {
-        try {
-            java.nio.file.Path relevantFile = debugPath.resolve("fxssi_relevant_sections.html");
-            StringBuilder relevantHtml = new StringBuilder();
-            
-            relevantHtml.append("<!-- FXSSI Relevante Bereiche (Neue Struktur) -->\n\n");
-            
-            // Extrahiere .sentiment-ratios Container
-            Elements sentimentRatios = document.select(".sentiment-ratios");
-            if (!sentimentRatios.isEmpty()) {
-                relevantHtml.append("<!-- SENTIMENT-RATIOS CONTAINER -->\n");
-                relevantHtml.append(sentimentRatios.first().outerHtml()).append("\n\n");
-            }
-            
-            // Extrahiere einzelne .line Elemente
-            Elements lineElements = document.select(".line");
-            relevantHtml.append("<!-- EINZELNE .LINE ELEMENTE (").append(lineElements.size()).append(" GEFUNDEN) -->\n");
-            for (int i = 0; i < Math.min(10, lineElements.size()); i++) {
-                Element line = lineElements.get(i);
-                relevantHtml.append("<!-- LINE ").append(i+1).append(" -->\n");
-                relevantHtml.append(line.outerHtml()).append("\n\n");
-            }
-            
-            java.nio.file.Files.write(relevantFile, relevantHtml.toString().getBytes("UTF-8"));
-            LOGGER.fine("Relevante Bereiche (neue Struktur) gespeichert: " + relevantFile.getFileName());
-            
-        } catch (Exception e) {
-            LOGGER.warning("Fehler beim Speichern der relevanten Bereiche: " + e.getMessage());
         }
+        
+        return analysis.toString();
     }
     
     /**
-     * Lädt die FXSSI-Webseite und gibt das HTML-Dokument zurück
+     * Lädt die FXSSI-Webseite und gibt die Antwort zurück
      */
-    private Document loadWebPage() throws IOException {
+    private SentimentHttpClient.Response loadWebPage() throws IOException {
         LOGGER.info("Lade FXSSI-Webseite: " + FXSSI_URL);
         
         try {
-            Document document = Jsoup.connect(FXSSI_URL)
-                    .userAgent(USER_AGENT)
-                    .timeout(TIMEOUT_MS)
-                    .followRedirects(true)
-                    .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8")
-                    .header("Accept-Language", "en-US,en;q=0.5")
-                    .header("Accept-Encoding", "gzip, deflate")
-                    .header("Connection", "keep-alive")
-                    .get();
-                    
-            LOGGER.info("Webseite erfolgreich geladen - Titel: " + document.title());
-            return document;
+            SentimentHttpClient.Response response = httpClient.get(FXSSI_URL, ACCEPT_HTML,
+                    Map.of("Accept-Language", "en-US,en;q=0.5"));
+            if (response.getStatusCode() != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP-Status " + response.getStatusCode() + " von " + FXSSI_URL);
+            }
+            LOGGER.info("Webseite erfolgreich geladen: " + response.getBody().length + " Bytes");
+            return response;
             
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Fehler beim Laden der Webseite: " + e.getMessage(), e);
@@ -874,53 +911,33 @@ public class FXSSIScraper {
      * Überprüft ob ein Text bekannte Währungspaare enthält
      */
     private boolean containsKnownCurrencyPair(String text) {
-        String upperText = text.toUpperCase();
-        String[] knownPairs = {
-            "EURUSD", "GBPUSD", "USDJPY", "AUDUSD", "USDCHF", "USDCAD",
-            "NZDUSD", "EURJPY", "GBPJPY", "AUDJPY", "EURGBP", "EURAUD",
-            "EURCHF", "GBPCHF", "XAUUSD", "XAGUSD"
-        };
-        
-        for (String pair : knownPairs) {
-            if (upperText.contains(pair)) {
-                return true;
-            }
-        }
-        return false;
+        return extractCurrencyPairFromText(text) != null;
     }
     
     /**
-     * Extrahiert Währungspaar aus Text
+     * Extrahiert Währungspaar aus Text (bekannte Paare aus der CurrencySymbolRegistry)
      */
     private String extractCurrencyPairFromText(String text) {
         String upperText = text.toUpperCase();
-        String[] knownPairs = {
-            "AUDJPY", "AUDUSD", "EURAUD", "EURGBP", "EURJPY", "EURUSD", 
-            "GBPJPY", "GBPUSD", "NZDUSD", "USDCAD", "USDCHF", "USDJPY", 
-            "XAGUSD", "XAUUSD", "EURCHF", "GBPCHF"
-        };
-        
-        for (String pair : knownPairs) {
-            if (upperText.contains(pair)) {
-                return formatCurrencyPair(pair);
+        for (CurrencySymbol symbol : CurrencySymbolRegistry.getKnownSymbols()) {
+            if (upperText.contains(symbol.getCompactName())) {
+                return symbol.getDisplayName();
             }
         }
         return null;
     }
     
     /**
-     * Formatiert Währungspaar als XXX/YYY
+     * Formatiert Währungspaar als XXX/YYY (Anzeigeform aus der CurrencySymbolRegistry)
      */
     private String formatCurrencyPair(String pair) {
-        pair = pair.toUpperCase();
-        if (pair.length() == 6) {
-            return pair.substring(0, 3) + "/" + pair.substring(3);
-        } else if (pair.startsWith("XAU")) {
-            return "XAU/USD";
-        } else if (pair.startsWith("XAG")) {
-            return "XAG/USD";
+        String upper = pair.toUpperCase();
+        if (upper.length() != 6 && upper.startsWith("XAU")) {
+            upper = "XAUUSD";
+        } else if (upper.length() != 6 && upper.startsWith("XAG")) {
+            upper = "XAGUSD";
         }
-        return pair;
+        return CurrencySymbolRegistry.of(upper).getDisplayName();
     }
     
     /**
@@ -1023,7 +1040,7 @@ public class FXSSIScraper {
      */
     public boolean testConnection() {
         try {
-            Document document = loadWebPage();
+            Document document = parseDocument(loadWebPage());
             boolean isValid = document.title().toLowerCase().contains("fxssi") || 
                              document.title().toLowerCase().contains("sentiment") ||
                              document.title().toLowerCase().contains("current ratio");
@@ -1036,4 +1053,11 @@ public class FXSSIScraper {
             return false;
         }
     }
+    
+    /**
+     * Schreibt noch eingereihte Debug-Schnappschüsse und beendet den Schreib-Thread
+     */
+    public void shutdown() {
+        debugCapture.shutdown();
+    }
 }
\ No newline at end of file
@@ -3,13 +3,15 @@ package com.fxssi.extractor.scraper;
 import com.fxssi.extractor.model.CurrencyPairData;
 import com.fxssi.extractor.model.CurrencyPairData.TradingSignal;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.net.HttpURLConnection;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -29,22 +31,19 @@ import java.util.regex.Pattern;
  * @author Generated for FXSSI Data Extraction
  * @version 1.0
  */
-public class FearGreedScraper {
+public class FearGreedScraper implements SentimentSource {
     
     private static final Logger LOGGER = Logger.getLogger(FearGreedScraper.class.getName());
     
     // CNN Fear & Greed API Endpoint
     private static final String CNN_API_URL = "https://production.dataviz.cnn.io/index/fearandgreed/graphdata";
     
-    // Timeout für HTTP-Verbindung in Millisekunden
-    private static final int TIMEOUT_MS = 15000;
-    
-    // User-Agent für HTTP-Requests
-    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
-    
     // Symbol für die Daten (wird als BTC/USD angezeigt)
     private static final String SYMBOL = "BTC/USD";
     
+    /** Name als Sentiment-Quelle */
+    public static final String SOURCE_NAME = "Fear & Greed";
+    
     // Regex-Pattern für JSON-Extraktion
     private static final Pattern SCORE_PATTERN = Pattern.compile("\"score\"\\s*:\\s*([0-9.]+)");
     private static final Pattern RATING_PATTERN = Pattern.compile("\"rating\"\\s*:\\s*\"([^\"]+)\"");
@@ -56,6 +55,12 @@ public class FearGreedScraper {
     // Datenverzeichnis für Debug-Ausgaben
     private final String dataDirectory;
     
+    // Gemeinsamer HTTP-Transport (Keep-Alive, HTTP/2)
+    private final SentimentHttpClient httpClient;
+    
+    // Validatoren und Score-Hash des letzten ausgewerteten Abrufs
+    private final ConditionalFetchState conditionalState = new ConditionalFetchState();
+    
     /**
      * Konstruktor mit Standard-Datenverzeichnis
      */
@@ -68,7 +73,17 @@ public class FearGreedScraper {
      * @param dataDirectory Pfad zum Datenverzeichnis
      */
     public FearGreedScraper(String dataDirectory) {
+        this(dataDirectory, SentimentHttpClient.getShared());
+    }
+    
+    /**
+     * NEU: Konstruktor mit eigenem HTTP-Transport (z.B. mit anderen Timeouts)
+     * @param dataDirectory Pfad zum Datenverzeichnis
+     * @param httpClient HTTP-Transport für alle Requests
+     */
+    public FearGreedScraper(String dataDirectory, SentimentHttpClient httpClient) {
         this.dataDirectory = dataDirectory != null ? dataDirectory : "data";
+        this.httpClient = httpClient;
         LOGGER.info("FearGreedScraper initialisiert für CNN Fear & Greed Index API");
         LOGGER.info("Symbol: " + SYMBOL + " | API: " + CNN_API_URL);
     }
@@ -82,10 +97,15 @@ public class FearGreedScraper {
     public CurrencyPairData extractFearGreedData() {
         LOGGER.info("Beginne Extraktion des CNN Fear & Greed Index...");
         
+        // Lade JSON von CNN API
+        return createDataFromJson(loadApiData());
+    }
+    
+    /**
+     * Wertet die JSON-Antwort aus (neutrale Fallback-Daten bei Fehlern)
+     */
+    private CurrencyPairData createDataFromJson(String jsonResponse) {
         try {
-            // Lade JSON von CNN API
-            String jsonResponse = loadApiData();
-            
             if (jsonResponse == null || jsonResponse.isEmpty()) {
                 LOGGER.warning("Keine Daten von CNN API erhalten");
                 return createFallbackData();
@@ -116,59 +136,136 @@ public class FearGreedScraper {
         }
     }
     
+    // ===== SENTIMENT-QUELLE =====
+    
+    @Override
+    public String getSourceName() {
+        return SOURCE_NAME;
+    }
+    
     /**
-     * Lädt die JSON-Daten von der CNN API
+     * Bedingter Abruf: bei 304 oder unverändertem Score/Rating wird NOT_MODIFIED geliefert
+     * Bei Fehlern wie bisher neutrale Fallback-Daten, die Änderungserkennung wird dann verworfen.
      */
-    private String loadApiData() {
-        HttpURLConnection connection = null;
+    @Override
+    public synchronized List<CurrencyPairData> fetchSentimentData() {
+        LOGGER.info("Beginne bedingten Abruf des CNN Fear & Greed Index...");
+        String url = buildApiUrl();
+        long generation = conditionalState.getGeneration();
         
         try {
-            // Erstelle URL mit aktuellem Datum für frische Daten
-            String dateParam = LocalDate.now().minusDays(1).format(DateTimeFormatter.ISO_LOCAL_DATE);
-            URL url = new URL(CNN_API_URL + "/" + dateParam);
+            ApiResponse response = requestApi(url, conditionalState.getRequestHeaders(url));
             
-            LOGGER.fine("Lade Daten von: " + url.toString());
-            
-            connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(TIMEOUT_MS);
-            connection.setReadTimeout(TIMEOUT_MS);
-            connection.setRequestProperty("User-Agent", USER_AGENT);
-            connection.setRequestProperty("Accept", "application/json");
-            connection.setRequestProperty("Accept-Language", "en-US,en;q=0.9");
-            
-            int responseCode = connection.getResponseCode();
-            
-            if (responseCode != HttpURLConnection.HTTP_OK) {
-                LOGGER.warning("HTTP Fehler: " + responseCode);
-                return null;
+            if (response.status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                LOGGER.info("Fear & Greed Index unverändert (HTTP 304) - Auswertung übersprungen");
+                return NOT_MODIFIED;
             }
             
-            // Lese Response
-            StringBuilder response = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
+            if (response.status == HttpURLConnection.HTTP_OK && !response.body.isEmpty()) {
+                saveDebugData(response.body);
+                double score = extractScore(response.body);
+                if (score >= 0) {
+                    String hash = ConditionalFetchState.sha256(score + "|" + extractRating(response.body));
+                    boolean unchanged = conditionalState.isUnchanged(url, hash);
+                    conditionalState.remember(generation, url, response.etag, response.lastModified, hash);
+                    if (unchanged) {
+                        LOGGER.info("Fear & Greed Index unverändert (gleicher Score) - Auswertung übersprungen");
+                        return NOT_MODIFIED;
+                    }
                 }
+                return Collections.singletonList(createDataFromJson(response.body));
             }
             
-            String jsonData = response.toString();
-            LOGGER.fine("API Response erhalten: " + jsonData.length() + " Bytes");
+            LOGGER.warning("HTTP Fehler: " + response.status);
+            
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Laden der CNN API: " + e.getMessage(), e);
+        }
+        // Fallback-Daten: der nächste erfolgreiche Abruf muss als Änderung gelten, auch bei gleichem Score
+        conditionalState.reset();
+        return Collections.singletonList(createDataFromJson(null));
+    }
+    
+    @Override
+    public void resetChangeDetection() {
+        conditionalState.reset();
+    }
+    
+    /**
+     * HTTP-Timeout plus Reserve für Verbindungsaufbau und Auswertung
+     */
+    @Override
+    public long getTimeoutMillis() {
+        return httpClient.getRequestTimeoutMillis() + 5000;
+    }
+    
+    /**
+     * Lädt die JSON-Daten von der CNN API
+     */
+    private String loadApiData() {
+        try {
+            ApiResponse response = requestApi(buildApiUrl(), Collections.emptyMap());
+            
+            if (response.status != HttpURLConnection.HTTP_OK) {
+                LOGGER.warning("HTTP Fehler: " + response.status);
+                return null;
+            }
             
             // Speichere Debug-Daten falls aktiviert
-            saveDebugData(jsonData);
+            saveDebugData(response.body);
             
-            return jsonData;
+            return response.body;
             
         } catch (Exception e) {
             LOGGER.log(Level.WARNING, "Fehler beim Laden der CNN API: " + e.getMessage(), e);
             return null;
-        } finally {
-            if (connection != null) {
-                connection.disconnect();
-            }
+        }
+    }
+    
+    /**
+     * URL mit aktuellem Datum für frische Daten
+     */
+    private String buildApiUrl() {
+        String dateParam = LocalDate.now().minusDays(1).format(DateTimeFormatter.ISO_LOCAL_DATE);
+        return CNN_API_URL + "/" + dateParam;
+    }
+    
+    /**
+     * Führt den HTTP-Request aus (Body nur bei Status 200)
+     * @param extraHeaders zusätzliche Header (z.B. If-None-Match)
+     */
+    private ApiResponse requestApi(String apiUrl, Map<String, String> extraHeaders) throws IOException {
+        LOGGER.fine("Lade Daten von: " + apiUrl);
+        
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Accept-Language", "en-US,en;q=0.9");
+        headers.putAll(extraHeaders);
+        SentimentHttpClient.Response response = httpClient.get(apiUrl, "application/json", headers);
+        
+        if (response.getStatusCode() != HttpURLConnection.HTTP_OK) {
+            return new ApiResponse(response.getStatusCode(), "", null, null);
+        }
+        
+        String jsonData = response.getBodyAsString();
+        LOGGER.fine("API Response erhalten: " + jsonData.length() + " Bytes");
+        
+        return new ApiResponse(response.getStatusCode(), jsonData, response.getEtag(), response.getLastModified());
+    }
+    
+    /**
+     * Antwort der CNN API mit Validatoren für bedingte Requests
+     */
+    private static final class ApiResponse {
+        private final int status;
+        private final String body;
+        private final String etag;
+        private final String lastModified;
+        
+        private ApiResponse(int status, String body, String etag, String lastModified) {
+            this.status = status;
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
         }
     }
     
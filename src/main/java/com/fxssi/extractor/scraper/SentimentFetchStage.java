@@ -0,0 +1,380 @@
+package com.fxssi.extractor.scraper;
+
+import com.fxssi.extractor.model.CurrencyPairData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Abruf-Stufe für alle Sentiment-Quellen der SentimentSourceRegistry
+ * Alle Quellen laufen gleichzeitig, jede mit eigenem Timeout, eigenen Wiederholungen und eigenem
+ * Abruf-Intervall. Zusätzlich gilt eine gemeinsame Frist für den ganzen Abruf. Eine langsame oder
+ * fehlerhafte Quelle hält die übrigen nicht auf, ihre Daten fehlen dann nur in diesem Zyklus.
+ * Verspätete Abrufe laufen im Hintergrund bis zu ihrem eigenen Timeout weiter und werden verworfen.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.1
+ */
+public class SentimentFetchStage {
+
+    private static final Logger LOGGER = Logger.getLogger(SentimentFetchStage.class.getName());
+
+    /** Gemeinsame Frist aller Quellen (etwas über dem HTTP-Timeout der Scraper von 15 s) */
+    public static final long DEFAULT_DEADLINE_MS = 20000;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final SentimentSourceRegistry registry;
+    private final long deadlineMillis;
+    private final ExecutorService executor;
+
+    // Zuletzt erfolgreich abgerufene Datensätze je Quelle (für das Abruf-Intervall)
+    private final Map<String, CachedFetch> lastFetches = new ConcurrentHashMap<>();
+
+    /**
+     * Konstruktor mit Standard-Frist
+     */
+    public SentimentFetchStage(SentimentSourceRegistry registry) {
+        this(registry, DEFAULT_DEADLINE_MS);
+    }
+
+    /**
+     * @param deadlineMillis Frist für den gesamten Abruf in Millisekunden (0 = nur Zeitbudget je Quelle)
+     */
+    public SentimentFetchStage(SentimentSourceRegistry registry, long deadlineMillis) {
+        this.registry = registry;
+        this.deadlineMillis = deadlineMillis;
+
+        // Ohne feste Obergrenze: ein hängender Abruf darf den nächsten Zyklus nicht blockieren
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "Sentiment-Fetch-" + THREAD_COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Ruft alle Quellen gleichzeitig ab und führt die Ergebnisse zusammen
+     * Bei doppelten Währungspaaren gewinnt die später registrierte Quelle.
+     */
+    public FetchResult fetch() {
+        List<SentimentSource> sources = registry.getSources();
+        long start = System.nanoTime();
+        long deadline = deadlineMillis > 0 ? start + TimeUnit.MILLISECONDS.toNanos(deadlineMillis) : Long.MAX_VALUE;
+
+        Map<SentimentSource, Future<List<CurrencyPairData>>> futures = new LinkedHashMap<>();
+        Map<SentimentSource, long[]> finishTimes = new LinkedHashMap<>();
+        Map<String, SourceResult> results = new LinkedHashMap<>();
+
+        for (SentimentSource source : sources) {
+            if (isFresh(source, start)) {
+                continue;
+            }
+            long[] finished = new long[] { -1 };
+            finishTimes.put(source, finished);
+            futures.put(source, executor.submit(() -> {
+                try {
+                    return fetchWithRetries(source);
+                } finally {
+                    finished[0] = System.nanoTime();
+                }
+            }));
+        }
+
+        // Neue Datensätze (zu speichern) und aktueller Stand inklusive unveränderter Datensätze (zur Anzeige)
+        Map<String, CurrencyPairData> changed = new LinkedHashMap<>();
+        Map<String, CurrencyPairData> latest = new LinkedHashMap<>();
+        for (SentimentSource source : sources) {
+            String name = source.getSourceName();
+            Future<List<CurrencyPairData>> future = futures.get(source);
+            SourceResult result;
+            List<CurrencyPairData> rows = Collections.emptyList();
+            boolean fresh = false;
+
+            if (future == null) {
+                rows = lastFetches.get(name).rows;
+                result = new SourceResult(name, SourceStatus.CACHED, 0, rows.size(), null, source.isPrimary());
+            } else {
+                try {
+                    long sourceDeadline = Math.min(deadline, start + getBudgetNanos(source));
+                    long remaining = Math.max(0, sourceDeadline - System.nanoTime());
+                    List<CurrencyPairData> data = future.get(remaining, TimeUnit.NANOSECONDS);
+                    long latency = elapsedMillis(start, finishTimes.get(source)[0]);
+                    CachedFetch previous = lastFetches.get(name);
+
+                    if (data == SentimentSource.NOT_MODIFIED && previous != null) {
+                        rows = previous.rows;
+                        lastFetches.put(name, new CachedFetch(start, rows));
+                        result = new SourceResult(name, SourceStatus.NOT_MODIFIED, latency, rows.size(), null, source.isPrimary());
+                    } else if (data == SentimentSource.NOT_MODIFIED) {
+                        // Quelle kennt den Stand, die Stufe nicht (z.B. nach verworfenem Abruf): nächstes Mal vollständig
+                        source.resetChangeDetection();
+                        result = new SourceResult(name, SourceStatus.EMPTY, latency, 0, null, source.isPrimary());
+                    } else {
+                        rows = data != null ? data : Collections.emptyList();
+                        fresh = true;
+                        result = new SourceResult(name, rows.isEmpty() ? SourceStatus.EMPTY : SourceStatus.OK,
+                            latency, rows.size(), null, source.isPrimary());
+                        if (!rows.isEmpty()) {
+                            lastFetches.put(name, new CachedFetch(start, rows));
+                        }
+                    }
+                } catch (TimeoutException e) {
+                    future.cancel(true);
+                    source.resetChangeDetection();
+                    result = new SourceResult(name, SourceStatus.TIMED_OUT, elapsedMillis(start, System.nanoTime()), 0,
+                        "Frist überschritten", source.isPrimary());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    result = new SourceResult(name, SourceStatus.FAILED, elapsedMillis(start, finishTimes.get(source)[0]), 0,
+                        cause.getMessage(), source.isPrimary());
+                    LOGGER.log(Level.WARNING, "Quelle " + name + " fehlgeschlagen: " + cause.getMessage(), cause);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    future.cancel(true);
+                    result = new SourceResult(name, SourceStatus.FAILED, elapsedMillis(start, System.nanoTime()), 0,
+                        "Abruf unterbrochen", source.isPrimary());
+                }
+            }
+
+            if (!result.isSuccess() && result.getStatus() != SourceStatus.FAILED) {
+                LOGGER.warning("Quelle " + name + " ohne Daten (" + result.getStatus().getDescription() + ")"
+                    + (source.isPrimary() ? "" : " - übrige Quellen werden trotzdem verwendet"));
+            }
+
+            for (CurrencyPairData row : rows) {
+                putLast(latest, row);
+                if (fresh) {
+                    putLast(changed, row);
+                }
+            }
+            results.put(name, result);
+        }
+
+        FetchResult fetchResult = new FetchResult(new ArrayList<>(changed.values()), new ArrayList<>(latest.values()),
+            results, elapsedMillis(start, System.nanoTime()));
+        LOGGER.info("Abruf abgeschlossen: " + fetchResult.getSummary());
+        return fetchResult;
+    }
+
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
+
+    public SentimentSourceRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Beendet die Abruf-Threads
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    private List<CurrencyPairData> fetchWithRetries(SentimentSource source) throws Exception {
+        int attempt = 0;
+        while (true) {
+            try {
+                return source.fetchSentimentData();
+            } catch (Exception e) {
+                if (attempt >= source.getMaxRetries() || Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                attempt++;
+                LOGGER.info("Quelle " + source.getSourceName() + " fehlgeschlagen (" + e.getMessage()
+                    + ") - Wiederholung " + attempt + "/" + source.getMaxRetries());
+                Thread.sleep(source.getRetryDelayMillis());
+            }
+        }
+    }
+
+    /**
+     * Zeitbudget einer Quelle: alle Versuche plus Wartezeiten dazwischen
+     */
+    private static long getBudgetNanos(SentimentSource source) {
+        int retries = Math.max(0, source.getMaxRetries());
+        return TimeUnit.MILLISECONDS.toNanos(source.getTimeoutMillis() * (retries + 1)
+            + source.getRetryDelayMillis() * retries);
+    }
+
+    /**
+     * Bei doppelten Währungspaaren gewinnt der zuletzt eingefügte Datensatz (auch in der Reihenfolge)
+     */
+    private static void putLast(Map<String, CurrencyPairData> merged, CurrencyPairData row) {
+        merged.remove(row.getCurrencyPair());
+        merged.put(row.getCurrencyPair(), row);
+    }
+
+    private boolean isFresh(SentimentSource source, long now) {
+        long interval = source.getRefreshIntervalMillis();
+        CachedFetch cached = lastFetches.get(source.getSourceName());
+        return interval > 0 && cached != null && now - cached.fetchedAt < TimeUnit.MILLISECONDS.toNanos(interval);
+    }
+
+    private static long elapsedMillis(long start, long end) {
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0, (end >= 0 ? end : System.nanoTime()) - start));
+    }
+
+    private static final class CachedFetch {
+        private final long fetchedAt;
+        private final List<CurrencyPairData> rows;
+
+        private CachedFetch(long fetchedAt, List<CurrencyPairData> rows) {
+            this.fetchedAt = fetchedAt;
+            this.rows = rows;
+        }
+    }
+
+    // ===== ERGEBNIS-KLASSEN =====
+
+    /**
+     * Status einer Quelle im Abruf
+     */
+    public enum SourceStatus {
+        OK("OK"),
+        EMPTY("keine Daten"),
+        FAILED("Fehler"),
+        TIMED_OUT("Zeitüberschreitung"),
+        CACHED("aus letztem Abruf"),
+        NOT_MODIFIED("unverändert");
+
+        private final String description;
+
+        SourceStatus(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * Ergebnis einer einzelnen Quelle mit Latenz
+     */
+    public static class SourceResult {
+        private final String source;
+        private final SourceStatus status;
+        private final long latencyMillis;
+        private final int recordCount;
+        private final String errorMessage;
+        private final boolean primary;
+
+        public SourceResult(String source, SourceStatus status, long latencyMillis, int recordCount,
+                            String errorMessage, boolean primary) {
+            this.source = source;
+            this.status = status;
+            this.latencyMillis = latencyMillis;
+            this.recordCount = recordCount;
+            this.errorMessage = errorMessage;
+            this.primary = primary;
+        }
+
+        public String getSource() { return source; }
+        public SourceStatus getStatus() { return status; }
+        public long getLatencyMillis() { return latencyMillis; }
+        public int getRecordCount() { return recordCount; }
+        public String getErrorMessage() { return errorMessage; }
+        public boolean isPrimary() { return primary; }
+
+        /**
+         * true wenn Datensätze vorliegen (neu abgerufen, unverändert oder aus dem letzten Abruf)
+         */
+        public boolean isSuccess() {
+            return status == SourceStatus.OK || status == SourceStatus.CACHED || status == SourceStatus.NOT_MODIFIED;
+        }
+
+        @Override
+        public String toString() {
+            return source + ": " + latencyMillis + " ms, "
+                + (isSuccess() ? recordCount + " Datensätze" + (status != SourceStatus.OK ? " (" + status.getDescription() + ")" : "")
+                    : status.getDescription());
+        }
+    }
+
+    /**
+     * Zusammengeführte Daten aller Quellen plus Ergebnis je Quelle
+     */
+    public static class FetchResult {
+        private final List<CurrencyPairData> data;
+        private final List<CurrencyPairData> latestData;
+        private final Map<String, SourceResult> sourceResults;
+        private final long totalMillis;
+
+        public FetchResult(List<CurrencyPairData> data, List<CurrencyPairData> latestData,
+                           Map<String, SourceResult> sourceResults, long totalMillis) {
+            this.data = data;
+            this.latestData = latestData;
+            this.sourceResults = Collections.unmodifiableMap(sourceResults);
+            this.totalMillis = totalMillis;
+        }
+
+        /**
+         * Neu abgerufene Datensätze, die gespeichert und auf Signalwechsel geprüft werden (veränderliche Liste)
+         */
+        public List<CurrencyPairData> getData() { return data; }
+
+        /**
+         * Aktueller Stand aller Quellen inklusive unveränderter Datensätze, z.B. für die Anzeige (veränderliche Liste)
+         */
+        public List<CurrencyPairData> getLatestData() { return latestData; }
+        public Map<String, SourceResult> getSourceResults() { return sourceResults; }
+        public long getTotalMillis() { return totalMillis; }
+
+        public SourceResult getSourceResult(String source) {
+            return sourceResults.get(source);
+        }
+
+        /**
+         * true wenn eine Hauptquelle (FXSSI) Daten geliefert hat
+         */
+        public boolean hasPrimaryData() {
+            for (SourceResult result : sourceResults.values()) {
+                if (result.isPrimary() && result.isSuccess()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * true wenn mindestens eine Quelle neue Daten geliefert hat
+         * Sonst entfallen Speichern, Signalprüfung und MetaTrader-Sync für diesen Zyklus.
+         */
+        public boolean hasChanges() {
+            for (SourceResult result : sourceResults.values()) {
+                if (result.getStatus() == SourceStatus.OK) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Einzeilige Zusammenfassung, z.B. "FXSSI: 812 ms, 16 Datensätze | Fear & Greed: 20001 ms, Zeitüberschreitung | gesamt 20003 ms"
+         */
+        public String getSummary() {
+            StringBuilder summary = new StringBuilder();
+            for (SourceResult result : sourceResults.values()) {
+                summary.append(result).append(" | ");
+            }
+            return summary.append("gesamt ").append(totalMillis).append(" ms").toString();
+        }
+    }
+}
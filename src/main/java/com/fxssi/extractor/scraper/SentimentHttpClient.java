@@ -0,0 +1,241 @@
+package com.fxssi.extractor.scraper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Gemeinsamer HTTP-Transport aller Sentiment-Quellen auf Basis von java.net.http.HttpClient
+ * Der Client hält Verbindungen offen (Keep-Alive, Pooling), bevorzugt HTTP/2 und fällt bei Bedarf
+ * auf HTTP/1.1 zurück. Dadurch entfällt bei kurzen Abrufintervallen der TLS-Handshake je Abruf.
+ * Antworten mit gzip/deflate werden hier entpackt, da HttpClient das nicht selbst übernimmt.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class SentimentHttpClient {
+
+    private static final Logger LOGGER = Logger.getLogger(SentimentHttpClient.class.getName());
+
+    /** Standard-Timeout für den Verbindungsaufbau */
+    public static final long DEFAULT_CONNECT_TIMEOUT_MS = 10000;
+
+    /** Standard-Timeout je Request (gesamter Austausch inklusive Lesen des Bodys) */
+    public static final long DEFAULT_REQUEST_TIMEOUT_MS = 15000;
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+    private static final Pattern CHARSET_PATTERN = Pattern.compile("charset=\"?([^\";\\s]+)", Pattern.CASE_INSENSITIVE);
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static volatile SentimentHttpClient shared;
+
+    private final HttpClient client;
+    private final long connectTimeoutMillis;
+    private final long requestTimeoutMillis;
+
+    /**
+     * Konstruktor mit Standard-Timeouts
+     */
+    public SentimentHttpClient() {
+        this(DEFAULT_CONNECT_TIMEOUT_MS, DEFAULT_REQUEST_TIMEOUT_MS);
+    }
+
+    /**
+     * Konstruktor mit konfigurierbaren Timeouts
+     * @param connectTimeoutMillis Timeout für den Verbindungsaufbau
+     * @param requestTimeoutMillis Timeout je Request (gesamter Austausch inklusive Lesen des Bodys)
+     */
+    public SentimentHttpClient(long connectTimeoutMillis, long requestTimeoutMillis) {
+        this.connectTimeoutMillis = Math.max(1, connectTimeoutMillis);
+        this.requestTimeoutMillis = Math.max(1, requestTimeoutMillis);
+
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "Sentiment-Http-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofMillis(this.connectTimeoutMillis))
+                .executor(executor)
+                .build();
+
+        LOGGER.fine("SentimentHttpClient initialisiert (Connect-Timeout: " + this.connectTimeoutMillis
+                + " ms, Request-Timeout: " + this.requestTimeoutMillis + " ms)");
+    }
+
+    /**
+     * Prozessweit gemeinsamer Client mit Standard-Timeouts (wird beim ersten Zugriff erzeugt)
+     */
+    public static SentimentHttpClient getShared() {
+        SentimentHttpClient instance = shared;
+        if (instance == null) {
+            synchronized (SentimentHttpClient.class) {
+                instance = shared;
+                if (instance == null) {
+                    instance = new SentimentHttpClient();
+                    shared = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    public long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public long getRequestTimeoutMillis() {
+        return requestTimeoutMillis;
+    }
+
+    /**
+     * Führt einen GET-Request aus; HTTP-Fehlerstatus werden nicht als Exception, sondern im Response geliefert
+     * HttpRequest.timeout greift nur bis zum Eintreffen der Header, ein stockender Body würde danach
+     * unbegrenzt warten. Der gesamte Austausch wird daher über das Future begrenzt und bei Ablauf abgebrochen.
+     * @param url Ziel-URL
+     * @param accept Wert für den Accept-Header
+     * @param headers zusätzliche Header (z.B. Accept-Language, If-None-Match)
+     * @throws IOException bei Netzwerkfehlern, Timeout oder Unterbrechung
+     */
+    public Response get(String url, String accept, Map<String, String> headers) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(requestTimeoutMillis))
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", accept)
+                .header("Accept-Encoding", "gzip, deflate")
+                .GET();
+        headers.forEach(builder::header);
+
+        CompletableFuture<HttpResponse<byte[]>> exchange =
+                client.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        try {
+            HttpResponse<byte[]> response = exchange.get(requestTimeoutMillis, TimeUnit.MILLISECONDS);
+            byte[] body = decodeBody(response);
+            LOGGER.fine("HTTP " + response.statusCode() + " (" + response.version() + ") von " + url
+                    + ": " + body.length + " Bytes");
+            return new Response(response, body);
+
+        } catch (TimeoutException e) {
+            exchange.cancel(true);
+            throw new HttpTimeoutException("HTTP-Request nach " + requestTimeoutMillis + " ms abgebrochen: " + url);
+        } catch (InterruptedException e) {
+            exchange.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("HTTP-Request unterbrochen: " + url);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("HTTP-Request fehlgeschlagen: " + url + " (" + cause.getMessage() + ")", cause);
+        }
+    }
+
+    /**
+     * GET-Request ohne zusätzliche Header
+     */
+    public Response get(String url, String accept) throws IOException {
+        return get(url, accept, Collections.emptyMap());
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    private static byte[] decodeBody(HttpResponse<byte[]> response) throws IOException {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("").trim().toLowerCase(Locale.ROOT);
+        if (!"gzip".equals(encoding) && !"deflate".equals(encoding)) {
+            return response.body();
+        }
+        try (InputStream raw = new ByteArrayInputStream(response.body());
+             InputStream in = "gzip".equals(encoding) ? new GZIPInputStream(raw) : new InflaterInputStream(raw)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Vollständig gelesene und entpackte HTTP-Antwort
+     */
+    public static final class Response {
+        private final int statusCode;
+        private final String uri;
+        private final byte[] body;
+        private final String etag;
+        private final String lastModified;
+        private final String charset;
+
+        private Response(HttpResponse<?> response, byte[] body) {
+            this.statusCode = response.statusCode();
+            this.uri = response.uri().toString();
+            this.body = body;
+            this.etag = response.headers().firstValue("ETag").orElse(null);
+            this.lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+            this.charset = parseCharset(response.headers().firstValue("Content-Type").orElse(""));
+        }
+
+        public int getStatusCode() { return statusCode; }
+
+        /**
+         * Endgültige URL nach Weiterleitungen
+         */
+        public String getUri() { return uri; }
+
+        public byte[] getBody() { return body; }
+
+        /**
+         * Body als Text im angegebenen Zeichensatz (UTF-8, falls keiner oder ein unbekannter angegeben ist)
+         */
+        public String getBodyAsString() {
+            return new String(body, charset != null ? Charset.forName(charset) : StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Zeichensatz aus dem Content-Type-Header (null, falls nicht angegeben oder nicht unterstützt)
+         */
+        public String getCharset() { return charset; }
+
+        public String getEtag() { return etag; }
+
+        public String getLastModified() { return lastModified; }
+
+        private static String parseCharset(String contentType) {
+            Matcher matcher = CHARSET_PATTERN.matcher(contentType);
+            if (!matcher.find()) {
+                return null;
+            }
+            try {
+                return Charset.isSupported(matcher.group(1)) ? matcher.group(1) : null;
+            } catch (IllegalArgumentException e) {
+                LOGGER.fine("Ungültiger Zeichensatz im Content-Type: " + contentType);
+                return null;
+            }
+        }
+    }
+}
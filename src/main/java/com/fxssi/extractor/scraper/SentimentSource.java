@@ -0,0 +1,81 @@
+package com.fxssi.extractor.scraper;
+
+import com.fxssi.extractor.model.CurrencyPairData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Schnittstelle für eine Sentiment-Datenquelle (FXSSI, CNN Fear & Greed, weitere Broker-Feeds)
+ * Jede Quelle legt eigenen Timeout, Wiederholungen und Abruf-Intervall fest. Alle registrierten
+ * Quellen werden von der SentimentFetchStage gleichzeitig abgerufen, eine neue Quelle braucht
+ * daher nur eine Klasse und einen Eintrag in der SentimentSourceRegistry.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public interface SentimentSource {
+
+    /**
+     * Rückgabe von fetchSentimentData, wenn sich seit dem letzten ausgewerteten Abruf nichts geändert hat
+     * (Vergleich per Identität). Der Zyklus überspringt dann Speichern, Signalprüfung und MetaTrader-Sync.
+     */
+    List<CurrencyPairData> NOT_MODIFIED = Collections.unmodifiableList(new ArrayList<>());
+
+    /**
+     * Eindeutiger Name der Quelle (für Logging und Abruf-Statistik)
+     */
+    String getSourceName();
+
+    /**
+     * Ruft die aktuellen Daten ab
+     * @return Datensätze dieses Abrufs (leer, falls keine Daten), NOT_MODIFIED falls unverändert
+     * @throws Exception bei Netzwerk- oder Parsing-Fehlern (führt zur Wiederholung)
+     */
+    List<CurrencyPairData> fetchSentimentData() throws Exception;
+
+    /**
+     * Maximale Dauer eines Abrufversuchs in Millisekunden
+     */
+    default long getTimeoutMillis() {
+        return 15000;
+    }
+
+    /**
+     * Anzahl Wiederholungen nach einem fehlgeschlagenen Versuch
+     */
+    default int getMaxRetries() {
+        return 0;
+    }
+
+    /**
+     * Wartezeit vor einer Wiederholung in Millisekunden
+     */
+    default long getRetryDelayMillis() {
+        return 1000;
+    }
+
+    /**
+     * Mindestabstand zwischen zwei Abrufen in Millisekunden (0 = bei jedem Zyklus)
+     * Innerhalb des Intervalls werden die zuletzt abgerufenen Datensätze nur angezeigt, nicht erneut gespeichert.
+     */
+    default long getRefreshIntervalMillis() {
+        return 0;
+    }
+
+    /**
+     * Verwirft gemerkte Validatoren und Hashes, der nächste Abruf liefert wieder vollständige Daten
+     * (z.B. nachdem das Ergebnis eines Abrufs wegen Zeitüberschreitung verworfen wurde)
+     * Ein noch laufender Abruf darf danach keine Validatoren mehr übernehmen (siehe ConditionalFetchState).
+     */
+    default void resetChangeDetection() {
+    }
+
+    /**
+     * Hauptquelle: ohne ihre Daten greift die GUI auf gespeicherte Daten zurück
+     */
+    default boolean isPrimary() {
+        return false;
+    }
+}
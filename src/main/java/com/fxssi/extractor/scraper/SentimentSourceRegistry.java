@@ -0,0 +1,92 @@
+package com.fxssi.extractor.scraper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Register aller Sentiment-Quellen
+ * Die eingebauten Quellen (FXSSI, CNN Fear & Greed) werden in withDefaults registriert,
+ * weitere Quellen können über register oder per ServiceLoader
+ * (META-INF/services/com.fxssi.extractor.scraper.SentimentSource) eingebunden werden.
+ * Bei doppelten Währungspaaren gewinnt die später registrierte Quelle.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class SentimentSourceRegistry {
+
+    private static final Logger LOGGER = Logger.getLogger(SentimentSourceRegistry.class.getName());
+
+    private final List<SentimentSource> sources = new ArrayList<>();
+
+    /**
+     * Register mit den eingebauten Quellen und allen per ServiceLoader gefundenen Quellen
+     */
+    public static SentimentSourceRegistry withDefaults(FXSSIScraper scraper, FearGreedScraper fearGreedScraper) {
+        SentimentSourceRegistry registry = new SentimentSourceRegistry();
+        registry.register(scraper);
+        if (fearGreedScraper != null) {
+            registry.register(fearGreedScraper);
+        }
+        registry.registerServiceProviders();
+        return registry;
+    }
+
+    /**
+     * Registriert eine Quelle (Name muss eindeutig sein)
+     */
+    public synchronized SentimentSourceRegistry register(SentimentSource source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Quelle darf nicht null sein");
+        }
+        if (getSource(source.getSourceName()) != null) {
+            throw new IllegalArgumentException("Quelle bereits registriert: " + source.getSourceName());
+        }
+        sources.add(source);
+        LOGGER.info("Sentiment-Quelle registriert: " + source.getSourceName()
+            + " (Timeout " + source.getTimeoutMillis() + " ms, Wiederholungen " + source.getMaxRetries()
+            + ", Intervall " + (source.getRefreshIntervalMillis() > 0 ? source.getRefreshIntervalMillis() + " ms" : "jeder Zyklus") + ")");
+        return this;
+    }
+
+    /**
+     * Alle Quellen in Registrierungsreihenfolge
+     */
+    public synchronized List<SentimentSource> getSources() {
+        return Collections.unmodifiableList(new ArrayList<>(sources));
+    }
+
+    public synchronized SentimentSource getSource(String sourceName) {
+        for (SentimentSource source : sources) {
+            if (source.getSourceName().equals(sourceName)) {
+                return source;
+            }
+        }
+        return null;
+    }
+
+    public synchronized int size() {
+        return sources.size();
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    private void registerServiceProviders() {
+        try {
+            for (SentimentSource source : ServiceLoader.load(SentimentSource.class)) {
+                try {
+                    register(source);
+                } catch (IllegalArgumentException e) {
+                    LOGGER.warning("Sentiment-Quelle übersprungen: " + e.getMessage());
+                }
+            }
+        } catch (ServiceConfigurationError e) {
+            LOGGER.log(Level.WARNING, "Sentiment-Quellen per ServiceLoader konnten nicht geladen werden: " + e.getMessage(), e);
+        }
+    }
+}
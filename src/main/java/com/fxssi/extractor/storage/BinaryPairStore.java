@@ -0,0 +1,281 @@
+package com.fxssi.extractor.storage;
+
+import com.fxssi.extractor.model.CurrencyPairData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Binärer Zeitreihen-Speicher pro Währungspaar
+ * Jeder Datensatz hat eine feste Breite von 13 Bytes:
+ *   epochSekunden (long) | Buy in Hundertstel (short) | Sell in Hundertstel (short) | Signal (byte)
+ * Der Dateikopf merkt sich, bis zu welchem Byte-Offset die CSV-Datei bereits übernommen wurde.
+ * Neue CSV-Zeilen werden inkrementell nachgezogen, bei verkürzter CSV-Datei erfolgt ein Vollimport.
+ *
+ * Aufrufer müssen das Datei-Lock des Währungspaars halten.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class BinaryPairStore {
+
+    private static final Logger LOGGER = Logger.getLogger(BinaryPairStore.class.getName());
+    private static final String BINARY_SUBDIRECTORY = "binary";
+    private static final String FILE_EXTENSION = ".bin";
+
+    private static final int MAGIC = 0x46585042; // "FXPB"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;   // magic(int) + version(int) + csvOffset(long)
+    private static final int CSV_OFFSET_POSITION = 8;
+
+    /** Größe eines Datensatzes in Bytes */
+    public static final int RECORD_SIZE = 13;
+
+    private static final CurrencyPairData.TradingSignal[] SIGNALS = CurrencyPairData.TradingSignal.values();
+
+    private final Path binaryPath;
+    private final BiFunction<String, String, CurrencyPairData> rowParser;
+
+    /**
+     * Konstruktor
+     * @param currencyDataPath Verzeichnis der Währungspaar-CSV-Dateien
+     * @param rowParser Parser für eine CSV-Datenzeile (Zeile, Währungspaar)
+     */
+    public BinaryPairStore(Path currencyDataPath, BiFunction<String, String, CurrencyPairData> rowParser) {
+        this.binaryPath = currencyDataPath.resolve(BINARY_SUBDIRECTORY);
+        this.rowParser = rowParser;
+    }
+
+    /**
+     * Gibt den Pfad der Binärdatei eines Währungspaars zurück
+     */
+    public Path getBinaryFile(String pairKey) {
+        return binaryPath.resolve(pairKey + FILE_EXTENSION);
+    }
+
+    /**
+     * Zieht neue Zeilen der CSV-Datei in die Binärdatei nach
+     * @param pairKey Normalisierter Name des Währungspaars
+     * @param csvFile Zugehörige CSV-Datei
+     * @return Anzahl neu übernommener Datensätze
+     */
+    public int catchUp(String pairKey, Path csvFile) throws IOException {
+        Path binaryFile = getBinaryFile(pairKey);
+
+        if (!Files.exists(csvFile)) {
+            Files.deleteIfExists(binaryFile);
+            return 0;
+        }
+
+        long csvSize = Files.size(csvFile);
+        long csvOffset = readCsvOffset(binaryFile);
+
+        if (csvOffset < 0 || csvOffset > csvSize) {
+            // Keine oder veraltete Binärdatei -> vollständiger Import
+            return importFromCsv(pairKey, csvFile);
+        }
+        if (csvOffset == csvSize) {
+            return 0;
+        }
+
+        // Nur den neuen Teil der CSV-Datei lesen (nur vollständige Zeilen)
+        byte[] delta = new byte[(int) (csvSize - csvOffset)];
+        try (FileChannel csvChannel = FileChannel.open(csvFile, StandardOpenOption.READ)) {
+            ByteBuffer target = ByteBuffer.wrap(delta);
+            while (target.hasRemaining()) {
+                if (csvChannel.read(target, csvOffset + target.position()) < 0) {
+                    break;
+                }
+            }
+        }
+        int lastNewline = lastIndexOf(delta, (byte) '\n');
+        if (lastNewline < 0) {
+            return 0;
+        }
+
+        List<CurrencyPairData> newRows = parseLines(new String(delta, 0, lastNewline + 1, StandardCharsets.UTF_8), pairKey);
+
+        try (FileChannel channel = FileChannel.open(binaryFile, StandardOpenOption.WRITE)) {
+            ByteBuffer records = encode(newRows);
+            long position = channel.size();
+            while (records.hasRemaining()) {
+                position += channel.write(records, position);
+            }
+            writeCsvOffset(channel, csvOffset + lastNewline + 1);
+        }
+
+        return newRows.size();
+    }
+
+    /**
+     * Importiert die komplette CSV-Datei neu in die Binärdatei
+     * @return Anzahl importierter Datensätze
+     */
+    public int importFromCsv(String pairKey, Path csvFile) throws IOException {
+        Files.createDirectories(binaryPath);
+
+        byte[] content = Files.readAllBytes(csvFile);
+        int lastNewline = lastIndexOf(content, (byte) '\n');
+        int usableLength = lastNewline + 1;
+
+        List<CurrencyPairData> rows = parseLines(new String(content, 0, usableLength, StandardCharsets.UTF_8), pairKey);
+
+        Path binaryFile = getBinaryFile(pairKey);
+        Path tempFile = binaryPath.resolve(pairKey + FILE_EXTENSION + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tempFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(usableLength).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            ByteBuffer records = encode(rows);
+            while (records.hasRemaining()) {
+                channel.write(records);
+            }
+        }
+        Files.move(tempFile, binaryFile, StandardCopyOption.REPLACE_EXISTING);
+
+        LOGGER.info("Binärdatei für " + pairKey + " aus CSV importiert: " + rows.size() + " Datensätze");
+        return rows.size();
+    }
+
+    /**
+     * Liest alle Datensätze in einem Durchgang in einen Heap-Puffer
+     * Kein Memory-Mapping: unter Windows ließe sich die Datei sonst bis zum GC weder ersetzen noch löschen.
+     * @param pairKey Normalisierter Name des Währungspaars
+     * @param currencyPair Name, der in den Datensätzen gesetzt wird
+     * @return Liste der Datensätze in Dateireihenfolge
+     */
+    public List<CurrencyPairData> readAll(String pairKey, String currencyPair) throws IOException {
+        Path binaryFile = getBinaryFile(pairKey);
+        if (!Files.exists(binaryFile)) {
+            return new ArrayList<>();
+        }
+
+        try (FileChannel channel = FileChannel.open(binaryFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int recordCount = (int) ((size - HEADER_SIZE) / RECORD_SIZE);
+            List<CurrencyPairData> data = new ArrayList<>(Math.max(0, recordCount));
+            if (recordCount <= 0) {
+                return data;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(recordCount * RECORD_SIZE);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, HEADER_SIZE + buffer.position()) < 0) {
+                    throw new IOException("Binärdatei unvollständig: " + binaryFile);
+                }
+            }
+            buffer.flip();
+            for (int i = 0; i < recordCount; i++) {
+                long epochSecond = buffer.getLong();
+                double buy = buffer.getShort() / 100.0;
+                double sell = buffer.getShort() / 100.0;
+                int signalIndex = buffer.get();
+                CurrencyPairData.TradingSignal signal = signalIndex >= 0 && signalIndex < SIGNALS.length
+                    ? SIGNALS[signalIndex] : CurrencyPairData.TradingSignal.UNKNOWN;
+
+                data.add(new CurrencyPairData(currencyPair, buy, sell, signal,
+                    LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC)));
+            }
+            return data;
+        }
+    }
+
+    /**
+     * Löscht die Binärdatei (wird beim nächsten Zugriff neu importiert)
+     */
+    public void invalidate(String pairKey) {
+        try {
+            Files.deleteIfExists(getBinaryFile(pairKey));
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Binärdatei für " + pairKey + " konnte nicht gelöscht werden: " + e.getMessage(), e);
+        }
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    private List<CurrencyPairData> parseLines(String content, String pairKey) {
+        List<CurrencyPairData> rows = new ArrayList<>();
+        for (String line : content.split("\r?\n")) {
+            if (line.trim().isEmpty() || line.contains("Zeitstempel")) {
+                continue;
+            }
+            try {
+                rows.add(rowParser.apply(line, pairKey));
+            } catch (Exception e) {
+                LOGGER.fine("Ungültige CSV-Zeile beim Binär-Import übersprungen: " + line);
+            }
+        }
+        return rows;
+    }
+
+    private ByteBuffer encode(List<CurrencyPairData> rows) {
+        ByteBuffer buffer = ByteBuffer.allocate(rows.size() * RECORD_SIZE);
+        for (CurrencyPairData row : rows) {
+            buffer.putLong(row.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+            buffer.putShort((short) Math.round(row.getBuyPercentage() * 100));
+            buffer.putShort((short) Math.round(row.getSellPercentage() * 100));
+            buffer.put((byte) row.getTradingSignal().ordinal());
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Liest den übernommenen CSV-Offset aus dem Dateikopf (-1 falls Datei fehlt oder ungültig)
+     */
+    private long readCsvOffset(Path binaryFile) throws IOException {
+        if (!Files.exists(binaryFile)) {
+            return -1;
+        }
+        try (FileChannel channel = FileChannel.open(binaryFile, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || (channel.size() - HEADER_SIZE) % RECORD_SIZE != 0) {
+                return -1;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    return -1;
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                return -1;
+            }
+            return header.getLong();
+        }
+    }
+
+    private void writeCsvOffset(FileChannel channel, long csvOffset) throws IOException {
+        ByteBuffer offset = ByteBuffer.allocate(Long.BYTES);
+        offset.putLong(csvOffset).flip();
+        while (offset.hasRemaining()) {
+            channel.write(offset, CSV_OFFSET_POSITION + offset.position());
+        }
+    }
+
+    private static int lastIndexOf(byte[] data, byte value) {
+        for (int i = data.length - 1; i >= 0; i--) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,304 @@
+package com.fxssi.extractor.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Append-Engine für die Währungspaar-Dateien
+ * Hält pro Währungspaar einen Tail-Ring (letzte N formatierte Zeilen + Header-Status + bekannte Dateigröße),
+ * sodass Duplikat- und Header-Prüfung ohne Lesen der gesamten Datei auskommen.
+ * Der Ring wird einmalig über ein Rückwärts-Lesen des Dateiendes befüllt.
+ *
+ * Aufrufer müssen das Datei-Lock des Währungspaars halten.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class CurrencyPairAppendEngine {
+
+    private static final Logger LOGGER = Logger.getLogger(CurrencyPairAppendEngine.class.getName());
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /** Anzahl der letzten Zeilen für die Duplikat-Prüfung */
+    public static final int DEFAULT_TAIL_SIZE = 5;
+
+    private final int tailSize;
+    private final ConcurrentHashMap<String, TailState> tailStates = new ConcurrentHashMap<>();
+
+    /**
+     * Konstruktor mit Standard-Ringgröße
+     */
+    public CurrencyPairAppendEngine() {
+        this(DEFAULT_TAIL_SIZE);
+    }
+
+    /**
+     * Konstruktor mit konfigurierbarer Ringgröße
+     * @param tailSize Anzahl der letzten Zeilen im Ring
+     */
+    public CurrencyPairAppendEngine(int tailSize) {
+        this.tailSize = Math.max(1, tailSize);
+    }
+
+    /**
+     * Befüllt den Tail-Ring aller vorhandenen Dateien eines Verzeichnisses
+     * @param directory Verzeichnis mit Währungspaar-Dateien
+     * @param fileExtension Dateiendung (z.B. ".csv")
+     * @return Anzahl initialisierter Währungspaare
+     */
+    public int seedAll(Path directory, String fileExtension) {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        int seeded = 0;
+        try (var stream = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) stream::iterator) {
+                String filename = path.getFileName().toString();
+                if (!filename.endsWith(fileExtension)) {
+                    continue;
+                }
+                String pairKey = filename.substring(0, filename.length() - fileExtension.length());
+                try {
+                    tailStates.put(pairKey, seed(path));
+                    seeded++;
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Tail-Ring für " + pairKey + " konnte nicht initialisiert werden: " + e.getMessage(), e);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Initialisieren der Tail-Ringe: " + e.getMessage(), e);
+        }
+
+        LOGGER.fine("Tail-Ringe initialisiert für " + seeded + " Währungspaare");
+        return seeded;
+    }
+
+    /**
+     * Hängt eine formatierte Zeile an die Datei an, sofern sie kein Duplikat der letzten Zeilen ist
+     * @param pairKey Normalisierter Name des Währungspaars
+     * @param filePath Pfad zur Währungspaar-Datei
+     * @param header CSV-Header (wird nur bei leerer/neuer Datei geschrieben)
+     * @param csvLine Formatierte Datenzeile
+     * @return true wenn geschrieben, false wenn als Duplikat übersprungen
+     */
+    public boolean append(String pairKey, Path filePath, String header, String csvLine) throws IOException {
+        return appendBatch(pairKey, filePath, header, List.of(csvLine), FsyncPolicy.NONE).getRowsWritten() > 0;
+    }
+
+    /**
+     * Hängt mehrere formatierte Zeilen in einem einzigen Schreibvorgang an die Datei an
+     * Duplikate (gegenüber dem Tail-Ring und innerhalb des Batches) werden übersprungen
+     * @param pairKey Normalisierter Name des Währungspaars
+     * @param filePath Pfad zur Währungspaar-Datei
+     * @param header CSV-Header (wird nur bei leerer/neuer Datei geschrieben)
+     * @param csvLines Formatierte Datenzeilen in chronologischer Reihenfolge
+     * @param fsyncPolicy Wann die Daten auf den Datenträger erzwungen werden
+     * @return Ergebnis mit geschriebenen Zeilen und Bytes
+     */
+    public AppendResult appendBatch(String pairKey, Path filePath, String header, List<String> csvLines,
+                                    FsyncPolicy fsyncPolicy) throws IOException {
+        TailState state = getState(pairKey, filePath);
+
+        try (FileChannel channel = FileChannel.open(filePath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+
+            // Datei wurde extern verändert -> Ring neu aufbauen
+            if (channel.size() != state.knownSize) {
+                LOGGER.fine("Dateigröße von " + pairKey + " extern geändert - Tail-Ring wird neu aufgebaut");
+                state = seed(filePath);
+                tailStates.put(pairKey, state);
+            }
+
+            int rowsWritten = 0;
+            int duplicates = 0;
+            long bytesWritten = 0;
+
+            StringBuilder output = new StringBuilder();
+            for (String csvLine : csvLines) {
+                if (state.containsRow(csvLine)) {
+                    duplicates++;
+                    continue;
+                }
+
+                if (!state.hasContent) {
+                    output.append(header).append(LINE_SEPARATOR);
+                    state.hasContent = true;
+                } else if (!state.endsWithNewline) {
+                    output.append(LINE_SEPARATOR);
+                }
+                output.append(csvLine).append(LINE_SEPARATOR);
+                state.endsWithNewline = true;
+                state.addRow(csvLine);
+                rowsWritten++;
+
+                if (fsyncPolicy == FsyncPolicy.EACH) {
+                    bytesWritten += writeFully(channel, output);
+                    channel.force(false);
+                    output.setLength(0);
+                }
+            }
+
+            if (output.length() > 0) {
+                bytesWritten += writeFully(channel, output);
+            }
+            if (fsyncPolicy == FsyncPolicy.BATCH && rowsWritten > 0) {
+                channel.force(false);
+            }
+
+            state.knownSize = channel.size();
+            return new AppendResult(rowsWritten, duplicates, bytesWritten);
+
+        } catch (IOException e) {
+            // Zustand ist unsicher -> beim nächsten Zugriff neu einlesen
+            tailStates.remove(pairKey);
+            throw e;
+        }
+    }
+
+    /**
+     * Verwirft den Tail-Ring eines Währungspaars (z.B. nach Neuschreiben der Datei)
+     * @param pairKey Normalisierter Name des Währungspaars
+     */
+    public void invalidate(String pairKey) {
+        tailStates.remove(pairKey);
+    }
+
+    /**
+     * Verwirft alle Tail-Ringe
+     */
+    public void invalidateAll() {
+        tailStates.clear();
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    private long writeFully(FileChannel channel, CharSequence output) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(output.toString().getBytes(StandardCharsets.UTF_8));
+        long length = bytes.remaining();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        return length;
+    }
+
+    private TailState getState(String pairKey, Path filePath) throws IOException {
+        TailState state = tailStates.get(pairKey);
+        if (state == null) {
+            state = seed(filePath);
+            tailStates.put(pairKey, state);
+        }
+        return state;
+    }
+
+    /**
+     * Liest das Dateiende rückwärts und baut den Tail-Ring auf
+     */
+    private TailState seed(Path filePath) throws IOException {
+        TailState state = new TailState(tailSize);
+
+        if (!Files.exists(filePath)) {
+            return state;
+        }
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            state.knownSize = size;
+            if (size == 0) {
+                return state;
+            }
+
+            state.hasContent = true;
+            ByteBuffer lastByte = ByteBuffer.allocate(1);
+            channel.read(lastByte, size - 1);
+            state.endsWithNewline = lastByte.get(0) == '\n';
+
+            ReverseLineReader reader = new ReverseLineReader(channel, 4096);
+            String[] collected = new String[tailSize];
+            int count = 0;
+            String line;
+            while (count < tailSize && (line = reader.readPreviousLine()) != null) {
+                if (line.trim().isEmpty() || line.contains("Zeitstempel")) {
+                    continue;
+                }
+                collected[count++] = line;
+            }
+            // Ring in chronologischer Reihenfolge befüllen
+            for (int i = count - 1; i >= 0; i--) {
+                state.addRow(collected[i]);
+            }
+        }
+
+        return state;
+    }
+
+    // ===== INNERE KLASSEN =====
+
+    /**
+     * Zeitpunkt, zu dem geschriebene Daten auf den Datenträger erzwungen werden (fsync)
+     */
+    public enum FsyncPolicy {
+        /** Kein fsync - Betriebssystem entscheidet (bisheriges Verhalten) */
+        NONE,
+        /** Ein fsync pro Datei und Batch */
+        BATCH,
+        /** Ein fsync nach jeder Zeile */
+        EACH
+    }
+
+    /**
+     * Ergebnis eines Append-Vorgangs für ein Währungspaar
+     */
+    public static class AppendResult {
+        private final int rowsWritten;
+        private final int duplicatesSkipped;
+        private final long bytesWritten;
+
+        public AppendResult(int rowsWritten, int duplicatesSkipped, long bytesWritten) {
+            this.rowsWritten = rowsWritten;
+            this.duplicatesSkipped = duplicatesSkipped;
+            this.bytesWritten = bytesWritten;
+        }
+
+        public int getRowsWritten() { return rowsWritten; }
+        public int getDuplicatesSkipped() { return duplicatesSkipped; }
+        public long getBytesWritten() { return bytesWritten; }
+    }
+
+    /**
+     * Zustand des Dateiendes eines Währungspaars
+     */
+    private static class TailState {
+        private final ArrayDeque<String> recentRows;
+        private final int capacity;
+        private boolean hasContent;
+        private boolean endsWithNewline = true;
+        private long knownSize;
+
+        TailState(int capacity) {
+            this.capacity = capacity;
+            this.recentRows = new ArrayDeque<>(capacity);
+        }
+
+        boolean containsRow(String row) {
+            return recentRows.contains(row);
+        }
+
+        void addRow(String row) {
+            if (recentRows.size() == capacity) {
+                recentRows.removeFirst();
+            }
+            recentRows.addLast(row);
+        }
+    }
+}
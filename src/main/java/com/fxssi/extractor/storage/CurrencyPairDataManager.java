@@ -1,45 +1,106 @@
 package com.fxssi.extractor.storage;
 
+import com.fxssi.extractor.config.ExportConfig;
+import com.fxssi.extractor.config.StorageConfig;
+import com.fxssi.extractor.model.CurrencyPairCsvCodec;
 import com.fxssi.extractor.model.CurrencyPairData;
+import com.fxssi.extractor.model.CurrencySymbol;
+import com.fxssi.extractor.model.CurrencySymbolMap;
+import com.fxssi.extractor.model.CurrencySymbolRegistry;
+import com.fxssi.extractor.model.PairHistory;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
 import java.util.logging.Logger;
 import java.util.logging.Level;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * Manager für die Verwaltung von Währungspaar-spezifischen Datendateien
  * Erstellt für jedes Währungspaar eine eigene CSV-Datei zur kontinuierlichen Datenspeicherung
+ * Einzige Implementierung von PairTimeSeriesStore für GUI- und Console-Modus.
  * 
  * @author Generated for FXSSI Data Extraction
  * @version 1.0
  */
-public class CurrencyPairDataManager {
+public class CurrencyPairDataManager implements PairTimeSeriesStore {
     
     private static final Logger LOGGER = Logger.getLogger(CurrencyPairDataManager.class.getName());
     private static final String FILE_EXTENSION = ".csv";
     private static final String CURRENCY_DATA_SUBDIRECTORY = "currency_pairs";
-    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     
     private final String dataDirectory;
     private final Path currencyDataPath;
-    private final ConcurrentHashMap<String, ReentrantLock> fileLocks;
-    private final ReentrantLock managerLock = new ReentrantLock();
+    
+    // Prozessweit geteilte Sperren pro Verzeichnis (Schlüssel: absoluter Pfad) und Währungspaar (Symbol-ID),
+    // damit mehrere Manager-Instanzen auf dasselbe Verzeichnis sich gegenseitig ausschließen
+    private static final ConcurrentHashMap<Path, CurrencySymbolMap<PairLock>> FILE_LOCKS = new ConcurrentHashMap<>();
+    private final Path lockRoot;
+    private final CurrencySymbolMap<PairLock> pairLocks;
+    private final CurrencyPairAppendEngine appendEngine = new CurrencyPairAppendEngine();
+    
+    // Batch-Schreibmodus für appendDataForAllPairs
+    private static final int DEFAULT_BATCH_WRITE_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private volatile boolean batchWriteEnabled = true;
+    
+    // Parallele Wartung (Komprimierung/Export) über alle Währungspaare
+    private static final int DEFAULT_MAINTENANCE_THREADS = DEFAULT_BATCH_WRITE_THREADS;
+    private volatile int maintenanceParallelism = DEFAULT_MAINTENANCE_THREADS;
+    private volatile CurrencyPairAppendEngine.FsyncPolicy fsyncPolicy = CurrencyPairAppendEngine.FsyncPolicy.NONE;
+    private volatile BatchWriteResult lastBatchWriteResult;
+    private ExecutorService batchWriteExecutor;
+    
+    // Speicher-Backend für Lesezugriffe (CSV bleibt immer Import-/Exportformat)
+    private final BinaryPairStore binaryStore;
+    private volatile StorageBackend storageBackend = StorageBackend.CSV;
+    
+    // Sparse Zeit-Index (Sidecar pro Währungspaar) für Seek-Zugriffe nach Zeit
+    private final PairTimeIndex timeIndex;
+    
+    // Streaming-Komprimierung auf Stundenwerte (Fallback auf In-Memory bei unsortierten Dateien)
+    private final StreamingHourlyCompactor hourlyCompactor;
+    
+    // Komprimierte Monatsarchive für alte Zeilen (currency_pairs/archive)
+    private final PairArchiveStore archiveStore;
+    
+    // Laufende Statistiken pro Währungspaar (Sidecar currency_pairs/stats)
+    private final PairStatisticsTracker statisticsTracker;
+    
+    // Dateien mit veralteter Namensform (z.B. EURUSD.csv statt EUR_USD.csv) werden einmal je Instanz übernommen
+    private static final Pattern LEGACY_PAIR_FILE_NAME = Pattern.compile("[A-Z0-9]{6}");
+    private final AtomicBoolean legacyFilesMigrated = new AtomicBoolean(false);
     
     /**
      * Konstruktor mit Standard-Datenverzeichnis
@@ -55,16 +116,55 @@ public class CurrencyPairDataManager {
     public CurrencyPairDataManager(String dataDirectory) {
         this.dataDirectory = dataDirectory;
         this.currencyDataPath = Paths.get(dataDirectory, CURRENCY_DATA_SUBDIRECTORY);
-        this.fileLocks = new ConcurrentHashMap<>();
+        this.lockRoot = currencyDataPath.toAbsolutePath().normalize();
+        this.pairLocks = FILE_LOCKS.computeIfAbsent(lockRoot, k -> new CurrencySymbolMap<>());
+        this.binaryStore = new BinaryPairStore(currencyDataPath, this::parseCurrencyDataFromCsv);
+        this.timeIndex = new PairTimeIndex(currencyDataPath);
+        this.hourlyCompactor = new StreamingHourlyCompactor(this::parseCurrencyDataFromCsv, this::formatCurrencyDataToCsv);
+        this.archiveStore = new PairArchiveStore(currencyDataPath, this::parseCurrencyDataFromCsv);
+        this.statisticsTracker = new PairStatisticsTracker(currencyDataPath, this::parseCurrencyDataFromCsv);
+        
+        applyStorageConfig(new StorageConfig(dataDirectory));
+        
+        // Tail-Ringe einmalig aus den Dateienden aufbauen
+        appendEngine.seedAll(currencyDataPath, FILE_EXTENSION);
+        
+        // Veraltete Dateinamen vor dem ersten Schreibzugriff übernehmen (außerhalb aller Paar-Sperren)
+        migrateLegacyFileNames();
         
         LOGGER.info("CurrencyPairDataManager initialisiert für Verzeichnis: " + dataDirectory);
         LOGGER.info("Währungspaar-Dateien werden gespeichert in: " + currencyDataPath.toAbsolutePath());
     }
     
+    /**
+     * Übernimmt Backend, Batch-Modus und fsync-Strategie aus der Speicher-Konfiguration
+     * @param storageConfig Konfiguration aus data/config/storage_config.properties
+     */
+    public void applyStorageConfig(StorageConfig storageConfig) {
+        try {
+            this.storageBackend = StorageBackend.valueOf(storageConfig.getBackend());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Unbekanntes Speicher-Backend '" + storageConfig.getBackend() + "' - verwende CSV");
+            this.storageBackend = StorageBackend.CSV;
+        }
+        try {
+            this.fsyncPolicy = CurrencyPairAppendEngine.FsyncPolicy.valueOf(storageConfig.getFsyncPolicy());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Unbekannte fsync-Strategie '" + storageConfig.getFsyncPolicy() + "' - verwende NONE");
+            this.fsyncPolicy = CurrencyPairAppendEngine.FsyncPolicy.NONE;
+        }
+        this.batchWriteEnabled = storageConfig.isBatchWriteEnabled();
+        setMaintenanceParallelism(storageConfig.getInt(StorageConfig.KEY_MAINTENANCE_PARALLELISM, DEFAULT_MAINTENANCE_THREADS));
+        
+        LOGGER.info("Speicher-Konfiguration: Backend=" + storageBackend + ", Batch=" + batchWriteEnabled + ", fsync=" + fsyncPolicy
+            + ", Wartungs-Threads=" + maintenanceParallelism);
+    }
+    
     /**
      * Gibt das Verzeichnis der Währungspaar-Dateien zurück
      * @return Der Pfad zum Währungspaar-Datenverzeichnis
      */
+    @Override
     public Path getCurrencyDataPath() {
         return currencyDataPath;
     }
@@ -72,6 +172,7 @@ public class CurrencyPairDataManager {
     /**
      * Erstellt das Verzeichnis für Währungspaar-Dateien falls es nicht existiert
      */
+    @Override
     public void createCurrencyDataDirectory() {
         try {
             if (!Files.exists(currencyDataPath)) {
@@ -86,16 +187,99 @@ public class CurrencyPairDataManager {
         }
     }
     
+    /**
+     * Übernimmt Dateien, deren Name nicht der normalisierten Form entspricht (z.B. EURUSD.csv aus
+     * älteren Versionen), in die Datei des Währungspaars: ist diese noch nicht vorhanden, wird
+     * umbenannt, sonst werden beide Dateien chronologisch zusammengeführt. Monatsarchive werden mitgenommen.
+     * Läuft einmal je Instanz aus dem Konstruktor; jede Datei sperrt nur ihr eigenes Währungspaar.
+     */
+    private void migrateLegacyFileNames() {
+        if (!legacyFilesMigrated.compareAndSet(false, true) || !Files.isDirectory(currencyDataPath)) {
+            return;
+        }
+        List<String> legacyNames = new ArrayList<>();
+        try (Stream<Path> files = Files.list(currencyDataPath)) {
+            files.map(path -> path.getFileName().toString())
+                .filter(name -> name.endsWith(FILE_EXTENSION))
+                .map(name -> name.substring(0, name.length() - FILE_EXTENSION.length()))
+                .filter(name -> LEGACY_PAIR_FILE_NAME.matcher(name).matches())
+                .filter(name -> !name.equals(normalizeCurrencyPairName(name)))
+                .forEach(legacyNames::add);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Suchen veralteter Währungspaar-Dateien: " + e.getMessage(), e);
+            return;
+        }
+        
+        for (String legacyName : legacyNames) {
+            try {
+                migrateLegacyFile(legacyName);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Konnte " + legacyName + FILE_EXTENSION + " nicht übernehmen: " + e.getMessage(), e);
+            }
+        }
+    }
+    
+    private void migrateLegacyFile(String legacyName) throws IOException {
+        String normalizedPair = normalizeCurrencyPairName(legacyName);
+        Path legacyFile = currencyDataPath.resolve(legacyName + FILE_EXTENSION);
+        Path targetFile = currencyDataPath.resolve(normalizedPair + FILE_EXTENSION);
+        if (Files.exists(targetFile) && Files.isSameFile(legacyFile, targetFile)) {
+            // Nur Groß-/Kleinschreibung abweichend auf einem Dateisystem ohne Unterscheidung
+            return;
+        }
+        PairLock pairLock = getPairLock(normalizedPair);
+        
+        Lock fileLock = pairLock.writer();
+        fileLock.lock();
+        try {
+            if (!Files.exists(targetFile)) {
+                replaceWithCompactedFile(normalizedPair, targetFile, legacyFile);
+                LOGGER.info("Veraltete Datei umbenannt: " + legacyName + FILE_EXTENSION + " -> " + targetFile.getFileName());
+            } else {
+                List<CurrencyPairData> merged = readDataFromPath(targetFile, normalizedPair);
+                int existing = merged.size();
+                merged.addAll(readDataFromPath(legacyFile, normalizedPair));
+                // Stabil sortieren und doppelte Zeitstempel verwerfen (Einträge der bestehenden Datei haben Vorrang)
+                merged.sort((a, b) -> a.getTimestamp().compareTo(b.getTimestamp()));
+                List<CurrencyPairData> unique = new ArrayList<>(merged.size());
+                for (CurrencyPairData data : merged) {
+                    if (unique.isEmpty() || !unique.get(unique.size() - 1).getTimestamp().equals(data.getTimestamp())) {
+                        unique.add(data);
+                    }
+                }
+                rewriteFileWithData(normalizedPair, unique);
+                Files.delete(legacyFile);
+                LOGGER.info("Veraltete Datei " + legacyName + FILE_EXTENSION + " in " + targetFile.getFileName() + " übernommen: "
+                    + (unique.size() - existing) + " zusätzliche Einträge");
+            }
+            
+            archiveStore.migrateArchives(legacyName, normalizedPair, pairLock.swap());
+            appendEngine.invalidate(legacyName);
+            binaryStore.invalidate(legacyName);
+            timeIndex.invalidate(legacyName);
+            statisticsTracker.invalidate(legacyName);
+        } finally {
+            fileLock.unlock();
+        }
+    }
+    
     /**
      * Speichert neue Daten für alle Währungspaare
+     * Im Batch-Modus (Standard) wird der gesamte Scrape-Zyklus in einem Durchgang geschrieben
      * @param currencyDataList Liste der zu speichernden Währungsdaten
      */
+    @Override
     public void appendDataForAllPairs(List<CurrencyPairData> currencyDataList) {
         if (currencyDataList == null || currencyDataList.isEmpty()) {
             LOGGER.warning("Keine Daten zum Speichern erhalten");
             return;
         }
         
+        if (batchWriteEnabled) {
+            appendBatchForAllPairs(currencyDataList);
+            return;
+        }
+        
         LOGGER.info("Beginne Speicherung von " + currencyDataList.size() + " Währungspaaren in separate Dateien");
         
         int successCount = 0;
@@ -114,10 +298,181 @@ public class CurrencyPairDataManager {
         LOGGER.info("Speicherung abgeschlossen: " + successCount + " erfolgreich, " + errorCount + " Fehler");
     }
     
+    /**
+     * NEU: Batch-Commit eines kompletten Scrape-Zyklus
+     * Zeilen werden vorab formatiert und pro Währungspaar gruppiert, das Verzeichnis wird einmal geprüft,
+     * und jede Datei wird mit genau einem Schreibvorgang (parallel auf begrenztem Pool) ergänzt.
+     * @param currencyDataList Liste der zu speichernden Währungsdaten
+     * @return Ergebnis mit Latenz und geschriebenen Bytes
+     */
+    public BatchWriteResult appendBatchForAllPairs(List<CurrencyPairData> currencyDataList) {
+        long startNanos = System.nanoTime();
+        
+        // Zeilen vorab formatieren und nach Währungspaar gruppieren (Reihenfolge bleibt erhalten)
+        Map<String, List<String>> rowsByPair = new LinkedHashMap<>();
+        int invalidCount = 0;
+        for (CurrencyPairData currencyData : currencyDataList) {
+            if (currencyData == null || currencyData.getCurrencyPair() == null) {
+                invalidCount++;
+                continue;
+            }
+            try {
+                String currencyPair = normalizeCurrencyPairName(currencyData.getCurrencyPair());
+                rowsByPair.computeIfAbsent(currencyPair, k -> new ArrayList<>()).add(formatCurrencyDataToCsv(currencyData));
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Fehler beim Formatieren von " + currencyData.getCurrencyPair() + ": " + e.getMessage(), e);
+                invalidCount++;
+            }
+        }
+        
+        // Verzeichnis einmal pro Batch sicherstellen
+        createCurrencyDataDirectory();
+        
+        CurrencyPairAppendEngine.FsyncPolicy policy = fsyncPolicy;
+        String header = getCurrencyPairCsvHeader();
+        
+        Map<String, Future<CurrencyPairAppendEngine.AppendResult>> futures = new LinkedHashMap<>();
+        ExecutorService executor = getBatchWriteExecutor();
+        for (Map.Entry<String, List<String>> entry : rowsByPair.entrySet()) {
+            String currencyPair = entry.getKey();
+            List<String> rows = entry.getValue();
+            futures.put(currencyPair, executor.submit(() -> {
+                Lock fileLock = getPairLock(currencyPair).writer();
+                fileLock.lock();
+                try {
+                    Path filePath = currencyDataPath.resolve(currencyPair + FILE_EXTENSION);
+                    CurrencyPairAppendEngine.AppendResult appendResult =
+                        appendEngine.appendBatch(currencyPair, filePath, header, rows, policy);
+                    if (appendResult.getRowsWritten() > 0) {
+                        syncBinaryStore(currencyPair, filePath);
+                        syncTimeIndex(currencyPair, filePath);
+                        syncStatistics(currencyPair, filePath);
+                    }
+                    return appendResult;
+                } finally {
+                    fileLock.unlock();
+                }
+            }));
+        }
+        
+        int rowsWritten = 0;
+        int duplicates = 0;
+        int errorCount = invalidCount;
+        long bytesWritten = 0;
+        for (Map.Entry<String, Future<CurrencyPairAppendEngine.AppendResult>> entry : futures.entrySet()) {
+            try {
+                CurrencyPairAppendEngine.AppendResult result = entry.getValue().get();
+                rowsWritten += result.getRowsWritten();
+                duplicates += result.getDuplicatesSkipped();
+                bytesWritten += result.getBytesWritten();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.warning("Batch-Speicherung unterbrochen bei " + entry.getKey());
+                errorCount++;
+            } catch (ExecutionException e) {
+                LOGGER.log(Level.WARNING, "Fehler beim Speichern von " + entry.getKey() + ": " + e.getCause().getMessage(), e.getCause());
+                errorCount++;
+            }
+        }
+        
+        BatchWriteResult result = new BatchWriteResult(rowsByPair.size(), rowsWritten, duplicates, errorCount,
+            bytesWritten, (System.nanoTime() - startNanos) / 1_000_000, policy);
+        lastBatchWriteResult = result;
+        
+        LOGGER.info("Batch-Speicherung abgeschlossen: " + result);
+        return result;
+    }
+    
+    /**
+     * Aktiviert oder deaktiviert den Batch-Schreibmodus für appendDataForAllPairs
+     */
+    public void setBatchWriteEnabled(boolean batchWriteEnabled) {
+        this.batchWriteEnabled = batchWriteEnabled;
+    }
+    
+    public boolean isBatchWriteEnabled() {
+        return batchWriteEnabled;
+    }
+    
+    /**
+     * Setzt die fsync-Strategie für Batch-Schreibvorgänge
+     */
+    public void setFsyncPolicy(CurrencyPairAppendEngine.FsyncPolicy fsyncPolicy) {
+        this.fsyncPolicy = fsyncPolicy != null ? fsyncPolicy : CurrencyPairAppendEngine.FsyncPolicy.NONE;
+    }
+    
+    public CurrencyPairAppendEngine.FsyncPolicy getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+    
+    /**
+     * Setzt die Anzahl paralleler Threads für Komprimierung und Export (1 = sequentiell)
+     */
+    public void setMaintenanceParallelism(int maintenanceParallelism) {
+        this.maintenanceParallelism = Math.max(1, maintenanceParallelism);
+    }
+    
+    public int getMaintenanceParallelism() {
+        return maintenanceParallelism;
+    }
+    
+    /**
+     * NEU: Baut die Zeit-Indizes aller Währungspaare neu auf (Reparatur-Befehl)
+     * @return Bericht über die neu aufgebauten Indizes
+     */
+    public String rebuildAllTimeIndexes() {
+        Set<String> pairs = listAvailableCurrencyPairs();
+        StringBuilder report = new StringBuilder();
+        report.append("Zeit-Index Reparatur:\n");
+        report.append("=====================\n");
+        
+        int repaired = 0;
+        for (String pair : pairs) {
+            String normalizedPair = normalizeCurrencyPairName(pair);
+            Lock fileLock = getPairLock(normalizedPair).writer();
+            fileLock.lock();
+            try {
+                int rows = timeIndex.rebuild(normalizedPair, currencyDataPath.resolve(normalizedPair + FILE_EXTENSION));
+                report.append(String.format("%-10s: %d Zeilen indiziert\n", normalizedPair, rows));
+                repaired++;
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Zeit-Index für " + normalizedPair + " konnte nicht aufgebaut werden: " + e.getMessage(), e);
+                report.append(String.format("%-10s: ✗ Fehler: %s\n", normalizedPair, e.getMessage()));
+            } finally {
+                fileLock.unlock();
+            }
+        }
+        
+        report.append(String.format("\nZusammenfassung: %d von %d Indizes neu aufgebaut\n", repaired, pairs.size()));
+        LOGGER.info("Zeit-Index Reparatur abgeschlossen: " + repaired + " von " + pairs.size());
+        return report.toString();
+    }
+    
+    /**
+     * Setzt das Speicher-Backend für Lesezugriffe
+     * Bei BINARY werden die CSV-Dateien beim ersten Lesen importiert und danach inkrementell nachgezogen
+     */
+    public void setStorageBackend(StorageBackend storageBackend) {
+        this.storageBackend = storageBackend != null ? storageBackend : StorageBackend.CSV;
+        LOGGER.info("Speicher-Backend für Währungspaar-Daten: " + this.storageBackend);
+    }
+    
+    public StorageBackend getStorageBackend() {
+        return storageBackend;
+    }
+    
+    /**
+     * Gibt das Ergebnis des letzten Batch-Schreibvorgangs zurück (null falls noch keiner lief)
+     */
+    public BatchWriteResult getLastBatchWriteResult() {
+        return lastBatchWriteResult;
+    }
+    
     /**
      * Speichert Daten für ein einzelnes Währungspaar
      * @param currencyData Die zu speichernden Währungsdaten
      */
+    @Override
     public void appendDataForSinglePair(CurrencyPairData currencyData) {
         if (currencyData == null || currencyData.getCurrencyPair() == null) {
             LOGGER.warning("Ungültige Währungsdaten erhalten");
@@ -129,24 +484,25 @@ public class CurrencyPairDataManager {
         Path filePath = currencyDataPath.resolve(filename);
         
         // Thread-sichere Ausführung pro Währungspaar
-        ReentrantLock fileLock = getFileLock(currencyPair);
+        Lock fileLock = getPairLock(currencyPair).writer();
         fileLock.lock();
         
         try {
             // Stelle sicher, dass das Verzeichnis existiert
             createCurrencyDataDirectory();
             
-            // Prüfe ob Duplikat vermieden werden soll
-            if (isDuplicate(currencyData, filePath)) {
+            // Duplikat- und Header-Prüfung über den Tail-Ring (kein Lesen der gesamten Datei)
+            boolean written = appendEngine.append(currencyPair, filePath,
+                getCurrencyPairCsvHeader(), formatCurrencyDataToCsv(currencyData));
+            
+            if (!written) {
                 LOGGER.fine("Duplikat für " + currencyPair + " übersprungen");
                 return;
             }
             
-            // Prüfe ob Header benötigt wird
-            boolean needsHeader = needsHeaderCheck(filePath);
-            
-            // Schreibe Daten
-            writeDataToFile(filePath, currencyData, needsHeader);
+            syncBinaryStore(currencyPair, filePath);
+            syncTimeIndex(currencyPair, filePath);
+            syncStatistics(currencyPair, filePath);
             
             LOGGER.fine("Daten für " + currencyPair + " erfolgreich gespeichert");
             
@@ -160,41 +516,253 @@ public class CurrencyPairDataManager {
     
     /**
      * Liest alle historischen Daten für ein Währungspaar
+     * Archivierte Monate werden transparent vor den Daten der CSV-Datei geliefert.
      * @param currencyPair Das Währungspaar (z.B. "EUR/USD" oder "EURUSD")
      * @return Liste der historischen Daten
      */
+    @Override
     public List<CurrencyPairData> readDataForCurrencyPair(String currencyPair) {
         String normalizedPair = normalizeCurrencyPairName(currencyPair);
+        
+        // Lese-Lock: wartet nicht auf Appends, nur auf den kurzen Dateitausch (Archiv und CSV konsistent)
+        Lock readLock = getPairLock(normalizedPair).read();
+        readLock.lock();
+        try {
+            if (!archiveStore.hasArchive(normalizedPair)) {
+                return readHotDataForCurrencyPair(currencyPair);
+            }
+            List<CurrencyPairData> data = archiveStore.readRange(normalizedPair, currencyPair, null, null);
+            data.addAll(readHotDataForCurrencyPair(currencyPair));
+            return data;
+        } finally {
+            readLock.unlock();
+        }
+    }
+    
+    /**
+     * Liest nur die Daten der CSV-Datei (bzw. des Binär-Backends) ohne Archive
+     */
+    private List<CurrencyPairData> readHotDataForCurrencyPair(String currencyPair) {
+        String normalizedPair = normalizeCurrencyPairName(currencyPair);
         String filename = normalizedPair + FILE_EXTENSION;
         Path filePath = currencyDataPath.resolve(filename);
         
+        if (storageBackend == StorageBackend.BINARY) {
+            return readDataFromBinary(normalizedPair, filePath, currencyPair);
+        }
+        
         return readDataFromPath(filePath, currencyPair);
     }
     
+    /**
+     * NEU: Liest nur die Daten eines Zeitfensters über einen seitenweisen Leser (Binärsuche)
+     * Der Fensteranfang wird per Binärsuche gefunden, ältere Historie wird nicht geparst.
+     * @param currencyPair Das Währungspaar
+     * @param from Beginn (inklusiv), null für alle Daten ab Dateianfang
+     * @param to Ende (exklusiv), null für alle Daten bis Dateiende
+     * @return Liste der Einträge im Zeitfenster (chronologisch)
+     */
+    @Override
+    public List<CurrencyPairData> readDataWindowForCurrencyPair(String currencyPair, LocalDateTime from, LocalDateTime to) {
+        String normalizedPair = normalizeCurrencyPairName(currencyPair);
+        
+        Lock readLock = getPairLock(normalizedPair).read();
+        readLock.lock();
+        try {
+            if (!archiveStore.hasArchive(normalizedPair)) {
+                return readHotDataWindow(currencyPair, from, to);
+            }
+            // Nur Archivmonate, die das Zeitfenster überlappen, werden entpackt
+            List<CurrencyPairData> data = archiveStore.readRange(normalizedPair, currencyPair, from, to);
+            data.addAll(readHotDataWindow(currencyPair, from, to));
+            return data;
+        } finally {
+            readLock.unlock();
+        }
+    }
+    
+    /**
+     * NEU: Liest ein Zeitfenster spaltenorientiert (ohne CurrencyPairData-Objekte für die CSV-Zeilen)
+     * @param currencyPair Das Währungspaar
+     * @param from Beginn (inklusiv), null für alle Daten ab Dateianfang
+     * @param to Ende (exklusiv), null für alle Daten bis Dateiende
+     * @return Chronologische Historie im Zeitfenster (inklusive Archiv)
+     */
+    @Override
+    public PairHistory readHistoryWindow(String currencyPair, LocalDateTime from, LocalDateTime to) {
+        String normalizedPair = normalizeCurrencyPairName(currencyPair);
+        PairHistory history = new PairHistory(currencyPair);
+        
+        Lock readLock = getPairLock(normalizedPair).read();
+        readLock.lock();
+        try {
+            if (archiveStore.hasArchive(normalizedPair)) {
+                archiveStore.readHistoryRange(normalizedPair, currencyPair, from, to, history);
+            }
+            try (PagedPairDataReader reader = openWindowReader(currencyPair)) {
+                if (reader != null) {
+                    PagedPairDataReader.Cursor cursor = reader.window(from, to, windowStartHint(currencyPair, from));
+                    while (cursor.next()) {
+                        history.append(cursor.getEpochSecond(), cursor.getBuyHundredths(),
+                            cursor.getSellHundredths(), cursor.getTradingSignal());
+                    }
+                }
+            } catch (IOException | UncheckedIOException e) {
+                LOGGER.log(Level.WARNING, "Fehler beim Lesen des Zeitfensters für " + currencyPair + ": " + e.getMessage(), e);
+            }
+        } finally {
+            readLock.unlock();
+        }
+        
+        LOGGER.fine("Historie für " + currencyPair + " gelesen: " + history.size() + " Einträge");
+        return history;
+    }
+    
+    /**
+     * Liest ein Zeitfenster nur aus der CSV-Datei
+     */
+    private List<CurrencyPairData> readHotDataWindow(String currencyPair, LocalDateTime from, LocalDateTime to) {
+        List<CurrencyPairData> data = new ArrayList<>();
+        long startHint = windowStartHint(currencyPair, from);
+        
+        try (PagedPairDataReader reader = openWindowReader(currencyPair)) {
+            if (reader == null) {
+                return data;
+            }
+            PagedPairDataReader.Cursor cursor = reader.window(from, to, startHint);
+            while (cursor.next()) {
+                data.add(cursor.toCurrencyPairData(currencyPair));
+            }
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Lesen des Zeitfensters für " + currencyPair + ": " + e.getMessage(), e);
+        }
+        
+        LOGGER.fine("Zeitfenster für " + currencyPair + " gelesen: " + data.size() + " Einträge");
+        return data;
+    }
+    
+    /**
+     * Suchbeginn eines Zeitfensters aus dem Zeit-Index (0 falls kein Index verfügbar)
+     */
+    private long windowStartHint(String currencyPair, LocalDateTime from) {
+        return from != null
+            ? Math.max(0, lookupTimeIndex(currencyPair, index -> index.findOffsetForTime(
+                normalizeCurrencyPairName(currencyPair), from.toEpochSecond(ZoneOffset.UTC))))
+            : 0;
+    }
+    
+    /**
+     * NEU: Öffnet einen seitenweisen Leser für die Datei eines Währungspaars
+     * Der Aufrufer muss den Leser schließen; danach hält er keinen Zugriff mehr auf die Datei.
+     * @param currencyPair Das Währungspaar
+     * @return Leser oder null, falls keine Datei existiert
+     */
+    public PagedPairDataReader openWindowReader(String currencyPair) throws IOException {
+        String normalizedPair = normalizeCurrencyPairName(currencyPair);
+        return PagedPairDataReader.open(currencyDataPath.resolve(normalizedPair + FILE_EXTENSION));
+    }
+    
     /**
      * Liest die letzten N Einträge für ein Währungspaar
+     * Die Datei wird blockweise vom Ende her gelesen, bis N gültige Zeilen geparst sind.
      * @param currencyPair Das Währungspaar
      * @param count Anzahl der gewünschten Einträge (von neuesten)
-     * @return Liste der letzten Einträge
+     * @return Liste der letzten Einträge (neueste zuerst)
      */
+    @Override
     public List<CurrencyPairData> readLastEntriesForCurrencyPair(String currencyPair, int count) {
-        List<CurrencyPairData> allData = readDataForCurrencyPair(currencyPair);
-        
-        if (allData.isEmpty() || count <= 0) {
+        if (count <= 0) {
             return new ArrayList<>();
         }
         
-        // Sortiere nach Zeitstempel (neueste zuerst) und nimm die ersten 'count' Einträge
-        allData.sort((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()));
+        String normalizedPair = normalizeCurrencyPairName(currencyPair);
+        Path filePath = currencyDataPath.resolve(normalizedPair + FILE_EXTENSION);
+        
+        Lock readLock = getPairLock(normalizedPair).read();
+        readLock.lock();
+        try {
+            if (!Files.exists(filePath)) {
+                // Alle Zeilen archiviert (oder Paar unbekannt) -> nur die neuesten Archivmonate
+                List<CurrencyPairData> result = new ArrayList<>();
+                if (archiveStore.hasArchive(normalizedPair)) {
+                    appendLastArchivedEntries(normalizedPair, currencyPair, result, count);
+                }
+                return result;
+            }
+            return readLastEntries(normalizedPair, filePath, currencyPair, count);
+        } finally {
+            readLock.unlock();
+        }
+    }
+    
+    /**
+     * Rückwärts-Lesen der letzten N Einträge (Aufrufer hält das Lese-Lock)
+     */
+    private List<CurrencyPairData> readLastEntries(String normalizedPair, Path filePath, String currencyPair, int count) {
+        List<CurrencyPairData> result = new ArrayList<>(Math.min(count, 1024));
+        boolean ordered = true;
+        
+        try (ReverseLineReader reader = new ReverseLineReader(filePath)) {
+            String line;
+            while (result.size() < count && (line = reader.readPreviousLine()) != null) {
+                if (line.trim().isEmpty() || line.contains("Zeitstempel")) {
+                    continue;
+                }
+                try {
+                    CurrencyPairData data = parseCurrencyDataFromCsv(line, currencyPair);
+                    if (!result.isEmpty() && data.getTimestamp().isAfter(result.get(result.size() - 1).getTimestamp())) {
+                        ordered = false;
+                        break;
+                    }
+                    result.add(data);
+                } catch (Exception e) {
+                    LOGGER.fine("Ungültige CSV-Zeile in " + currencyPair + " übersprungen: " + line);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Rückwärts-Lesen für " + currencyPair + ": " + e.getMessage(), e);
+            ordered = false;
+        }
+        
+        if (ordered) {
+            if (result.size() < count && archiveStore.hasArchive(normalizedPair)) {
+                // CSV-Datei enthält zu wenige Einträge -> neueste Archivmonate ergänzen
+                appendLastArchivedEntries(normalizedPair, currencyPair, result, count);
+            }
+            return result;
+        }
+        
+        // Datei ist nicht chronologisch sortiert -> vollständig lesen und sortieren
+        LOGGER.fine("Datei für " + currencyPair + " nicht chronologisch - verwende vollständiges Lesen");
+        List<CurrencyPairData> allData = readDataForCurrencyPair(currencyPair);
+        allData.sort((x, y) -> y.getTimestamp().compareTo(x.getTimestamp()));
         
         int endIndex = Math.min(count, allData.size());
         return new ArrayList<>(allData.subList(0, endIndex));
     }
     
+    /**
+     * Ergänzt die Ergebnisliste (neueste zuerst) um Einträge aus den neuesten Archivmonaten
+     */
+    private void appendLastArchivedEntries(String normalizedPair, String currencyPair, List<CurrencyPairData> result, int count) {
+        List<YearMonth> months = archiveStore.listMonths(normalizedPair);
+        for (int i = months.size() - 1; i >= 0 && result.size() < count; i--) {
+            List<CurrencyPairData> monthData = archiveStore.readMonth(normalizedPair, currencyPair, months.get(i));
+            monthData.sort((x, y) -> y.getTimestamp().compareTo(x.getTimestamp()));
+            for (CurrencyPairData data : monthData) {
+                if (result.size() >= count) {
+                    break;
+                }
+                result.add(data);
+            }
+        }
+    }
+    
     /**
      * Listet alle verfügbaren Währungspaare auf
      * @return Set mit allen Währungspaar-Namen
      */
+    @Override
     public Set<String> listAvailableCurrencyPairs() {
         Set<String> currencyPairs = new HashSet<>();
         
@@ -226,25 +794,55 @@ public class CurrencyPairDataManager {
      * @return Statistik-Objekt mit Informationen
      */
     public CurrencyPairStatistics getStatisticsForCurrencyPair(String currencyPair) {
-        List<CurrencyPairData> data = readDataForCurrencyPair(currencyPair);
+        RunningPairStatistics running = getRunningStatistics(currencyPair);
         
-        if (data.isEmpty()) {
-            return new CurrencyPairStatistics(currencyPair, 0, null, null);
+        if (running == null) {
+            // Fallback: vollständiges Lesen falls die laufende Statistik nicht verfügbar ist
+            running = new RunningPairStatistics();
+            for (CurrencyPairData data : readDataForCurrencyPair(currencyPair)) {
+                running.accept(data);
+            }
         }
         
-        // Sortiere nach Zeitstempel
-        data.sort((a, b) -> a.getTimestamp().compareTo(b.getTimestamp()));
-        
-        LocalDateTime firstEntry = data.get(0).getTimestamp();
-        LocalDateTime lastEntry = data.get(data.size() - 1).getTimestamp();
+        if (running.getCount() == 0) {
+            return new CurrencyPairStatistics(currencyPair, 0, null, null);
+        }
         
-        return new CurrencyPairStatistics(currencyPair, data.size(), firstEntry, lastEntry);
+        return new CurrencyPairStatistics(currencyPair, (int) running.getCount(),
+            running.getFirstEntry(), running.getLastEntry(), running);
+    }
+    
+    /**
+     * NEU: Liefert die laufende Statistik eines Währungspaars (Anzahl, Zeitraum, Mittelwert/Varianz Buy-%, Signalverteilung)
+     * Nach einem Neustart wird die Sidecar-Datei geladen und nur neu angehängte Zeilen gelesen.
+     * Ist das Währungspaar gerade gesperrt (Komprimierung, Archivierung, Batch-Append), wird der
+     * letzte Stand aus dem Speicher geliefert statt zu warten.
+     * @param currencyPair Das Währungspaar
+     * @return Kopie der Statistik oder null bei Lesefehlern
+     */
+    @Override
+    public RunningPairStatistics getRunningStatistics(String currencyPair) {
+        String normalizedPair = normalizeCurrencyPairName(currencyPair);
+        Lock fileLock = getPairLock(normalizedPair).writer();
+        if (!fileLock.tryLock()) {
+            RunningPairStatistics snapshot = statisticsTracker.getSnapshot(normalizedPair);
+            if (snapshot != null) {
+                return snapshot;
+            }
+            fileLock.lock();
+        }
+        try {
+            return refreshStatistics(normalizedPair);
+        } finally {
+            fileLock.unlock();
+        }
     }
     
     /**
      * Gibt Gesamtstatistiken für alle Währungspaare zurück
      * @return Zusammenfassung aller Statistiken
      */
+    @Override
     public String getOverallStatistics() {
         Set<String> pairs = listAvailableCurrencyPairs();
         
@@ -284,6 +882,7 @@ public class CurrencyPairDataManager {
      * @param messageCallback  Callback für Statusnachrichten
      * @return Ein detaillierter Bericht als String.
      */
+    @Override
     public String compactAllDataToHourly(java.util.function.BiConsumer<Integer, Integer> progressCallback, java.util.function.Consumer<String> messageCallback) {
         Set<String> pairs = listAvailableCurrencyPairs();
         if (pairs.isEmpty()) {
@@ -291,8 +890,6 @@ public class CurrencyPairDataManager {
             return "Keine Daten gefunden.";
         }
 
-        int total = pairs.size();
-        int current = 0;
         int totalBefore = 0;
         int totalAfter = 0;
         
@@ -300,34 +897,31 @@ public class CurrencyPairDataManager {
         report.append("Währungspaar | Davor | Danach\n");
         report.append("-----------------------------\n");
 
-        for (String pair : pairs) {
-            if (messageCallback != null) {
-                messageCallback.accept("Komprimiere " + pair + "...");
+        List<PairOutcome<String>> outcomes = processPairs(new ArrayList<>(pairs), this::compactDataForPair,
+            "Komprimiere ", "Komprimiert: ", progressCallback, messageCallback);
+
+        // Bericht in Paar-Reihenfolge zusammensetzen (unabhängig von der Abschlussreihenfolge)
+        for (PairOutcome<String> outcome : outcomes) {
+            String pair = outcome.getPair();
+            if (outcome.getError() != null) {
+                LOGGER.log(Level.SEVERE, "Fehler bei der Komprimierung von " + pair, outcome.getError());
+                report.append(pair).append(" : Fehler - ").append(outcome.getError().getMessage()).append("\n");
+                continue;
             }
             
-            try {
-                String result = compactDataForPair(pair);
-                report.append(result).append("\n");
-                
-                // Extrahiere Zahlen für Gesamtstatistik (Format: "EUR_USD   : 1000 -> 500")
-                if (result.contains("->")) {
-                    String[] parts = result.split(":");
-                    if (parts.length == 2) {
-                        String[] nums = parts[1].split("->");
-                        if (nums.length == 2) {
-                            totalBefore += Integer.parseInt(nums[0].trim());
-                            totalAfter += Integer.parseInt(nums[1].trim());
-                        }
+            String result = outcome.getResult();
+            report.append(result).append("\n");
+            
+            // Extrahiere Zahlen für Gesamtstatistik (Format: "EUR_USD   : 1000 -> 500")
+            if (result.contains("->")) {
+                String[] parts = result.split(":");
+                if (parts.length == 2) {
+                    String[] nums = parts[1].split("->");
+                    if (nums.length == 2) {
+                        totalBefore += Integer.parseInt(nums[0].trim());
+                        totalAfter += Integer.parseInt(nums[1].trim());
                     }
                 }
-            } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "Fehler bei der Komprimierung von " + pair, e);
-                report.append(pair).append(" : Fehler - ").append(e.getMessage()).append("\n");
-            }
-
-            current++;
-            if (progressCallback != null) {
-                progressCallback.accept(current, total);
             }
         }
         
@@ -348,6 +942,24 @@ public class CurrencyPairDataManager {
      * @return Ein Bericht über den Exportvorgang (Anzahl Dateien, Anzahl Datensätze).
      */
     public String exportAllSignals(Path targetDirectory, java.util.function.BiConsumer<Integer, Integer> progressCallback, java.util.function.Consumer<String> messageCallback) {
+        return exportAllSignals(targetDirectory, false, null, progressCallback, messageCallback);
+    }
+
+    /**
+     * NEU: Export mit optionalem inkrementellen Modus.
+     * Im inkrementellen Modus werden nur Zeilen nach der High-Water-Mark des Währungspaars an die
+     * bestehende Zieldatei angehängt. Fehlt die Marke oder die Zieldatei, wird das Paar vollständig exportiert.
+     * Ein vollständiger Export setzt die Marken ebenfalls, damit danach inkrementell fortgesetzt werden kann.
+     * @param targetDirectory Zielverzeichnis für den Export
+     * @param incremental true für inkrementellen Export, false für vollständigen Neu-Export
+     * @param exportConfig Speicher der High-Water-Marks (null: keine Marken verwenden/speichern)
+     * @param progressCallback Callback für den Fortschritt (Aktuell, Gesamt)
+     * @param messageCallback Callback für Statusmeldungen
+     * @return Ein Bericht über den Exportvorgang (Anzahl Dateien, Anzahl Datensätze).
+     */
+    @Override
+    public String exportAllSignals(Path targetDirectory, boolean incremental, ExportConfig exportConfig,
+                                   java.util.function.BiConsumer<Integer, Integer> progressCallback, java.util.function.Consumer<String> messageCallback) {
         if (targetDirectory == null || !Files.isDirectory(targetDirectory)) {
             return "Export fehlgeschlagen: Zielverzeichnis ungültig.";
         }
@@ -358,71 +970,237 @@ public class CurrencyPairDataManager {
             return "Keine Daten gefunden.";
         }
 
-        int totalFiles = pairs.size();
-        int currentFileIndex = 0;
         int filesExported = 0;
         int totalRecordsExported = 0;
+        String targetKey = targetDirectory.toAbsolutePath().toString();
+        boolean useMarks = incremental && exportConfig != null;
 
-        for (String pair : pairs) {
-            String normalizedPair = normalizeCurrencyPairName(pair);
-            Path sourceFile = currencyDataPath.resolve(normalizedPair + FILE_EXTENSION);
-            Path destFile = targetDirectory.resolve(normalizedPair + FILE_EXTENSION);
-
-            if (messageCallback != null) {
-                messageCallback.accept("Exportiere " + pair + "...");
-            }
+        List<PairOutcome<PairExportResult>> outcomes = processPairs(new ArrayList<>(pairs),
+            pair -> exportPair(pair, targetDirectory,
+                useMarks ? exportConfig.getHighWaterMark(targetKey, normalizeCurrencyPairName(pair)) : null),
+            "Exportiere ", "Exportiert: ", progressCallback, messageCallback);
 
-            if (Files.exists(sourceFile)) {
-                ReentrantLock fileLock = getFileLock(normalizedPair);
-                fileLock.lock();
-                try {
-                    // Daten lesen, Timestamps auf volle Stunden normalisieren, und in Ziel schreiben
-                    List<CurrencyPairData> data = readDataFromPath(sourceFile, normalizedPair);
-                    long recordCount = data.size();
-
-                    try (BufferedWriter writer = Files.newBufferedWriter(destFile, StandardCharsets.UTF_8,
-                            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
-                        writer.write(getCurrencyPairCsvHeader());
-                        writer.newLine();
-                        for (CurrencyPairData d : data) {
-                            d.setTimestamp(d.getTimestamp().truncatedTo(ChronoUnit.HOURS));
-                            writer.write(formatCurrencyDataToCsv(d));
-                            writer.newLine();
-                        }
-                        writer.flush();
-                    }
-
-                    filesExported++;
-                    totalRecordsExported += recordCount;
-                    
-                    LOGGER.info("Exportiert: " + sourceFile.getFileName() + " nach " + targetDirectory.toAbsolutePath());
-                } catch (IOException e) {
-                    LOGGER.log(Level.SEVERE, "Fehler beim Exportieren von " + pair + " nach " + destFile, e);
-                    if (messageCallback != null) {
-                        messageCallback.accept("Fehler beim Export von " + pair);
-                    }
-                } finally {
-                    fileLock.unlock();
+        Map<String, LocalDateTime> highWaterMarks = new LinkedHashMap<>();
+        for (PairOutcome<PairExportResult> outcome : outcomes) {
+            if (outcome.getError() != null) {
+                LOGGER.log(Level.SEVERE, "Fehler beim Exportieren von " + outcome.getPair() + " nach " + targetDirectory, outcome.getError());
+                if (messageCallback != null) {
+                    messageCallback.accept("Fehler beim Export von " + outcome.getPair());
                 }
+                continue;
             }
-
-            currentFileIndex++;
-            if (progressCallback != null) {
-                progressCallback.accept(currentFileIndex, totalFiles);
+            PairExportResult result = outcome.getResult();
+            if (result == null) {
+                continue;
+            }
+            if (!incremental || result.getRecordCount() > 0) {
+                filesExported++;
             }
+            totalRecordsExported += result.getRecordCount();
+            if (result.getHighWaterMark() != null) {
+                highWaterMarks.put(normalizeCurrencyPairName(outcome.getPair()), result.getHighWaterMark());
+            }
+        }
+
+        if (exportConfig != null) {
+            exportConfig.setHighWaterMarks(targetKey, highWaterMarks);
         }
 
         if (messageCallback != null) {
             messageCallback.accept("Export abgeschlossen.");
         }
 
+        if (incremental) {
+            return String.format("Inkrementeller Export beendet.\n\nDateien aktualisiert: %d\nNeue Datensätze exportiert: %d\nZielverzeichnis:\n%s",
+                    filesExported, totalRecordsExported, targetDirectory.toAbsolutePath().toString());
+        }
         return String.format("Export erfolgreich beendet.\n\nDateien exportiert: %d\nDatensätze exportiert: %d\nZielverzeichnis:\n%s", 
                 filesExported, totalRecordsExported, targetDirectory.toAbsolutePath().toString());
     }
 
+    /**
+     * Exportiert ein Währungspaar mit auf volle Stunden normalisierten Zeitstempeln
+     * @param highWaterMark Zeitstempel der zuletzt exportierten Zeile (null: vollständiger Export)
+     * @return Ergebnis mit Anzahl Datensätzen und neuer High-Water-Mark, null falls keine Quelldatei existiert
+     */
+    private PairExportResult exportPair(String pair, Path targetDirectory, LocalDateTime highWaterMark) throws IOException {
+        String normalizedPair = normalizeCurrencyPairName(pair);
+        Path sourceFile = currencyDataPath.resolve(normalizedPair + FILE_EXTENSION);
+        Path destFile = targetDirectory.resolve(normalizedPair + FILE_EXTENSION);
+
+        if (!Files.exists(sourceFile)) {
+            return null;
+        }
+
+        // Kein Schreib-Lock: die Lese-Methoden liefern einen konsistenten Snapshot, Appends laufen weiter
+        boolean append = highWaterMark != null && Files.exists(destFile);
+
+        // Inkrementell: nur Zeilen nach der Marke über den Zeit-Index lesen (Sekundenauflösung)
+        List<CurrencyPairData> data = append
+            ? readDataWindowForCurrencyPair(normalizedPair, highWaterMark.plusSeconds(1), null)
+            : readDataForCurrencyPair(normalizedPair);
+
+        LocalDateTime newHighWaterMark = append ? highWaterMark : null;
+        if (append && data.isEmpty()) {
+            return new PairExportResult(0, newHighWaterMark);
+        }
+
+        try (BufferedWriter writer = append
+                ? Files.newBufferedWriter(destFile, StandardCharsets.UTF_8, StandardOpenOption.APPEND)
+                : Files.newBufferedWriter(destFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (!append) {
+                writer.write(getCurrencyPairCsvHeader());
+                writer.newLine();
+            }
+            // Daten schreiben, Timestamps auf volle Stunden normalisieren
+            for (CurrencyPairData d : data) {
+                if (newHighWaterMark == null || d.getTimestamp().isAfter(newHighWaterMark)) {
+                    newHighWaterMark = d.getTimestamp();
+                }
+                d.setTimestamp(d.getTimestamp().truncatedTo(ChronoUnit.HOURS));
+                writer.write(formatCurrencyDataToCsv(d));
+                writer.newLine();
+            }
+            writer.flush();
+        }
+
+        LOGGER.info((append ? "Inkrementell exportiert: " : "Exportiert: ") + sourceFile.getFileName()
+            + " nach " + targetDirectory.toAbsolutePath() + " (" + data.size() + " Datensätze)");
+        return new PairExportResult(data.size(), newHighWaterMark);
+    }
+
+    /**
+     * Ergebnis des Exports eines Währungspaars
+     */
+    private static class PairExportResult {
+        private final int recordCount;
+        private final LocalDateTime highWaterMark;
+
+        PairExportResult(int recordCount, LocalDateTime highWaterMark) {
+            this.recordCount = recordCount;
+            this.highWaterMark = highWaterMark;
+        }
+
+        int getRecordCount() { return recordCount; }
+        LocalDateTime getHighWaterMark() { return highWaterMark; }
+    }
+
+    /**
+     * Führt eine Operation für alle Währungspaare aus, bei maintenanceParallelism > 1 auf einem begrenzten Pool.
+     * Fortschritt und Statusmeldungen werden ausschließlich vom aufrufenden Thread gemeldet (monoton steigend),
+     * die Ergebnisse kommen in der Reihenfolge der übergebenen Paare zurück.
+     * @param pairs Währungspaare in Berichtsreihenfolge
+     * @param operation Operation pro Währungspaar (hält selbst das Datei-Lock)
+     * @param startMessage Präfix der Statusmeldung vor einem Paar (sequentieller Modus)
+     * @param doneMessage Präfix der Statusmeldung nach einem Paar (paralleler Modus)
+     */
+    private <T> List<PairOutcome<T>> processPairs(List<String> pairs, PairOperation<T> operation,
+                                                  String startMessage, String doneMessage,
+                                                  java.util.function.BiConsumer<Integer, Integer> progressCallback,
+                                                  java.util.function.Consumer<String> messageCallback) {
+        int total = pairs.size();
+        int parallelism = Math.min(maintenanceParallelism, total);
+        List<PairOutcome<T>> outcomes = new ArrayList<>(total);
+
+        if (parallelism <= 1) {
+            int current = 0;
+            for (String pair : pairs) {
+                if (messageCallback != null) {
+                    messageCallback.accept(startMessage + pair + "...");
+                }
+                outcomes.add(runPairOperation(pair, operation));
+                current++;
+                if (progressCallback != null) {
+                    progressCallback.accept(current, total);
+                }
+            }
+            return outcomes;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "CurrencyPair-Maintenance-" + threadNumber.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        try {
+            CompletionService<PairOutcome<T>> completionService = new ExecutorCompletionService<>(executor);
+            List<Future<PairOutcome<T>>> futures = new ArrayList<>(total);
+            for (String pair : pairs) {
+                futures.add(completionService.submit(() -> runPairOperation(pair, operation)));
+            }
+            if (messageCallback != null) {
+                messageCallback.accept(startMessage + total + " Währungspaare mit " + parallelism + " Threads...");
+            }
+
+            for (int current = 1; current <= total; current++) {
+                PairOutcome<T> finished = completionService.take().get();
+                if (messageCallback != null) {
+                    messageCallback.accept(doneMessage + finished.getPair() + " (" + current + "/" + total + ")");
+                }
+                if (progressCallback != null) {
+                    progressCallback.accept(current, total);
+                }
+            }
+
+            for (Future<PairOutcome<T>> future : futures) {
+                outcomes.add(future.get());
+            }
+            return outcomes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Verarbeitung der Währungspaare unterbrochen", e);
+        } catch (ExecutionException e) {
+            // runPairOperation fängt alle Fehler ab, tritt daher nur bei Programmfehlern auf
+            throw new RuntimeException("Unerwarteter Fehler bei der Verarbeitung der Währungspaare", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private <T> PairOutcome<T> runPairOperation(String pair, PairOperation<T> operation) {
+        try {
+            return new PairOutcome<>(pair, operation.apply(pair), null);
+        } catch (Exception e) {
+            return new PairOutcome<>(pair, null, e);
+        }
+    }
+
+    /**
+     * Operation für ein einzelnes Währungspaar
+     */
+    @FunctionalInterface
+    private interface PairOperation<T> {
+        T apply(String pair) throws Exception;
+    }
+
+    /**
+     * Ergebnis oder Fehler einer Operation für ein Währungspaar
+     */
+    private static class PairOutcome<T> {
+        private final String pair;
+        private final T result;
+        private final Exception error;
+
+        PairOutcome(String pair, T result, Exception error) {
+            this.pair = pair;
+            this.result = result;
+            this.error = error;
+        }
+
+        String getPair() { return pair; }
+        T getResult() { return result; }
+        Exception getError() { return error; }
+    }
+
     /**
      * Komprimiert die Datenzeilen für ein bestimmtes Währungspaar.
      * Gruppiert die Signale stündlich und behält nur das jeweils letzte pro Stunde.
+     * Sortierte Dateien werden per StreamingHourlyCompactor verarbeitet, unsortierte in-memory.
      * @return Bericht-String für das Währungspaar
      */
     private String compactDataForPair(String currencyPair) throws IOException {
@@ -434,11 +1212,27 @@ public class CurrencyPairDataManager {
             return String.format("%-10s :    0 ->    0", normalizedPair);
         }
 
-        ReentrantLock fileLock = getFileLock(normalizedPair);
+        Lock fileLock = getPairLock(normalizedPair).writer();
         fileLock.lock();
 
         try {
-            // Lese alle Daten für dieses Paar
+            // Sortierte Dateien in einem Durchgang mit konstantem Speicher komprimieren
+            StreamingHourlyCompactor.Result streamed = hourlyCompactor.compact(
+                normalizedPair, originalFilePath, tempFilePath, getCurrencyPairCsvHeader());
+
+            if (streamed.isSorted()) {
+                if (streamed.getRowsRead() == 0) {
+                    Files.deleteIfExists(tempFilePath);
+                    return String.format("%-10s :    0 ->    0", normalizedPair);
+                }
+                replaceWithCompactedFile(normalizedPair, originalFilePath, tempFilePath);
+                refreshStatistics(normalizedPair);
+
+                LOGGER.info("Erfolgreich komprimiert: " + normalizedPair + ". Reduziert von " + streamed.getRowsRead() + " auf " + streamed.getRowsWritten() + " Einträge.");
+                return String.format("%-10s : %d -> %d", normalizedPair, streamed.getRowsRead(), streamed.getRowsWritten());
+            }
+
+            // Fallback für unsortierte Dateien: alle Daten lesen und nach Stunde gruppieren
             List<CurrencyPairData> allData = readDataFromPath(originalFilePath, normalizedPair);
 
             if (allData.isEmpty()) {
@@ -477,9 +1271,8 @@ public class CurrencyPairDataManager {
                 writer.flush();
             }
 
-            // Tausche temporäre Datei mit der Originalen
-            Files.delete(originalFilePath);
-            Files.move(tempFilePath, originalFilePath);
+            replaceWithCompactedFile(normalizedPair, originalFilePath, tempFilePath);
+            refreshStatistics(normalizedPair);
 
             LOGGER.info("Erfolgreich komprimiert: " + normalizedPair + ". Reduziert von " + allData.size() + " auf " + hourlyData.size() + " Einträge.");
             return String.format("%-10s : %d -> %d", normalizedPair, allData.size(), hourlyData.size());
@@ -493,10 +1286,29 @@ public class CurrencyPairDataManager {
         }
     }
     
+    /**
+     * Tauscht die fertige temporäre Datei per atomarem Rename gegen die Originaldatei und verwirft abgeleitete Zustände
+     * Nur der Tausch läuft unter dem exklusiven Snapshot-Lock, Leser sehen alten oder neuen Stand.
+     */
+    private void replaceWithCompactedFile(String normalizedPair, Path originalFilePath, Path tempFilePath) throws IOException {
+        Lock swapLock = getPairLock(normalizedPair).swap();
+        swapLock.lock();
+        try {
+            Files.move(tempFilePath, originalFilePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            appendEngine.invalidate(normalizedPair);
+            binaryStore.invalidate(normalizedPair);
+            timeIndex.invalidate(normalizedPair);
+            statisticsTracker.invalidate(normalizedPair);
+        } finally {
+            swapLock.unlock();
+        }
+    }
+    
     /**
      * Bereinigt alte Einträge für alle Währungspaare
      * @param daysToKeep Anzahl Tage die behalten werden sollen
      */
+    @Override
     public void cleanupOldData(int daysToKeep) {
         LOGGER.info("Beginne Bereinigung von Einträgen älter als " + daysToKeep + " Tage");
         
@@ -523,10 +1335,61 @@ public class CurrencyPairDataManager {
         LOGGER.info("Bereinigung abgeschlossen: " + totalRemovedRecords + " Einträge aus " + processedPairs + " Währungspaaren entfernt");
     }
     
+    /**
+     * NEU: Verschiebt Einträge älter als die angegebene Anzahl Tage in komprimierte Monatsarchive
+     * Die Lese-Methoden liefern archivierte Daten weiterhin transparent mit.
+     * @param daysToKeep Anzahl Tage, die unkomprimiert in der CSV-Datei bleiben
+     * @return Bericht über die Archivierung
+     */
+    @Override
+    public String archiveOldData(int daysToKeep) {
+        LOGGER.info("Beginne Archivierung von Einträgen älter als " + daysToKeep + " Tage");
+        
+        // Auf Tagesbeginn, damit wiederholte Läufe am gleichen Tag keine Mini-Archive erzeugen
+        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysToKeep).truncatedTo(ChronoUnit.DAYS);
+        Set<String> pairs = listAvailableCurrencyPairs();
+        StringBuilder report = new StringBuilder();
+        report.append("Archivierung (älter als ").append(cutoffDate.toLocalDate()).append("):\n");
+        report.append("=====================\n");
+        
+        int totalArchived = 0;
+        for (String pair : pairs) {
+            String normalizedPair = normalizeCurrencyPairName(pair);
+            PairLock pairLock = getPairLock(normalizedPair);
+            Lock fileLock = pairLock.writer();
+            fileLock.lock();
+            try {
+                Path filePath = currencyDataPath.resolve(normalizedPair + FILE_EXTENSION);
+                // Statistik vorher nachziehen: danach sind die Zeilen nur umgezogen, die Summen bleiben gültig
+                syncStatistics(normalizedPair, filePath);
+                int archived = archiveStore.archiveRowsBefore(normalizedPair,
+                    filePath, getCurrencyPairCsvHeader(), cutoffDate, pairLock.swap());
+                if (archived > 0) {
+                    appendEngine.invalidate(normalizedPair);
+                    binaryStore.invalidate(normalizedPair);
+                    timeIndex.invalidate(normalizedPair);
+                    statisticsTracker.rebase(normalizedPair, filePath);
+                }
+                totalArchived += archived;
+                report.append(String.format("%-10s: %d Einträge archiviert\n", normalizedPair, archived));
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Archivierung für " + normalizedPair + " fehlgeschlagen: " + e.getMessage(), e);
+                report.append(String.format("%-10s: ✗ Fehler: %s\n", normalizedPair, e.getMessage()));
+            } finally {
+                fileLock.unlock();
+            }
+        }
+        
+        report.append(String.format("\nZusammenfassung: %d Einträge aus %d Währungspaaren archiviert\n", totalArchived, pairs.size()));
+        LOGGER.info("Archivierung abgeschlossen: " + totalArchived + " Einträge archiviert");
+        return report.toString();
+    }
+    
     /**
      * Validiert die Datenintegrität für alle Währungspaare
      * @return Validierungsbericht
      */
+    @Override
     public String validateAllData() {
         Set<String> pairs = listAvailableCurrencyPairs();
         StringBuilder report = new StringBuilder();
@@ -599,107 +1462,158 @@ public class CurrencyPairDataManager {
     // ===== PRIVATE HILFSMETHODEN =====
     
     /**
-     * Normalisiert den Währungspaar-Namen für Dateinamen
+     * Normalisiert den Währungspaar-Namen für Dateinamen (auch Schlüssel des PairHistoryCache)
+     * Der Dateiname ist im Symbol vorberechnet, bekannte Schreibweisen kosten eine Map-Abfrage.
      */
-    private String normalizeCurrencyPairName(String currencyPair) {
-        if (currencyPair == null) return "UNKNOWN";
-        
-        // Entferne Sonderzeichen und ersetze durch Unterstriche
-        String normalized = currencyPair.replaceAll("[^A-Za-z0-9]", "_");
-        
-        // Entferne mehrfache Unterstriche
-        normalized = normalized.replaceAll("_+", "_");
-        
-        // Entferne führende/abschließende Unterstriche
-        normalized = normalized.replaceAll("^_+|_+$", "");
-        
-        return normalized.toUpperCase();
+    static String normalizeCurrencyPairName(String currencyPair) {
+        return CurrencySymbolRegistry.of(currencyPair).getFileName();
     }
     
     /**
-     * Holt oder erstellt ein File-Lock für ein Währungspaar
+     * Liefert den (lazy erstellten) Thread-Pool für Batch-Schreibvorgänge
      */
-    private ReentrantLock getFileLock(String currencyPair) {
-        return fileLocks.computeIfAbsent(currencyPair, k -> new ReentrantLock());
+    private synchronized ExecutorService getBatchWriteExecutor() {
+        if (batchWriteExecutor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                DEFAULT_BATCH_WRITE_THREADS, DEFAULT_BATCH_WRITE_THREADS,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "CurrencyPair-BatchWriter");
+                    t.setDaemon(true);
+                    return t;
+                });
+            executor.allowCoreThreadTimeOut(true);
+            batchWriteExecutor = executor;
+        }
+        return batchWriteExecutor;
     }
     
     /**
-     * Prüft ob ein Datensatz ein Duplikat ist
+     * Holt oder erstellt die Sperren für ein Währungspaar
      */
-    private boolean isDuplicate(CurrencyPairData newData, Path filePath) {
+    private PairLock getPairLock(String currencyPair) {
+        CurrencySymbol symbol = CurrencySymbolRegistry.of(currencyPair);
+        PairLock lock = pairLocks.get(symbol);
+        return lock != null ? lock : pairLocks.computeIfAbsent(symbol, k -> new PairLock());
+    }
+    
+    /**
+     * Liest die Daten eines Währungspaars aus dem Binär-Backend (Fallback auf CSV bei Fehlern)
+     */
+    private List<CurrencyPairData> readDataFromBinary(String normalizedPair, Path filePath, String currencyPair) {
         if (!Files.exists(filePath)) {
-            return false;
+            return new ArrayList<>();
         }
         
+        // Läuft gerade ein Schreiber, direkt die CSV-Datei lesen statt auf ihn zu warten
+        Lock fileLock = getPairLock(normalizedPair).writer();
+        if (!fileLock.tryLock()) {
+            return readDataFromPath(filePath, currencyPair);
+        }
         try {
-            // Lade die letzten 5 Einträge für Duplikat-Prüfung
-            List<String> lines = Files.readAllLines(filePath, StandardCharsets.UTF_8);
-            
-            if (lines.size() <= 1) { // Nur Header oder leer
-                return false;
-            }
-            
-            String newDataLine = formatCurrencyDataToCsv(newData);
-            
-            // Prüfe die letzten 5 Zeilen auf Duplikate
-            int startIndex = Math.max(1, lines.size() - 5); // Überspringe Header
-            for (int i = startIndex; i < lines.size(); i++) {
-                if (lines.get(i).equals(newDataLine)) {
-                    return true;
-                }
-            }
-            
-            return false;
-            
+            binaryStore.catchUp(normalizedPair, filePath);
+            return binaryStore.readAll(normalizedPair, currencyPair);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Binär-Backend für " + currencyPair + " nicht lesbar - verwende CSV: " + e.getMessage(), e);
+            return readDataFromPath(filePath, currencyPair);
+        } finally {
+            fileLock.unlock();
+        }
+    }
+    
+    /**
+     * Zieht neu geschriebene CSV-Zeilen in die Binärdatei nach (nur bei aktivem Binär-Backend)
+     */
+    private void syncBinaryStore(String normalizedPair, Path filePath) {
+        if (storageBackend != StorageBackend.BINARY) {
+            return;
+        }
+        try {
+            binaryStore.catchUp(normalizedPair, filePath);
         } catch (Exception e) {
-            LOGGER.fine("Fehler bei Duplikat-Prüfung: " + e.getMessage());
-            return false; // Im Zweifel als nicht-Duplikat behandeln
+            LOGGER.log(Level.WARNING, "Binärdatei für " + normalizedPair + " konnte nicht aktualisiert werden: " + e.getMessage(), e);
+            binaryStore.invalidate(normalizedPair);
         }
     }
     
     /**
-     * Prüft ob ein Header benötigt wird
+     * Zieht die laufende Statistik nach einem Append nach (Fehler führen nur zum Verwerfen der Statistik)
      */
-    private boolean needsHeaderCheck(Path filePath) {
+    private void syncStatistics(String normalizedPair, Path filePath) {
         try {
-            if (!Files.exists(filePath)) {
-                return true;
-            }
-            
-            if (Files.size(filePath) == 0) {
-                return true;
-            }
-            
-            try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
-                String firstLine = reader.readLine();
-                return firstLine == null || firstLine.trim().isEmpty() || 
-                       !firstLine.equals(getCurrencyPairCsvHeader());
-            }
-            
+            statisticsTracker.catchUp(normalizedPair, filePath);
         } catch (Exception e) {
-            LOGGER.fine("Fehler bei Header-Prüfung: " + e.getMessage());
-            return false;
+            LOGGER.log(Level.FINE, "Statistik für " + normalizedPair + " konnte nicht aktualisiert werden: " + e.getMessage(), e);
+            statisticsTracker.invalidate(normalizedPair);
         }
     }
     
     /**
-     * Schreibt Daten in eine Datei
+     * Baut die Statistik nach einer Umschreibung neu auf bzw. zieht sie nach (Aufrufer hält das Schreib-Lock)
+     * @return Statistik oder null bei Lesefehlern
      */
-    private void writeDataToFile(Path filePath, CurrencyPairData data, boolean needsHeader) throws IOException {
-        try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8,
-                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
-            
-            if (needsHeader) {
-                writer.write(getCurrencyPairCsvHeader());
-                writer.newLine();
-            }
-            
-            writer.write(formatCurrencyDataToCsv(data));
-            writer.newLine();
-            writer.flush();
+    private RunningPairStatistics refreshStatistics(String normalizedPair) {
+        try {
+            return statisticsTracker.refresh(normalizedPair, currencyDataPath.resolve(normalizedPair + FILE_EXTENSION),
+                () -> {
+                    PairHistory archived = new PairHistory(normalizedPair);
+                    archiveStore.readHistoryRange(normalizedPair, normalizedPair, null, null, archived);
+                    return archived;
+                });
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Statistik für " + normalizedPair + " nicht verfügbar: " + e.getMessage(), e);
+            statisticsTracker.invalidate(normalizedPair);
+            return null;
         }
     }
     
+    /**
+     * Zieht den Zeit-Index nach einem Append nach (Fehler führen nur zum Verwerfen des Index)
+     */
+    private void syncTimeIndex(String normalizedPair, Path filePath) {
+        try {
+            timeIndex.update(normalizedPair, filePath);
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Zeit-Index für " + normalizedPair + " konnte nicht aktualisiert werden: " + e.getMessage(), e);
+            timeIndex.invalidate(normalizedPair);
+        }
+    }
+    
+    /**
+     * Bringt den Zeit-Index unter dem Schreib-Lock auf den aktuellen Stand und führt eine Abfrage aus
+     * Ist das Lock belegt, wird ohne Index gesucht statt zu warten.
+     * @return Ergebnis der Abfrage oder -1 falls kein Index verfügbar ist
+     */
+    private long lookupTimeIndex(String currencyPair, IndexLookup lookup) {
+        String normalizedPair = normalizeCurrencyPairName(currencyPair);
+        Path filePath = currencyDataPath.resolve(normalizedPair + FILE_EXTENSION);
+        if (!Files.exists(filePath)) {
+            return -1;
+        }
+        
+        Lock fileLock = getPairLock(normalizedPair).writer();
+        if (!fileLock.tryLock()) {
+            return -1;
+        }
+        try {
+            timeIndex.update(normalizedPair, filePath);
+            return lookup.apply(timeIndex);
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Zeit-Index für " + normalizedPair + " nicht verwendbar: " + e.getMessage(), e);
+            return -1;
+        } finally {
+            fileLock.unlock();
+        }
+    }
+    
+    /**
+     * Abfrage auf dem Zeit-Index
+     */
+    @FunctionalInterface
+    private interface IndexLookup {
+        long apply(PairTimeIndex index) throws IOException;
+    }
+    
     private List<CurrencyPairData> readDataFromPath(Path filePath, String currencyPair) {
         List<CurrencyPairData> data = new ArrayList<>();
         
@@ -775,25 +1689,32 @@ public class CurrencyPairDataManager {
      * Bereinigt alte Daten für ein einzelnes Währungspaar
      */
     private int cleanupOldDataForPair(String currencyPair, LocalDateTime cutoffDate) {
-        List<CurrencyPairData> allData = readDataForCurrencyPair(currencyPair);
-        
-        List<CurrencyPairData> filteredData = new ArrayList<>();
-        int removedCount = 0;
-        
-        for (CurrencyPairData data : allData) {
-            if (data.getTimestamp().isAfter(cutoffDate)) {
-                filteredData.add(data);
-            } else {
-                removedCount++;
+        // Schreib-Lock über Lesen und Zurückschreiben, damit zwischenzeitliche Appends nicht verloren gehen
+        Lock fileLock = getPairLock(normalizeCurrencyPairName(currencyPair)).writer();
+        fileLock.lock();
+        try {
+            List<CurrencyPairData> allData = readHotDataForCurrencyPair(currencyPair);
+            
+            List<CurrencyPairData> filteredData = new ArrayList<>();
+            int removedCount = 0;
+            
+            for (CurrencyPairData data : allData) {
+                if (data.getTimestamp().isAfter(cutoffDate)) {
+                    filteredData.add(data);
+                } else {
+                    removedCount++;
+                }
             }
+            
+            if (removedCount > 0) {
+                // Schreibe gefilterte Daten zurück
+                rewriteFileWithData(currencyPair, filteredData);
+            }
+            
+            return removedCount;
+        } finally {
+            fileLock.unlock();
         }
-        
-        if (removedCount > 0) {
-            // Schreibe gefilterte Daten zurück
-            rewriteFileWithData(currencyPair, filteredData);
-        }
-        
-        return removedCount;
     }
     
     /**
@@ -804,17 +1725,15 @@ public class CurrencyPairDataManager {
         String filename = normalizedPair + FILE_EXTENSION;
         Path filePath = currencyDataPath.resolve(filename);
         
-        ReentrantLock fileLock = getFileLock(normalizedPair);
+        Lock fileLock = getPairLock(normalizedPair).writer();
         fileLock.lock();
         
+        Path tempFilePath = currencyDataPath.resolve(filename + ".tmp");
+        
         try {
-            // Lösche alte Datei und erstelle neue
-            if (Files.exists(filePath)) {
-                Files.delete(filePath);
-            }
-            
-            try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8,
-                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Neue Datei vollständig als Temp-Datei schreiben und danach atomar austauschen
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFilePath, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
                 
                 // Schreibe Header
                 writer.write(getCurrencyPairCsvHeader());
@@ -829,6 +1748,9 @@ public class CurrencyPairDataManager {
                 writer.flush();
             }
             
+            replaceWithCompactedFile(normalizedPair, filePath, tempFilePath);
+            refreshStatistics(normalizedPair);
+            
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Fehler beim Neuschreiben der Datei für " + currencyPair + ": " + e.getMessage(), e);
             throw new RuntimeException("Konnte Datei nicht neuschreiben", e);
@@ -841,6 +1763,11 @@ public class CurrencyPairDataManager {
      * Validiert Daten für ein einzelnes Währungspaar
      */
     private ValidationResult validateDataForPair(String currencyPair) {
+        RunningPairStatistics running = getRunningStatistics(currencyPair);
+        if (running != null) {
+            return new ValidationResult((int) running.getCount(), (int) running.getValidCount(), (int) running.getInvalidCount());
+        }
+        
         List<CurrencyPairData> data = readDataForCurrencyPair(currencyPair);
         
         int totalRecords = data.size();
@@ -848,10 +1775,7 @@ public class CurrencyPairDataManager {
         int invalidRecords = 0;
         
         for (CurrencyPairData currencyData : data) {
-            if (currencyData.isDataConsistent() && 
-                currencyData.getBuyPercentage() >= 0 && 
-                currencyData.getSellPercentage() >= 0 &&
-                currencyData.getTimestamp() != null) {
+            if (RunningPairStatistics.isValidRecord(currencyData)) {
                 validRecords++;
             } else {
                 invalidRecords++;
@@ -869,35 +1793,26 @@ public class CurrencyPairDataManager {
     }
     private String formatCurrencyDataToCsv(CurrencyPairData data) {
         // Formatiere mit deutschen Dezimaltrennzeichen für Konsistenz mit bestehenden Dateien
-        String buyFormatted = String.format("%.2f", data.getBuyPercentage()).replace(".", ",");
-        String sellFormatted = String.format("%.2f", data.getSellPercentage()).replace(".", ",");
-        
-        return String.format("%s;%s;%s;%s",
-            data.getTimestamp().format(TIMESTAMP_FORMATTER),
-            buyFormatted,
-            sellFormatted,
-            data.getTradingSignal().name()
-        );
+        StringBuilder sb = new StringBuilder(40);
+        CurrencyPairCsvCodec.appendTimestamp(sb, data.getTimestamp()).append(';');
+        CurrencyPairCsvCodec.appendFixed2(sb, data.getBuyPercentage(), ',', CurrencyPairCsvCodec.Rounding.FORMATTER_HALF_UP).append(';');
+        CurrencyPairCsvCodec.appendFixed2(sb, data.getSellPercentage(), ',', CurrencyPairCsvCodec.Rounding.FORMATTER_HALF_UP).append(';');
+        return CurrencyPairCsvCodec.appendSignal(sb, data.getTradingSignal()).toString();
     }
     
     private CurrencyPairData parseCurrencyDataFromCsv(String csvLine, String currencyPair) {
-        String[] parts = csvLine.split(";");
-        if (parts.length != 4) {
+        int[] fieldEnds = new int[4];
+        if (CurrencyPairCsvCodec.splitFields(csvLine, ';', fieldEnds) != 4) {
             throw new IllegalArgumentException("Ungültiges CSV-Format: " + csvLine);
         }
         
         try {
-            LocalDateTime timestamp = LocalDateTime.parse(parts[0], TIMESTAMP_FORMATTER);
-            
-            // *** FIX: Konvertiere deutsche Dezimaltrennzeichen (Komma) zu Punkt ***
-            String buyPercentageStr = parts[1].replace(",", ".");
-            String sellPercentageStr = parts[2].replace(",", ".");
+            LocalDateTime timestamp = CurrencyPairCsvCodec.parseTimestamp(csvLine, 0, fieldEnds[0]);
             
-            double buyPercentage = Double.parseDouble(buyPercentageStr);
-            double sellPercentage = Double.parseDouble(sellPercentageStr);
-            CurrencyPairData.TradingSignal signal = CurrencyPairData.TradingSignal.valueOf(parts[3]);
-            
-            LOGGER.fine("CSV-Zeile erfolgreich geparst: " + currencyPair + " - Buy: " + buyPercentage + "%, Sell: " + sellPercentage + "%");
+            // Komma und Punkt werden als Dezimaltrennzeichen akzeptiert
+            double buyPercentage = CurrencyPairCsvCodec.parseDecimal(csvLine, fieldEnds[0] + 1, fieldEnds[1]);
+            double sellPercentage = CurrencyPairCsvCodec.parseDecimal(csvLine, fieldEnds[1] + 1, fieldEnds[2]);
+            CurrencyPairData.TradingSignal signal = CurrencyPairCsvCodec.parseSignal(csvLine, fieldEnds[2] + 1, fieldEnds[3]);
             
             return new CurrencyPairData(currencyPair, buyPercentage, sellPercentage, signal, timestamp);
             
@@ -917,13 +1832,20 @@ public class CurrencyPairDataManager {
         private final int totalRecords;
         private final LocalDateTime firstEntry;
         private final LocalDateTime lastEntry;
+        private final RunningPairStatistics running;
         
         public CurrencyPairStatistics(String currencyPair, int totalRecords, 
                                     LocalDateTime firstEntry, LocalDateTime lastEntry) {
+            this(currencyPair, totalRecords, firstEntry, lastEntry, null);
+        }
+        
+        public CurrencyPairStatistics(String currencyPair, int totalRecords, 
+                                    LocalDateTime firstEntry, LocalDateTime lastEntry, RunningPairStatistics running) {
             this.currencyPair = currencyPair;
             this.totalRecords = totalRecords;
             this.firstEntry = firstEntry;
             this.lastEntry = lastEntry;
+            this.running = running;
         }
         
         public String getCurrencyPair() { return currencyPair; }
@@ -931,6 +1853,11 @@ public class CurrencyPairDataManager {
         public LocalDateTime getFirstEntry() { return firstEntry; }
         public LocalDateTime getLastEntry() { return lastEntry; }
         
+        /**
+         * Laufende Statistik mit Mittelwert/Varianz und Signalverteilung (null falls nicht verfügbar)
+         */
+        public RunningPairStatistics getRunningStatistics() { return running; }
+        
         @Override
         public String toString() {
             return String.format("CurrencyPairStatistics{pair='%s', records=%d, from=%s, to=%s}",
@@ -938,6 +1865,44 @@ public class CurrencyPairDataManager {
         }
     }
     
+    /**
+     * Ergebnis eines Batch-Schreibvorgangs (ein Scrape-Zyklus)
+     */
+    public static class BatchWriteResult {
+        private final int pairCount;
+        private final int rowsWritten;
+        private final int duplicatesSkipped;
+        private final int errorCount;
+        private final long bytesWritten;
+        private final long durationMillis;
+        private final CurrencyPairAppendEngine.FsyncPolicy fsyncPolicy;
+        
+        public BatchWriteResult(int pairCount, int rowsWritten, int duplicatesSkipped, int errorCount,
+                                long bytesWritten, long durationMillis, CurrencyPairAppendEngine.FsyncPolicy fsyncPolicy) {
+            this.pairCount = pairCount;
+            this.rowsWritten = rowsWritten;
+            this.duplicatesSkipped = duplicatesSkipped;
+            this.errorCount = errorCount;
+            this.bytesWritten = bytesWritten;
+            this.durationMillis = durationMillis;
+            this.fsyncPolicy = fsyncPolicy;
+        }
+        
+        public int getPairCount() { return pairCount; }
+        public int getRowsWritten() { return rowsWritten; }
+        public int getDuplicatesSkipped() { return duplicatesSkipped; }
+        public int getErrorCount() { return errorCount; }
+        public long getBytesWritten() { return bytesWritten; }
+        public long getDurationMillis() { return durationMillis; }
+        public CurrencyPairAppendEngine.FsyncPolicy getFsyncPolicy() { return fsyncPolicy; }
+        
+        @Override
+        public String toString() {
+            return String.format("%d Paare, %d Zeilen geschrieben, %d Duplikate, %d Fehler, %d Bytes in %d ms (fsync=%s)",
+                pairCount, rowsWritten, duplicatesSkipped, errorCount, bytesWritten, durationMillis, fsyncPolicy);
+        }
+    }
+    
     /**
      * Validierungsergebnis-Klasse
      */
@@ -0,0 +1,120 @@
+package com.fxssi.extractor.storage;
+
+import com.fxssi.extractor.model.CurrencyPairData;
+
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Duplikat-Schlüssel einer Tagesdatei als primitive long-Werte
+ * Ein Schlüssel besteht aus Minute seit Epoche (32 Bit) | Währungspaar-ID (16 Bit) | gerundetem Buy-Prozent (16 Bit)
+ * und entspricht damit dem bisherigen String-Schlüssel "yyyy-MM-dd HH:mm|Währungspaar|Buy(%.0f)".
+ * Die Menge verwendet offene Adressierung ohne Objekt pro Eintrag.
+ *
+ * Nicht thread-sicher, der Aufrufer synchronisiert (DataFileManager-Lock).
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class DailyEntryKeySet {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long EMPTY = 0L;
+
+    // Währungspaar -> ID (ab 1, damit ein Schlüssel nie 0 ist)
+    private final Map<String, Integer> pairIds = new HashMap<>();
+    private long[] table = new long[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Fügt den Schlüssel eines Datensatzes hinzu
+     * @return true falls der Schlüssel neu war, false bei Duplikat
+     */
+    public boolean add(CurrencyPairData data) {
+        return addKey(keyOf(data));
+    }
+
+    /**
+     * Prüft, ob der Schlüssel eines Datensatzes bereits enthalten ist
+     */
+    public boolean contains(CurrencyPairData data) {
+        long key = keyOf(data);
+        long[] t = table;
+        int mask = t.length - 1;
+        for (int i = mix(key) & mask; t[i] != EMPTY; i = (i + 1) & mask) {
+            if (t[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Leert die Menge (z.B. bei Tageswechsel)
+     */
+    public void clear() {
+        pairIds.clear();
+        table = new long[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    private long keyOf(CurrencyPairData data) {
+        long minute = Math.floorDiv(data.getTimestamp().toEpochSecond(ZoneOffset.UTC), 60L);
+        int pairId = pairIds.computeIfAbsent(data.getCurrencyPair(), k -> pairIds.size() + 1);
+        long buy = roundHalfUp(data.getBuyPercentage());
+        return (minute << 32) | ((pairId & 0xFFFFL) << 16) | (buy & 0xFFFFL);
+    }
+
+    /**
+     * Rundet wie String.format("%.0f") (HALF_UP, symmetrisch um 0)
+     */
+    private static long roundHalfUp(double value) {
+        return value < 0 ? -Math.round(-value) : Math.round(value);
+    }
+
+    private boolean addKey(long key) {
+        if ((size + 1) * 2 > table.length) {
+            resize();
+        }
+        long[] t = table;
+        int mask = t.length - 1;
+        int i = mix(key) & mask;
+        while (t[i] != EMPTY) {
+            if (t[i] == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        t[i] = key;
+        size++;
+        return true;
+    }
+
+    private void resize() {
+        long[] old = table;
+        long[] t = new long[old.length * 2];
+        int mask = t.length - 1;
+        for (long key : old) {
+            if (key != EMPTY) {
+                int i = mix(key) & mask;
+                while (t[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                t[i] = key;
+            }
+        }
+        table = t;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -4,19 +4,26 @@ import com.fxssi.extractor.model.CurrencyPairData;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 import java.util.logging.Level;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
  * Dateimanagement-Klasse für das Speichern und Verwalten der FXSSI-Daten
@@ -31,11 +38,18 @@ public class DataFileManager {
     private static final String FILE_EXTENSION = ".csv";
     private static final String DATE_FORMAT = "yyyy-MM-dd";
     private static final String FILE_PREFIX = "fxssi_data_";
+    private static final String ARCHIVE_SUBDIRECTORY = "archive";
+    private static final String ARCHIVE_EXTENSION = ".zip";
     
     private final String dataDirectory;
     private final Path dataPath;
     private final ReentrantLock fileLock = new ReentrantLock();
     
+    // Duplikat-Schlüssel der aktuellen Tagesdatei (einmal geladen, bei Tageswechsel oder fremder Änderung neu)
+    private final DailyEntryKeySet entryKeys = new DailyEntryKeySet();
+    private Path entryKeysFile;
+    private long entryKeysFileSize = -1;
+    
     /**
      * Konstruktor
      * @param dataDirectory Pfad zum Datenverzeichnis
@@ -93,7 +107,14 @@ public class DataFileManager {
             boolean needsHeader = needsHeaderCheck(filePath);
             
             // Schreibe Daten
-            writeDataToFile(filePath, filteredData, needsHeader);
+            try {
+                writeDataToFile(filePath, filteredData, needsHeader);
+                entryKeysFileSize = Files.size(filePath);
+            } catch (IOException e) {
+                // Schlüssel der nicht geschriebenen Daten verwerfen
+                invalidateEntryKeys();
+                throw e;
+            }
             
             LOGGER.info("Erfolgreich " + filteredData.size() + " neue Datensätze in " + filename + " gespeichert");
             
@@ -107,45 +128,22 @@ public class DataFileManager {
     
     /**
      * Filtert Duplikate basierend auf bereits existierenden Daten
+     * Die Schlüssel der Tagesdatei werden nur beim ersten Zugriff, bei Tageswechsel oder nach
+     * Änderungen außerhalb von appendDataToFile neu eingelesen. Neue Datensätze werden sofort
+     * in die Schlüsselmenge übernommen.
      */
     private List<CurrencyPairData> filterDuplicates(List<CurrencyPairData> newData, Path filePath) {
         List<CurrencyPairData> filteredData = new ArrayList<>();
         
         try {
-            // Lade existierende Daten falls Datei existiert
-            Set<String> existingEntries = new HashSet<>();
-            
-            if (Files.exists(filePath)) {
-                List<CurrencyPairData> existingData = readDataFromPath(filePath);
-                
-                // Erstelle Set von existierenden Einträgen (basierend auf Zeitstempel + Währungspaar)
-                for (CurrencyPairData data : existingData) {
-                    String entryKey = createEntryKey(data);
-                    existingEntries.add(entryKey);
-                }
-                
-                LOGGER.fine("Geladene existierende Einträge: " + existingEntries.size());
-            }
-            
-            // Filtere neue Daten
-            Set<String> seenInNewData = new HashSet<>();
+            ensureEntryKeysLoaded(filePath);
             
             for (CurrencyPairData data : newData) {
-                String entryKey = createEntryKey(data);
-                
-                // Überspringe wenn bereits in Datei vorhanden
-                if (existingEntries.contains(entryKey)) {
-                    LOGGER.fine("Duplikat übersprungen (bereits in Datei): " + data.getCurrencyPair());
+                // Überspringe wenn bereits in Datei oder in neuen Daten vorhanden
+                if (!entryKeys.add(data)) {
+                    LOGGER.fine("Duplikat übersprungen: " + data.getCurrencyPair());
                     continue;
                 }
-                
-                // Überspringe wenn bereits in neuen Daten vorhanden
-                if (seenInNewData.contains(entryKey)) {
-                    LOGGER.fine("Duplikat übersprungen (bereits in neuen Daten): " + data.getCurrencyPair());
-                    continue;
-                }
-                
-                seenInNewData.add(entryKey);
                 filteredData.add(data);
             }
             
@@ -153,6 +151,7 @@ public class DataFileManager {
             
         } catch (Exception e) {
             LOGGER.log(Level.WARNING, "Fehler bei Duplikat-Filterung, verwende alle Daten: " + e.getMessage(), e);
+            invalidateEntryKeys();
             return new ArrayList<>(newData);
         }
         
@@ -160,12 +159,34 @@ public class DataFileManager {
     }
     
     /**
-     * Erstellt einen eindeutigen Schlüssel für einen Datensatz
+     * Lädt die Schlüssel der Tagesdatei, falls sie für eine andere Datei (Tageswechsel)
+     * oder einen anderen Dateistand geladen wurden
      */
-    private String createEntryKey(CurrencyPairData data) {
-        // Verwende Zeitstempel (auf Minute genau) + Währungspaar + Buy-Percentage
-        DateTimeFormatter keyFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-        return data.getTimestamp().format(keyFormatter) + "|" + data.getCurrencyPair() + "|" + String.format("%.0f", data.getBuyPercentage());
+    private void ensureEntryKeysLoaded(Path filePath) throws IOException {
+        long currentSize = Files.exists(filePath) ? Files.size(filePath) : -1;
+        if (filePath.equals(entryKeysFile) && currentSize == entryKeysFileSize) {
+            return;
+        }
+        
+        entryKeys.clear();
+        if (currentSize >= 0) {
+            for (CurrencyPairData data : readDataFromPath(filePath)) {
+                entryKeys.add(data);
+            }
+        }
+        entryKeysFile = filePath;
+        entryKeysFileSize = currentSize;
+        
+        LOGGER.fine("Duplikat-Schlüssel geladen für " + filePath.getFileName() + ": " + entryKeys.size());
+    }
+    
+    /**
+     * Verwirft die zwischengespeicherten Duplikat-Schlüssel
+     */
+    private void invalidateEntryKeys() {
+        entryKeys.clear();
+        entryKeysFile = null;
+        entryKeysFileSize = -1;
     }
     
     /**
@@ -238,6 +259,13 @@ public class DataFileManager {
      */
     public List<CurrencyPairData> readDataFromFile(String filename) {
         Path filePath = dataPath.resolve(filename);
+        if (!Files.exists(filePath)) {
+            // Archivierte Tagesdatei transparent aus dem Monatsarchiv lesen
+            List<CurrencyPairData> archived = readDataFromArchive(filename);
+            if (archived != null) {
+                return archived;
+            }
+        }
         return readDataFromPath(filePath);
     }
     
@@ -245,47 +273,82 @@ public class DataFileManager {
      * Liest Daten aus einem spezifischen Pfad
      */
     private List<CurrencyPairData> readDataFromPath(Path filePath) {
-        List<CurrencyPairData> currencyData = new ArrayList<>();
-        
         if (!Files.exists(filePath)) {
             LOGGER.fine("Datei existiert nicht: " + filePath.getFileName());
-            return currencyData;
+            return new ArrayList<>();
         }
         
         try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
-            String line;
-            boolean isFirstLine = true;
-            int lineNumber = 1;
-            
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                
-                // Überspringe Header-Zeile
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    if (line.equals(CurrencyPairData.getCsvHeader())) {
-                        continue; // Gültiger Header
-                    } else {
-                        // Erste Zeile ist kein Header, behandle als Datenzeile
-                        LOGGER.fine("Keine Header-Zeile gefunden, beginne mit Datenzeile 1");
-                        lineNumber = 1; // Reset für korrekte Zeilennummerierung
-                    }
-                }
-                
-                try {
-                    CurrencyPairData data = CurrencyPairData.fromCsvLine(line);
-                    currencyData.add(data);
-                } catch (IllegalArgumentException e) {
-                    LOGGER.fine("Ungültige CSV-Zeile " + lineNumber + " übersprungen: " + line);
+            return readDataFromReader(reader, filePath.getFileName().toString());
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Lesen der Datei " + filePath.getFileName() + ": " + e.getMessage(), e);
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Liest eine Tagesdatei aus dem Monatsarchiv
+     * @return Datensätze oder null, falls die Datei nicht archiviert ist
+     */
+    private List<CurrencyPairData> readDataFromArchive(String filename) {
+        LocalDate fileDate = extractDateFromFilename(filename);
+        if (fileDate == null) {
+            return null;
+        }
+        Path archiveFile = getArchiveFile(fileDate);
+        if (!Files.exists(archiveFile)) {
+            return null;
+        }
+        
+        // Das zentrale Verzeichnis der ZIP-Datei dient als Index: nur der gesuchte Tag wird entpackt
+        try (ZipFile zipFile = new ZipFile(archiveFile.toFile(), StandardCharsets.UTF_8)) {
+            ZipEntry entry = zipFile.getEntry(filename);
+            if (entry == null) {
+                return null;
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(zipFile.getInputStream(entry), StandardCharsets.UTF_8))) {
+                return readDataFromReader(reader, filename);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Lesen des Archivs " + archiveFile.getFileName() + ": " + e.getMessage(), e);
+            return null;
+        }
+    }
+    
+    /**
+     * Parst die Zeilen einer Tagesdatei
+     */
+    private List<CurrencyPairData> readDataFromReader(BufferedReader reader, String filename) throws IOException {
+        List<CurrencyPairData> currencyData = new ArrayList<>();
+        String line;
+        boolean isFirstLine = true;
+        int lineNumber = 1;
+        
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            
+            // Überspringe Header-Zeile
+            if (isFirstLine) {
+                isFirstLine = false;
+                if (line.equals(CurrencyPairData.getCsvHeader())) {
+                    continue; // Gültiger Header
+                } else {
+                    // Erste Zeile ist kein Header, behandle als Datenzeile
+                    LOGGER.fine("Keine Header-Zeile gefunden, beginne mit Datenzeile 1");
+                    lineNumber = 1; // Reset für korrekte Zeilennummerierung
                 }
             }
             
-            LOGGER.fine("Erfolgreich " + currencyData.size() + " Datensätze aus " + filePath.getFileName() + " gelesen");
-            
-        } catch (IOException e) {
-            LOGGER.log(Level.WARNING, "Fehler beim Lesen der Datei " + filePath.getFileName() + ": " + e.getMessage(), e);
+            try {
+                CurrencyPairData data = CurrencyPairData.fromCsvLine(line);
+                currencyData.add(data);
+            } catch (IllegalArgumentException e) {
+                LOGGER.fine("Ungültige CSV-Zeile " + lineNumber + " übersprungen: " + line);
+            }
         }
         
+        LOGGER.fine("Erfolgreich " + currencyData.size() + " Datensätze aus " + filename + " gelesen");
+        
         return currencyData;
     }
     
@@ -416,6 +479,142 @@ public class DataFileManager {
         }
     }
     
+    /**
+     * NEU: Verschiebt Tagesdateien älter als die angegebene Anzahl Tage in komprimierte Monatsarchive
+     * (data/archive/fxssi_data_yyyy-MM.zip, ein Eintrag pro Tag). readDataFromFile/readDataForDate
+     * lesen archivierte Tage weiterhin transparent.
+     * @param daysToKeep Anzahl Tage, die als einzelne CSV-Dateien erhalten bleiben
+     * @return Anzahl archivierter Tagesdateien
+     */
+    public int archiveOldFiles(int daysToKeep) {
+        LOGGER.info("Beginne Archivierung von Dateien älter als " + daysToKeep + " Tage");
+        
+        LocalDate cutoffDate = LocalDate.now().minusDays(daysToKeep);
+        int archivedFiles = 0;
+        
+        fileLock.lock();
+        try {
+            // Kandidaten nach Monatsarchiv gruppieren, damit jedes Archiv nur einmal neu geschrieben wird
+            Map<Path, List<Path>> candidatesByArchive = new TreeMap<>();
+            try (Stream<Path> paths = Files.list(dataPath)) {
+                paths.filter(path -> path.toString().endsWith(FILE_EXTENSION))
+                    .filter(path -> path.getFileName().toString().startsWith(FILE_PREFIX))
+                    .sorted()
+                    .forEach(path -> {
+                        LocalDate fileDate = extractDateFromFilename(path.getFileName().toString());
+                        if (fileDate != null && fileDate.isBefore(cutoffDate)) {
+                            candidatesByArchive.computeIfAbsent(getArchiveFile(fileDate), key -> new ArrayList<>()).add(path);
+                        }
+                    });
+            }
+            
+            for (Map.Entry<Path, List<Path>> month : candidatesByArchive.entrySet()) {
+                try {
+                    archiveMonth(month.getKey(), month.getValue());
+                    archivedFiles += month.getValue().size();
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Fehler beim Archivieren nach " + month.getKey().getFileName() + ": " + e.getMessage(), e);
+                }
+            }
+            
+            if (archivedFiles > 0) {
+                invalidateEntryKeys();
+            }
+            LOGGER.info("Archivierung abgeschlossen - " + archivedFiles + " Dateien archiviert");
+            
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Fehler bei der Archivierung: " + e.getMessage(), e);
+        } finally {
+            fileLock.unlock();
+        }
+        
+        return archivedFiles;
+    }
+    
+    /**
+     * Listet alle archivierten Tagesdateien auf (Dateinamen wie bei listDataFiles)
+     * @return Liste der archivierten Dateinamen
+     */
+    public List<String> listArchivedDataFiles() {
+        List<String> files = new ArrayList<>();
+        Path archivePath = dataPath.resolve(ARCHIVE_SUBDIRECTORY);
+        if (!Files.isDirectory(archivePath)) {
+            return files;
+        }
+        
+        try (Stream<Path> paths = Files.list(archivePath)) {
+            List<Path> archiveFiles = new ArrayList<>();
+            paths.filter(path -> path.getFileName().toString().startsWith(FILE_PREFIX))
+                .filter(path -> path.toString().endsWith(ARCHIVE_EXTENSION))
+                .forEach(archiveFiles::add);
+            
+            for (Path archiveFile : archiveFiles) {
+                try (ZipFile zipFile = new ZipFile(archiveFile.toFile(), StandardCharsets.UTF_8)) {
+                    zipFile.stream().forEach(entry -> files.add(entry.getName()));
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Auflisten der Archive: " + e.getMessage(), e);
+        }
+        
+        files.sort(null);
+        return files;
+    }
+    
+    /**
+     * Schreibt die Tagesdateien eines Monats als komprimierte Einträge in das Monatsarchiv und löscht sie danach
+     * Das Archiv wird einmal kopiert, in einem Durchgang ergänzt und einmal ersetzt.
+     * Existiert ein Tag bereits im Archiv, werden die Datenzeilen angehängt.
+     */
+    private void archiveMonth(Path archiveFile, List<Path> dayFiles) throws IOException {
+        Files.createDirectories(archiveFile.getParent());
+        
+        // Über Temp-Kopie schreiben, damit ein Abbruch das bestehende Archiv nicht beschädigt
+        Path tempFile = archiveFile.resolveSibling(archiveFile.getFileName() + ".tmp");
+        Files.deleteIfExists(tempFile);
+        if (Files.exists(archiveFile)) {
+            Files.copy(archiveFile, tempFile);
+        }
+        
+        Map<String, Object> env = new HashMap<>();
+        env.put("create", "true");
+        try {
+            try (FileSystem zipFs = FileSystems.newFileSystem(tempFile, env)) {
+                for (Path filePath : dayFiles) {
+                    Path entry = zipFs.getPath(filePath.getFileName().toString());
+                    if (Files.exists(entry)) {
+                        List<String> dataLines = new ArrayList<>();
+                        for (String line : Files.readAllLines(filePath, StandardCharsets.UTF_8)) {
+                            if (!line.equals(CurrencyPairData.getCsvHeader()) && !line.trim().isEmpty()) {
+                                dataLines.add(line);
+                            }
+                        }
+                        Files.write(entry, dataLines, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+                    } else {
+                        Files.copy(filePath, entry);
+                    }
+                }
+            }
+            Files.move(tempFile, archiveFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        
+        for (Path filePath : dayFiles) {
+            Files.delete(filePath);
+        }
+        LOGGER.info(dayFiles.size() + " Dateien archiviert -> " + archiveFile.getFileName());
+    }
+    
+    /**
+     * Gibt das Monatsarchiv für ein Datum zurück
+     */
+    private Path getArchiveFile(LocalDate date) {
+        return dataPath.resolve(ARCHIVE_SUBDIRECTORY)
+            .resolve(FILE_PREFIX + date.format(DateTimeFormatter.ofPattern("yyyy-MM")) + ARCHIVE_EXTENSION);
+    }
+    
     /**
      * Erstellt eine Backup-Kopie der heutigen Datei
      */
@@ -11,14 +11,16 @@ import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
+import com.fxssi.extractor.model.CurrencyPairCsvCodec;
 import com.fxssi.extractor.model.CurrencyPairData;
+import com.fxssi.extractor.model.CurrencySymbol;
+import com.fxssi.extractor.model.CurrencySymbolMap;
+import com.fxssi.extractor.model.CurrencySymbolRegistry;
 import com.fxssi.extractor.notification.EmailConfig;
 
 /**
@@ -45,8 +47,8 @@ public class LastSentSignalManager {
     private final Path mtSyncFilePath; // NEU: Pfad zur MetaTrader-Sync-Datei
     private final ReentrantLock managerLock = new ReentrantLock();
 
-    // Cache für zuletzt gesendete Signale pro Währungspaar
-    private final ConcurrentHashMap<String, LastSentSignal> lastSentSignals;
+    // Cache für zuletzt gesendete Signale pro Währungspaar (indiziert über die Symbol-ID)
+    private final CurrencySymbolMap<LastSentSignal> lastSentSignals;
 
     // NEU: Referenz zur EmailConfig für MetaTrader-Sync
     private EmailConfig emailConfig;
@@ -69,7 +71,7 @@ public class LastSentSignalManager {
         this.lastSentFilePath = signalChangesPath.resolve(LAST_SENT_FILE);
         this.mtSyncFilePath = signalChangesPath.resolve(MT_SYNC_FILE); // NEU
 
-        this.lastSentSignals = new ConcurrentHashMap<>();
+        this.lastSentSignals = new CurrencySymbolMap<>();
 
         LOGGER.info("LastSentSignalManager initialisiert für Verzeichnis: " + dataDirectory);
         LOGGER.info("Letzte gesendete Signale werden gespeichert in: " + lastSentFilePath.toAbsolutePath());
@@ -149,7 +151,7 @@ public class LastSentSignalManager {
 
                     try {
                         LastSentSignal lastSent = LastSentSignal.fromCsvLine(line);
-                        lastSentSignals.put(lastSent.getCurrencyPair(), lastSent);
+                        lastSentSignals.put(CurrencySymbolRegistry.of(lastSent.getCurrencyPair()), lastSent);
                         loadedCount++;
                         LOGGER.fine("DEBUG: Signal geladen: " + lastSent.toString());
                     } catch (Exception e) {
@@ -166,9 +168,8 @@ public class LastSentSignalManager {
                 LOGGER.info("DEBUG:   - Cache-Größe: " + lastSentSignals.size());
 
                 LOGGER.info("DEBUG: Geladene Signale:");
-                for (Map.Entry<String, LastSentSignal> entry : lastSentSignals.entrySet()) {
-                    LOGGER.info("DEBUG:   " + entry.getKey() + " -> " + entry.getValue().toString());
-                }
+                lastSentSignals.forEach((symbol, signal) ->
+                        LOGGER.info("DEBUG:   " + symbol + " -> " + signal.toString()));
 
                 LOGGER.info("Letzte gesendete Signale geladen: " + lastSentSignals.size() + " Währungspaare");
 
@@ -208,7 +209,7 @@ public class LastSentSignalManager {
             double thresholdPercent) {
         managerLock.lock();
         try {
-            LastSentSignal lastSent = lastSentSignals.get(currencyPair);
+            LastSentSignal lastSent = lastSentSignals.get(CurrencySymbolRegistry.of(currencyPair));
 
             // Wenn noch nie eine E-Mail gesendet wurde, sende erste E-Mail
             if (lastSent == null) {
@@ -258,7 +259,7 @@ public class LastSentSignalManager {
                     buyPercentage,
                     LocalDateTime.now());
 
-            lastSentSignals.put(currencyPair, lastSent);
+            lastSentSignals.put(CurrencySymbolRegistry.of(currencyPair), lastSent);
 
             LOGGER.info(String.format("Signal registriert: %s - %s (%.1f%%)",
                     currencyPair, signal.getDescription(), buyPercentage));
@@ -339,8 +340,8 @@ public class LastSentSignalManager {
             for (LastSentSignal signal : lastSentSignals.values()) {
                 String currencyPair = signal.getCurrencyPair();
 
-                // NEU: Währungsersetzung für MetaTrader
-                String mtCurrencyPair = replaceCurrencyForMetaTrader(currencyPair);
+                // NEU: Währungsersetzung für MetaTrader (im Symbol vorberechnet)
+                String mtCurrencyPair = CurrencySymbolRegistry.of(currencyPair).getLastSentSyncSymbol();
 
                 // Format: Währungspaar;Signal
                 String line = String.format("%s;%s",
@@ -358,32 +359,6 @@ public class LastSentSignalManager {
                 " (" + lastSentSignals.size() + " Einträge)");
     }
 
-    /**
-     * NEU: Ersetzt spezielle Währungspaare für MetaTrader
-     * XAUUSD → GOLD
-     * XAGUSD → SILBER
-     * 
-     * @param currencyPair Original-Währungspaar
-     * @return Ersetztes Währungspaar für MetaTrader
-     */
-    private String replaceCurrencyForMetaTrader(String currencyPair) {
-        if (currencyPair == null) {
-            return currencyPair;
-        }
-
-        // Ersetze XAUUSD mit GOLD
-        if (currencyPair.equalsIgnoreCase("XAUUSD") || currencyPair.equalsIgnoreCase("XAU/USD")) {
-            return "GOLD";
-        }
-
-        // Ersetze XAGUSD mit SILBER
-        if (currencyPair.equalsIgnoreCase("XAGUSD") || currencyPair.equalsIgnoreCase("XAG/USD")) {
-            return "SILBER";
-        }
-
-        return currencyPair;
-    }
-
     /**
      * NEU: Kopiert die MetaTrader-Sync-Datei in ein Zielverzeichnis
      * 
@@ -432,8 +407,7 @@ public class LastSentSignalManager {
 
             if (!lastSentSignals.isEmpty()) {
                 stats.append("\nLetzte gesendete Signale:\n");
-                for (Map.Entry<String, LastSentSignal> entry : lastSentSignals.entrySet()) {
-                    LastSentSignal signal = entry.getValue();
+                for (LastSentSignal signal : lastSentSignals.values()) {
                     stats.append(String.format("  %s: %s (%.1f%%) - %s\n",
                             signal.getCurrencyPair(),
                             signal.getSignal().getDescription(),
@@ -471,14 +445,14 @@ public class LastSentSignalManager {
      * Gibt das zuletzt gesendete Signal für ein Währungspaar zurück
      */
     public LastSentSignal getLastSentSignal(String currencyPair) {
-        return lastSentSignals.get(currencyPair);
+        return lastSentSignals.get(CurrencySymbolRegistry.of(currencyPair));
     }
 
     /**
      * Prüft ob für ein Währungspaar bereits ein Signal gesendet wurde
      */
     public boolean hasLastSentSignal(String currencyPair) {
-        return lastSentSignals.containsKey(currencyPair);
+        return lastSentSignals.containsKey(CurrencySymbolRegistry.of(currencyPair));
     }
 
     /**
@@ -494,7 +468,7 @@ public class LastSentSignalManager {
     public void clearLastSentSignal(String currencyPair) {
         managerLock.lock();
         try {
-            if (lastSentSignals.remove(currencyPair) != null) {
+            if (lastSentSignals.remove(CurrencySymbolRegistry.of(currencyPair)) != null) {
                 LOGGER.info("Letztes gesendetes Signal gelöscht für: " + currencyPair);
                 saveLastSentSignals();
 
@@ -529,12 +503,14 @@ public class LastSentSignalManager {
             LOGGER.fine("Cutoff-Datum: " + cutoffDate.format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss")));
 
             // Entferne alle Einträge die älter als cutoffDate sind
-            List<String> keysToRemove = lastSentSignals.entrySet().stream()
-                    .filter(entry -> entry.getValue().getSentTime().isBefore(cutoffDate))
-                    .map(Map.Entry::getKey)
+            List<CurrencySymbol> keysToRemove = lastSentSignals.keys().stream()
+                    .filter(symbol -> {
+                        LastSentSignal signal = lastSentSignals.get(symbol);
+                        return signal != null && signal.getSentTime().isBefore(cutoffDate);
+                    })
                     .collect(Collectors.toList());
 
-            for (String key : keysToRemove) {
+            for (CurrencySymbol key : keysToRemove) {
                 LastSentSignal removed = lastSentSignals.remove(key);
                 if (removed != null) {
                     removedCount++;
@@ -604,9 +580,8 @@ public class LastSentSignalManager {
             LOGGER.info("DEBUG: Datei existiert vor Schreibung: " + Files.exists(lastSentFilePath));
 
             LOGGER.info("DEBUG: Cache enthält " + lastSentSignals.size() + " Einträge:");
-            for (Map.Entry<String, LastSentSignal> entry : lastSentSignals.entrySet()) {
-                LOGGER.info("DEBUG:   " + entry.getKey() + " -> " + entry.getValue().toCsvLine());
-            }
+            lastSentSignals.forEach((symbol, signal) ->
+                    LOGGER.info("DEBUG:   " + symbol + " -> " + signal.toCsvLine()));
 
             LOGGER.info("DEBUG: Öffne BufferedWriter...");
             try (BufferedWriter writer = Files.newBufferedWriter(lastSentFilePath, StandardCharsets.UTF_8)) {
@@ -690,17 +665,16 @@ public class LastSentSignalManager {
          * Erstellt LastSentSignal aus CSV-Zeile
          */
         public static LastSentSignal fromCsvLine(String csvLine) {
-            String[] parts = csvLine.split(";");
-            if (parts.length != 4) {
+            int[] fieldEnds = new int[4];
+            if (CurrencyPairCsvCodec.splitFields(csvLine, ';', fieldEnds) != 4) {
                 throw new IllegalArgumentException("Ungültiges LastSent CSV-Format: " + csvLine);
             }
 
             try {
-                String currencyPair = parts[0];
-                CurrencyPairData.TradingSignal signal = CurrencyPairData.TradingSignal.valueOf(parts[1]);
-                double buyPercentage = Double.parseDouble(parts[2].replace(",", "."));
-                LocalDateTime sentTime = LocalDateTime.parse(parts[3],
-                        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+                String currencyPair = csvLine.substring(0, fieldEnds[0]);
+                CurrencyPairData.TradingSignal signal = CurrencyPairCsvCodec.parseSignal(csvLine, fieldEnds[0] + 1, fieldEnds[1]);
+                double buyPercentage = CurrencyPairCsvCodec.parseDecimal(csvLine, fieldEnds[1] + 1, fieldEnds[2]);
+                LocalDateTime sentTime = CurrencyPairCsvCodec.parseTimestamp(csvLine, fieldEnds[2] + 1, fieldEnds[3]);
 
                 return new LastSentSignal(currencyPair, signal, buyPercentage, sentTime);
             } catch (Exception e) {
@@ -712,11 +686,11 @@ public class LastSentSignalManager {
          * Formatiert als CSV-Zeile für Speicherung
          */
         public String toCsvLine() {
-            return String.format("%s;%s;%.2f;%s",
-                    currencyPair,
-                    signal.name(),
-                    buyPercentage,
-                    sentTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            StringBuilder sb = new StringBuilder(48);
+            sb.append(currencyPair).append(';');
+            CurrencyPairCsvCodec.appendSignal(sb, signal).append(';');
+            CurrencyPairCsvCodec.appendFixed2DefaultLocale(sb, buyPercentage).append(';');
+            return CurrencyPairCsvCodec.appendTimestamp(sb, sentTime).toString();
         }
 
         /**
@@ -0,0 +1,328 @@
+package com.fxssi.extractor.storage;
+
+import com.fxssi.extractor.model.CurrencyPairCsvCodec;
+import com.fxssi.extractor.model.CurrencyPairData;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Seitenweiser Leser für eine Währungspaar-CSV-Datei
+ * Da die Zeilen zeitlich sortiert sind, wird der Beginn eines Zeitfensters per Binärsuche
+ * über die Byte-Positionen gefunden. Die Zeilen werden über einen wiederverwendbaren Cursor
+ * (Flyweight) gelesen, ohne pro Zeile Objekte zu erzeugen.
+ *
+ * Gelesen wird mit positionellen FileChannel-Reads in einen wiederverwendbaren Heap-Puffer (eine Seite).
+ * Bewusst kein Memory-Mapping: unter Windows lässt sich eine Datei mit offenem Mapping weder ersetzen
+ * noch löschen, und ein Mapping wird erst vom GC freigegeben. Nach close() ist die Datei sofort frei
+ * für Verdichtung, Bereinigung und Archivierung.
+ *
+ * Zeitstempel werden als Sekunden seit 1970-01-01T00:00 (lokale Zeit, ohne Zeitzone) geliefert.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class PagedPairDataReader implements Closeable {
+
+    // Feste Länge des Zeitstempels "yyyy-MM-dd HH:mm:ss"
+    private static final int TIMESTAMP_LENGTH = CurrencyPairCsvCodec.TIMESTAMP_LENGTH;
+
+    // Größe der Lese-Seite (deutlich länger als jede CSV-Zeile)
+    private static final int PAGE_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final int size;
+    private final ByteBuffer page;
+    private int pageStart;
+    private int pageLength;
+
+    private PagedPairDataReader(FileChannel channel, int size) {
+        this.channel = channel;
+        this.size = size;
+        this.page = ByteBuffer.allocate(Math.min(PAGE_SIZE, Math.max(1, size)));
+    }
+
+    /**
+     * Öffnet eine Währungspaar-Datei; gelesen wird der Inhalt bis zur Dateigröße beim Öffnen
+     * @param csvFile Pfad zur CSV-Datei
+     * @return Leser oder null, falls die Datei nicht existiert
+     */
+    public static PagedPairDataReader open(Path csvFile) throws IOException {
+        if (!Files.exists(csvFile)) {
+            return null;
+        }
+
+        FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Datei zu groß für den Zeitfenster-Leser: " + csvFile);
+            }
+            return new PagedPairDataReader(channel, (int) fileSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Liefert einen Cursor über alle Zeilen
+     */
+    public Cursor cursor() {
+        return new Cursor(0, size, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Liefert einen Cursor über das Zeitfenster [from, to)
+     * @param from Beginn (inklusiv), null für Dateianfang
+     * @param to Ende (exklusiv), null für Dateiende
+     */
+    public Cursor window(LocalDateTime from, LocalDateTime to) {
+        return window(from, to, 0);
+    }
+
+    /**
+     * Liefert einen Cursor über das Zeitfenster [from, to) mit bekanntem Suchbeginn (z.B. aus dem Zeit-Index)
+     * @param from Beginn (inklusiv), null für Dateianfang
+     * @param to Ende (exklusiv), null für Dateiende
+     * @param startHint Zeilenanfang, vor dem keine Zeile des Fensters liegt
+     */
+    public Cursor window(LocalDateTime from, LocalDateTime to, long startHint) {
+        long fromSeconds = from != null ? from.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+        long toSeconds = to != null ? to.toEpochSecond(ZoneOffset.UTC) : Long.MAX_VALUE;
+        int lowerBound = (int) Math.max(0, Math.min(startHint, size));
+
+        int start = from != null ? findFirstLineAtOrAfter(fromSeconds, lowerBound) : lowerBound;
+        int end = to != null ? findFirstLineAtOrAfter(toSeconds, start) : size;
+        return new Cursor(start, Math.max(start, end), fromSeconds, toSeconds);
+    }
+
+    /**
+     * Byte-Position der ersten Zeile mit Zeitstempel >= epochSeconds (Dateigröße falls keine)
+     */
+    public int findFirstLineAtOrAfter(long epochSeconds) {
+        return findFirstLineAtOrAfter(epochSeconds, 0);
+    }
+
+    /**
+     * Wie findFirstLineAtOrAfter, sucht aber erst ab der Byte-Position lowerBound
+     */
+    public int findFirstLineAtOrAfter(long epochSeconds, int lowerBound) {
+        int low = lowerBound;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int lineStart = parseableLineStartAtOrAfter(mid);
+            if (lineStart < size && parseTimestamp(lineStart) < epochSeconds) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return parseableLineStartAtOrAfter(low);
+    }
+
+    /**
+     * Gibt die Dateigröße beim Öffnen zurück
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    /**
+     * Stellt sicher, dass [position, position + length) in der Seite liegt (soweit die Datei reicht)
+     */
+    private void ensure(int position, int length) {
+        int end = Math.min(size, position + length);
+        if (position >= pageStart && end <= pageStart + pageLength) {
+            return;
+        }
+        try {
+            page.clear();
+            while (page.hasRemaining()) {
+                int read = channel.read(page, (long) position + page.position());
+                if (read < 0) {
+                    break;
+                }
+            }
+            pageStart = position;
+            pageLength = Math.min(page.position(), size - position);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Fehler beim Lesen der Währungspaar-Datei", e);
+        }
+    }
+
+    private byte byteAt(int position) {
+        ensure(position, 1);
+        return page.get(position - pageStart);
+    }
+
+    private int lineStartAtOrAfter(int position) {
+        if (position <= 0) {
+            return 0;
+        }
+        int p = position;
+        if (byteAt(p - 1) == '\n') {
+            return p;
+        }
+        while (p < size && byteAt(p) != '\n') {
+            p++;
+        }
+        return Math.min(size, p + 1);
+    }
+
+    /**
+     * Nächster Zeilenanfang ab position, dessen Zeile einen gültigen Zeitstempel hat (Header/Leerzeilen werden übersprungen)
+     */
+    private int parseableLineStartAtOrAfter(int position) {
+        int lineStart = lineStartAtOrAfter(position);
+        while (lineStart < size && parseTimestamp(lineStart) == Long.MIN_VALUE) {
+            lineStart = lineStartAtOrAfter(lineStart + 1);
+        }
+        return lineStart;
+    }
+
+    private int lineEnd(int lineStart) {
+        int p = lineStart;
+        while (p < size && byteAt(p) != '\n') {
+            p++;
+        }
+        return p;
+    }
+
+    /**
+     * Parst "yyyy-MM-dd HH:mm:ss" an der Position ohne Objekterzeugung
+     * @return Sekunden seit Epoche oder Long.MIN_VALUE bei ungültigem Format
+     */
+    private long parseTimestamp(int p) {
+        ensure(p, TIMESTAMP_LENGTH);
+        return CurrencyPairCsvCodec.parseEpochSeconds(page, p - pageStart, Math.min(pageLength, size - pageStart));
+    }
+
+    // ===== INNERE KLASSEN =====
+
+    /**
+     * Wiederverwendbarer Zeilen-Cursor (Flyweight)
+     * Nach next() == true beschreiben die Getter die aktuelle Zeile.
+     */
+    public class Cursor {
+        private final int end;
+        private final long fromSeconds;
+        private final long toSeconds;
+        private int position;
+
+        private long epochSecond;
+        private int buyHundredths;
+        private int sellHundredths;
+        private CurrencyPairData.TradingSignal signal;
+
+        private Cursor(int start, int end, long fromSeconds, long toSeconds) {
+            this.position = start;
+            this.end = end;
+            this.fromSeconds = fromSeconds;
+            this.toSeconds = toSeconds;
+        }
+
+        /**
+         * Springt zur nächsten gültigen Zeile im Fenster
+         * @return false wenn keine weitere Zeile vorhanden ist
+         */
+        public boolean next() {
+            while (position < end) {
+                int lineStart = position;
+                int lineEnd = lineEnd(lineStart);
+                position = lineEnd + 1;
+
+                if (parseLine(lineStart, lineEnd) && epochSecond >= fromSeconds && epochSecond < toSeconds) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public long getEpochSecond() { return epochSecond; }
+        public double getBuyPercentage() { return buyHundredths / 100.0; }
+        public double getSellPercentage() { return sellHundredths / 100.0; }
+        public int getBuyHundredths() { return buyHundredths; }
+        public int getSellHundredths() { return sellHundredths; }
+        public CurrencyPairData.TradingSignal getTradingSignal() { return signal; }
+
+        public LocalDateTime getTimestamp() {
+            return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+        }
+
+        /**
+         * Erzeugt bei Bedarf ein CurrencyPairData-Objekt für die aktuelle Zeile
+         */
+        public CurrencyPairData toCurrencyPairData(String currencyPair) {
+            return new CurrencyPairData(currencyPair, getBuyPercentage(), getSellPercentage(), signal, getTimestamp());
+        }
+
+        /**
+         * Parst "Zeitstempel;Buy;Sell;Signal" in die Cursor-Felder
+         */
+        private boolean parseLine(int lineStart, int lineEnd) {
+            if (lineEnd - lineStart > page.capacity()) {
+                return false;
+            }
+            // Ganze Zeile in die Seite holen, danach relativ zum Seitenanfang parsen
+            ensure(lineStart, lineEnd - lineStart);
+            int offset = lineStart - pageStart;
+            int lineLimit = lineEnd - pageStart;
+
+            long seconds = CurrencyPairCsvCodec.parseEpochSeconds(page, offset, lineLimit);
+            if (seconds == Long.MIN_VALUE || offset + TIMESTAMP_LENGTH >= lineLimit
+                    || page.get(offset + TIMESTAMP_LENGTH) != ';') {
+                return false;
+            }
+
+            int p = offset + TIMESTAMP_LENGTH + 1;
+            int buyEnd = indexOf(p, lineLimit, (byte) ';');
+            if (buyEnd < 0) return false;
+            long buy = CurrencyPairCsvCodec.parseHundredths(page, p, buyEnd);
+
+            p = buyEnd + 1;
+            int sellEnd = indexOf(p, lineLimit, (byte) ';');
+            if (sellEnd < 0) return false;
+            long sell = CurrencyPairCsvCodec.parseHundredths(page, p, sellEnd);
+
+            CurrencyPairData.TradingSignal parsedSignal = CurrencyPairCsvCodec.parseSignal(page, sellEnd + 1, lineLimit);
+            if (buy < 0 || sell < 0 || buy > Integer.MAX_VALUE || sell > Integer.MAX_VALUE || parsedSignal == null) {
+                return false;
+            }
+
+            this.epochSecond = seconds;
+            this.buyHundredths = (int) buy;
+            this.sellHundredths = (int) sell;
+            this.signal = parsedSignal;
+            return true;
+        }
+
+        /**
+         * Sucht innerhalb der Seite (Positionen relativ zum Seitenanfang)
+         */
+        private int indexOf(int from, int to, byte value) {
+            for (int i = from; i < to; i++) {
+                if (page.get(i) == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
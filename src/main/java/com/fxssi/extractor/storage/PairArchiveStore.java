@@ -0,0 +1,340 @@
+package com.fxssi.extractor.storage;
+
+import com.fxssi.extractor.model.CurrencyPairData;
+import com.fxssi.extractor.model.PairHistory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Komprimierte Archiv-Ebene für alte Währungspaar-Daten
+ * Ältere Zeilen werden pro Monat in currency_pairs/archive/<PAAR>_yyyy-MM.csv.gz abgelegt.
+ * Der Monat im Dateinamen dient als Block-Index: Zeitraum-Abfragen öffnen nur die betroffenen Monate.
+ * Spätere Archivierungen hängen ein weiteres gzip-Member an (GZIPInputStream liest alle Member).
+ *
+ * Aufrufer müssen das Schreib-Lock des Währungspaars halten, Leser das Lese-Lock.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class PairArchiveStore {
+
+    private static final Logger LOGGER = Logger.getLogger(PairArchiveStore.class.getName());
+    private static final String ARCHIVE_SUBDIRECTORY = "archive";
+    private static final String FILE_EXTENSION = ".csv.gz";
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final Path archivePath;
+    private final BiFunction<String, String, CurrencyPairData> rowParser;
+
+    // Archivierte Monate je Währungspaar, wird von archiveRowsBefore invalidiert
+    private final Map<String, List<YearMonth>> monthCache = new ConcurrentHashMap<>();
+
+    /**
+     * Konstruktor
+     * @param currencyDataPath Verzeichnis der Währungspaar-CSV-Dateien
+     * @param rowParser Parser für eine CSV-Datenzeile (Zeile, Währungspaar)
+     */
+    public PairArchiveStore(Path currencyDataPath, BiFunction<String, String, CurrencyPairData> rowParser) {
+        this.archivePath = currencyDataPath.resolve(ARCHIVE_SUBDIRECTORY);
+        this.rowParser = rowParser;
+    }
+
+    /**
+     * Gibt die Archivdatei eines Monats zurück
+     */
+    public Path getArchiveFile(String pairKey, YearMonth month) {
+        return archivePath.resolve(pairKey + "_" + month.format(MONTH_FORMATTER) + FILE_EXTENSION);
+    }
+
+    /**
+     * Listet die archivierten Monate eines Währungspaars (aufsteigend, unveränderlich)
+     * Das Verzeichnis wird nur beim ersten Zugriff und nach einer Archivierung neu gelesen.
+     */
+    public List<YearMonth> listMonths(String pairKey) {
+        return monthCache.computeIfAbsent(pairKey, this::scanMonths);
+    }
+
+    /**
+     * Verwirft die zwischengespeicherte Monatsliste eines Währungspaars
+     */
+    public void invalidate(String pairKey) {
+        monthCache.remove(pairKey);
+    }
+
+    private List<YearMonth> scanMonths(String pairKey) {
+        List<YearMonth> months = new ArrayList<>();
+        if (!Files.isDirectory(archivePath)) {
+            return months;
+        }
+        String prefix = pairKey + "_";
+        try (Stream<Path> files = Files.list(archivePath)) {
+            files.map(path -> path.getFileName().toString())
+                .filter(name -> name.startsWith(prefix) && name.endsWith(FILE_EXTENSION))
+                .forEach(name -> {
+                    String month = name.substring(prefix.length(), name.length() - FILE_EXTENSION.length());
+                    try {
+                        months.add(YearMonth.parse(month, MONTH_FORMATTER));
+                    } catch (DateTimeParseException e) {
+                        // Anderes Paar mit gemeinsamem Präfix (z.B. EUR_USD vs. EUR_USD_X)
+                    }
+                });
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Auflisten der Archive für " + pairKey + ": " + e.getMessage(), e);
+        }
+        Collections.sort(months);
+        return Collections.unmodifiableList(months);
+    }
+
+    public boolean hasArchive(String pairKey) {
+        return !listMonths(pairKey).isEmpty();
+    }
+
+    /**
+     * Liest alle archivierten Daten eines Zeitraums
+     * @param from Beginn (inklusiv), null für unbegrenzt
+     * @param to Ende (exklusiv), null für unbegrenzt
+     * @return Datensätze chronologisch nach Monat, innerhalb eines Monats in Archiv-Reihenfolge
+     */
+    public List<CurrencyPairData> readRange(String pairKey, String currencyPair, LocalDateTime from, LocalDateTime to) {
+        List<CurrencyPairData> data = new ArrayList<>();
+        YearMonth fromMonth = from != null ? YearMonth.from(from) : null;
+        YearMonth toMonth = to != null ? YearMonth.from(to) : null;
+
+        for (YearMonth month : listMonths(pairKey)) {
+            if ((fromMonth != null && month.isBefore(fromMonth)) || (toMonth != null && month.isAfter(toMonth))) {
+                continue;
+            }
+            for (CurrencyPairData row : readMonth(pairKey, currencyPair, month)) {
+                if ((from == null || !row.getTimestamp().isBefore(from)) && (to == null || row.getTimestamp().isBefore(to))) {
+                    data.add(row);
+                }
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Liest ein Zeitfenster spaltenorientiert in die Ziel-Historie
+     * Es wird jeweils nur ein Monat als CurrencyPairData-Liste gehalten.
+     */
+    public void readHistoryRange(String pairKey, String currencyPair, LocalDateTime from, LocalDateTime to, PairHistory target) {
+        YearMonth fromMonth = from != null ? YearMonth.from(from) : null;
+        YearMonth toMonth = to != null ? YearMonth.from(to) : null;
+
+        for (YearMonth month : listMonths(pairKey)) {
+            if ((fromMonth != null && month.isBefore(fromMonth)) || (toMonth != null && month.isAfter(toMonth))) {
+                continue;
+            }
+            for (CurrencyPairData row : readMonth(pairKey, currencyPair, month)) {
+                if ((from == null || !row.getTimestamp().isBefore(from)) && (to == null || row.getTimestamp().isBefore(to))) {
+                    target.append(row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Liest einen archivierten Monat
+     */
+    public List<CurrencyPairData> readMonth(String pairKey, String currencyPair, YearMonth month) {
+        List<CurrencyPairData> data = new ArrayList<>();
+        Path archiveFile = getArchiveFile(pairKey, month);
+        if (!Files.exists(archiveFile)) {
+            return data;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archiveFile)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    data.add(rowParser.apply(line, currencyPair));
+                } catch (Exception e) {
+                    LOGGER.fine("Ungültige Archiv-Zeile übersprungen: " + line);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Lesen des Archivs " + archiveFile.getFileName() + ": " + e.getMessage(), e);
+        }
+        return data;
+    }
+
+    /**
+     * Verschiebt alle Zeilen vor dem Stichtag aus der CSV-Datei in die Monatsarchive
+     * Archive und neue CSV-Datei werden als Temp-Dateien vorbereitet und erst unter dem Tausch-Lock
+     * per atomarem Rename veröffentlicht.
+     * @param pairKey Normalisierter Name des Währungspaars
+     * @param csvFile Heiße CSV-Datei des Währungspaars
+     * @param header CSV-Header der heißen Datei
+     * @param cutoff Zeilen mit älterem Zeitstempel werden archiviert
+     * @param swapLock Exklusives Lock für den Dateitausch (PairLock.swap())
+     * @return Anzahl archivierter Zeilen
+     */
+    public int archiveRowsBefore(String pairKey, Path csvFile, String header, LocalDateTime cutoff, Lock swapLock) throws IOException {
+        if (!Files.exists(csvFile)) {
+            return 0;
+        }
+
+        Map<YearMonth, List<String>> archivedRows = new TreeMap<>();
+        Path hotTempFile = csvFile.resolveSibling(csvFile.getFileName() + ".tmp");
+        int archived = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8);
+             BufferedWriter hotWriter = Files.newBufferedWriter(hotTempFile, StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            hotWriter.write(header);
+            hotWriter.newLine();
+
+            String line;
+            boolean isFirstLine = true;
+            while ((line = reader.readLine()) != null) {
+                if (isFirstLine) {
+                    isFirstLine = false;
+                    if (line.equals(header) || line.contains("Zeitstempel")) {
+                        continue;
+                    }
+                }
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+
+                CurrencyPairData row;
+                try {
+                    row = rowParser.apply(line, pairKey);
+                } catch (Exception e) {
+                    // Ungültige Zeilen bleiben unverändert in der heißen Datei
+                    hotWriter.write(line);
+                    hotWriter.newLine();
+                    continue;
+                }
+
+                if (row.getTimestamp().isBefore(cutoff)) {
+                    archivedRows.computeIfAbsent(YearMonth.from(row.getTimestamp()), k -> new ArrayList<>()).add(line);
+                    archived++;
+                } else {
+                    hotWriter.write(line);
+                    hotWriter.newLine();
+                }
+            }
+        }
+
+        if (archived == 0) {
+            Files.deleteIfExists(hotTempFile);
+            return 0;
+        }
+
+        Files.createDirectories(archivePath);
+        List<Path> archiveFiles = new ArrayList<>();
+        for (Map.Entry<YearMonth, List<String>> entry : archivedRows.entrySet()) {
+            Path archiveFile = getArchiveFile(pairKey, entry.getKey());
+            writeMemberToTemp(archiveFile, entry.getValue());
+            archiveFiles.add(archiveFile);
+        }
+        
+        swapLock.lock();
+        try {
+            for (Path archiveFile : archiveFiles) {
+                Files.move(tempFileFor(archiveFile), archiveFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.move(hotTempFile, csvFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            invalidate(pairKey);
+            swapLock.unlock();
+        }
+
+        LOGGER.info("Archiviert: " + pairKey + " - " + archived + " Zeilen in " + archivedRows.size() + " Monatsarchive");
+        return archived;
+    }
+
+    /**
+     * Übernimmt die Monatsarchive eines veralteten Dateinamens (z.B. EURUSD) in die des Währungspaars
+     * Existiert der Zielmonat bereits, werden die gzip-Member der alten Datei angehängt.
+     * @param legacyKey Veralteter Name
+     * @param pairKey Normalisierter Name des Währungspaars
+     * @param swapLock Exklusives Lock für den Dateitausch (PairLock.swap())
+     * @return Anzahl übernommener Monatsarchive
+     */
+    public int migrateArchives(String legacyKey, String pairKey, Lock swapLock) throws IOException {
+        List<YearMonth> months = scanMonths(legacyKey);
+        if (months.isEmpty()) {
+            return 0;
+        }
+
+        swapLock.lock();
+        try {
+            for (YearMonth month : months) {
+                Path legacyFile = getArchiveFile(legacyKey, month);
+                Path archiveFile = getArchiveFile(pairKey, month);
+                if (Files.exists(archiveFile)) {
+                    Path tempFile = tempFileFor(archiveFile);
+                    Files.copy(archiveFile, tempFile, StandardCopyOption.REPLACE_EXISTING);
+                    Files.write(tempFile, Files.readAllBytes(legacyFile), StandardOpenOption.APPEND);
+                    Files.move(tempFile, archiveFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    Files.delete(legacyFile);
+                } else {
+                    Files.move(legacyFile, archiveFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+        } finally {
+            invalidate(legacyKey);
+            invalidate(pairKey);
+            swapLock.unlock();
+        }
+
+        LOGGER.info("Archive übernommen: " + legacyKey + " -> " + pairKey + " (" + months.size() + " Monate)");
+        return months.size();
+    }
+
+    /**
+     * Kopiert die Monatsdatei in eine Temp-Datei und hängt dort ein gzip-Member an
+     */
+    private void writeMemberToTemp(Path archiveFile, List<String> rows) throws IOException {
+        Path tempFile = tempFileFor(archiveFile);
+        if (Files.exists(archiveFile)) {
+            Files.copy(archiveFile, tempFile, StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(tempFile);
+        }
+
+        try (OutputStream out = Files.newOutputStream(tempFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(out), StandardCharsets.UTF_8))) {
+            for (String row : rows) {
+                writer.write(row);
+                writer.newLine();
+            }
+        }
+    }
+    
+    private static Path tempFileFor(Path archiveFile) {
+        return archiveFile.resolveSibling(archiveFile.getFileName() + ".tmp");
+    }
+}
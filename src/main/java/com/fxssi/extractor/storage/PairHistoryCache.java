@@ -0,0 +1,436 @@
+package com.fxssi.extractor.storage;
+
+import com.fxssi.extractor.model.CurrencyPairData;
+import com.fxssi.extractor.model.PairHistory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Gemeinsamer In-Memory-Cache der jüngeren Historie aller Währungspaare
+ * Hält pro Währungspaar die Datensätze der letzten horizonDays Tage (chronologisch), damit die
+ * Chart-Zellen der GUI nicht bei jedem Zeichnen die CSV-Datei parsen. Beim Start werden alle Paare
+ * per warmUp parallel vorgeladen.
+ *
+ * Aktualität: Vor jedem Zugriff wird die CSV-Datei per stat geprüft. Ist sie nur gewachsen (gleiche
+ * Datei, größer), wird nur das neue Ende nachgelesen. Wurde sie ersetzt (atomarer Rename nach
+ * Komprimierung, Bereinigung oder Archivierung) oder ist sie geschrumpft, wird neu geladen.
+ * Nach eigenen Appends führt onRowsAppended die gecachten Paare sofort nach.
+ *
+ * Speicher: Die Historien liegen spaltenorientiert (PairHistory) vor. Der Gesamtumfang ist durch ein
+ * Budget begrenzt, darüber werden die am längsten nicht genutzten Paare verdrängt (LRU). Leser erhalten
+ * unveränderliche Sichten statt Kopien.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class PairHistoryCache {
+
+    private static final Logger LOGGER = Logger.getLogger(PairHistoryCache.class.getName());
+    private static final String FILE_EXTENSION = ".csv";
+
+    private final PairTimeSeriesStore store;
+    private final int horizonDays;
+    private final int parallelism;
+    private final long memoryBudgetBytes;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong accessClock = new AtomicLong();
+
+    private volatile boolean warmedUp = false;
+    private volatile long lastWarmUpMillis = -1;
+
+    /**
+     * Konstruktor
+     * @param store Speicher der Währungspaar-Zeitreihen
+     * @param horizonDays Vorgehaltener Zeitraum in Tagen (0 = Cache deaktiviert)
+     * @param parallelism Anzahl paralleler Threads beim Vorladen
+     * @param memoryBudgetBytes Speicherbudget, darüber werden die am längsten nicht genutzten Paare verdrängt
+     */
+    public PairHistoryCache(PairTimeSeriesStore store, int horizonDays, int parallelism, long memoryBudgetBytes) {
+        this.store = store;
+        this.horizonDays = Math.max(0, horizonDays);
+        this.parallelism = Math.max(1, parallelism);
+        this.memoryBudgetBytes = Math.max(0, memoryBudgetBytes);
+    }
+
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+
+    public boolean isEnabled() {
+        return horizonDays > 0;
+    }
+
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    /**
+     * Dauer des letzten Vorladens in Millisekunden (-1 falls noch nicht erfolgt)
+     */
+    public long getLastWarmUpMillis() {
+        return lastWarmUpMillis;
+    }
+
+    public int getCachedPairCount() {
+        return entries.size();
+    }
+
+    /**
+     * Lädt die Historie aller Währungspaare parallel in den Cache
+     * @param progressCallback Fortschritt (geladen, gesamt), darf null sein
+     * @param messageCallback Statusmeldungen, darf null sein
+     * @return Anzahl geladener Datensätze
+     */
+    public long warmUp(BiConsumer<Integer, Integer> progressCallback, Consumer<String> messageCallback) {
+        if (!isEnabled()) {
+            warmedUp = true;
+            return 0;
+        }
+
+        long startNanos = System.nanoTime();
+        List<String> pairs = new ArrayList<>(store.listAvailableCurrencyPairs());
+        int total = pairs.size();
+        int threads = Math.max(1, Math.min(parallelism, total));
+        long rows = 0;
+
+        if (messageCallback != null) {
+            messageCallback.accept("Lade Historie von " + total + " Währungspaaren (" + horizonDays + " Tage) mit " + threads + " Threads...");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "PairHistory-WarmUp-" + threadNumber.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        try {
+            CompletionService<Integer> completionService = new ExecutorCompletionService<>(executor);
+            for (String pair : pairs) {
+                completionService.submit(() -> warmUpPair(pair));
+            }
+
+            for (int current = 1; current <= total; current++) {
+                rows += completionService.take().get();
+                if (progressCallback != null) {
+                    progressCallback.accept(current, total);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warning("Vorladen der Historie unterbrochen");
+        } catch (ExecutionException e) {
+            // warmUpPair fängt alle Fehler ab, tritt daher nur bei Programmfehlern auf
+            LOGGER.log(Level.WARNING, "Unerwarteter Fehler beim Vorladen der Historie: " + e.getCause(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        lastWarmUpMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        warmedUp = true;
+
+        String summary = String.format("Historie vorgeladen: %d Währungspaare, %d Datensätze in %d ms", total, rows, lastWarmUpMillis);
+        LOGGER.info(summary);
+        if (messageCallback != null) {
+            messageCallback.accept(summary);
+        }
+        return rows;
+    }
+
+    /**
+     * Liefert ein Zeitfenster als schreibgeschützte, spaltenorientierte Sicht aus dem Cache
+     * Beginnt das Fenster vor dem bisher gecachten Zeitraum, wird der Eintrag einmalig erweitert.
+     * Die gesamte Historie (from == null) wird direkt aus dem Speicher gelesen und nicht gecacht,
+     * damit sie nicht die Chart-Zeitfenster der übrigen Paare verdrängt.
+     * @param from Beginn (inklusiv), null für die gesamte Historie inklusive Archiv
+     * @param to Ende (exklusiv), null für unbegrenzt
+     * @return Chronologische Sicht auf die Daten (ohne Kopie)
+     */
+    public PairHistory getHistoryWindow(String currencyPair, LocalDateTime from, LocalDateTime to) {
+        if (!isEnabled() || from == null) {
+            return store.readHistoryWindow(currencyPair, from, to);
+        }
+
+        String key = CurrencyPairDataManager.normalizeCurrencyPairName(currencyPair);
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry(k, currencyPair));
+        PairHistory view;
+        synchronized (entry) {
+            try {
+                refresh(entry, currencyPair, from);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Cache für " + currencyPair + " konnte nicht aktualisiert werden: " + e.getMessage(), e);
+                entry.clear();
+                entries.remove(key, entry);
+                return store.readHistoryWindow(currencyPair, from, to);
+            }
+            entry.lastAccess = accessClock.incrementAndGet();
+            view = entry.history.window(from, to);
+        }
+
+        evictIfNeeded(entry);
+        return view;
+    }
+
+    /**
+     * Liefert die Datensätze eines Zeitfensters aus dem Cache
+     * @return Unveränderliche Listen-Sicht, CurrencyPairData-Objekte werden erst beim Zugriff erzeugt
+     */
+    public List<CurrencyPairData> getWindow(String currencyPair, LocalDateTime from, LocalDateTime to) {
+        return getHistoryWindow(currencyPair, from, to).asList();
+    }
+
+    /**
+     * Liefert die gesamte Historie eines Währungspaars (inklusive Archiv) direkt aus dem Speicher
+     * @return Veränderliche Liste, die Objekte werden einmalig erzeugt
+     */
+    public List<CurrencyPairData> getAll(String currencyPair) {
+        return store.readHistoryWindow(currencyPair, null, null).toList();
+    }
+
+    /**
+     * Übernimmt nach einem Append die neuen Zeilen in bereits gecachte Währungspaare
+     * Gelesen wird nur das neue Dateiende, nicht gecachte Paare werden erst bei Bedarf geladen.
+     */
+    public void onRowsAppended(Collection<String> currencyPairs) {
+        if (!isEnabled()) {
+            return;
+        }
+        for (String currencyPair : currencyPairs) {
+            Entry entry = entries.get(CurrencyPairDataManager.normalizeCurrencyPairName(currencyPair));
+            if (entry == null) {
+                continue;
+            }
+            synchronized (entry) {
+                if (!entry.loaded) {
+                    continue;
+                }
+                try {
+                    refresh(entry, currencyPair, entry.coveredFrom);
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Cache für " + currencyPair + " konnte nicht nachgeführt werden: " + e.getMessage(), e);
+                    entry.clear();
+                    entries.remove(entry.key, entry);
+                }
+            }
+        }
+        evictIfNeeded(null);
+    }
+
+    /**
+     * Geschätzter Speicherbedarf aller gecachten Datensätze in Bytes
+     */
+    public long getEstimatedBytes() {
+        long rows = 0;
+        for (Entry entry : entries.values()) {
+            rows += entry.size;
+        }
+        return rows * PairHistory.BYTES_PER_ROW;
+    }
+
+    public long getMemoryBudgetBytes() {
+        return memoryBudgetBytes;
+    }
+
+    /**
+     * Verwirft den Cache eines Währungspaars
+     */
+    public void invalidate(String currencyPair) {
+        entries.remove(CurrencyPairDataManager.normalizeCurrencyPairName(currencyPair));
+    }
+
+    /**
+     * Verwirft den gesamten Cache
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    private int warmUpPair(String pair) {
+        String key = CurrencyPairDataManager.normalizeCurrencyPairName(pair);
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry(k, pair));
+        int rows;
+        synchronized (entry) {
+            try {
+                refresh(entry, pair, LocalDateTime.now().minusDays(horizonDays));
+                entry.lastAccess = accessClock.incrementAndGet();
+                rows = entry.size;
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Historie für " + pair + " konnte nicht vorgeladen werden: " + e.getMessage(), e);
+                entry.clear();
+                entries.remove(key, entry);
+                return 0;
+            }
+        }
+        evictIfNeeded(entry);
+        return rows;
+    }
+
+    /**
+     * Bringt einen Eintrag auf den Stand der CSV-Datei und stellt sicher, dass er ab from reicht
+     * (Aufrufer hält den Monitor des Eintrags)
+     * @param from Benötigter Beginn
+     */
+    private void refresh(Entry entry, String currencyPair, LocalDateTime from) throws IOException {
+        Path csvFile = store.getCurrencyDataPath().resolve(CurrencyPairDataManager.normalizeCurrencyPairName(currencyPair) + FILE_EXTENSION);
+
+        // Dateistand VOR dem Lesen merken: ein paralleler Append führt höchstens zu einem weiteren Nachlesen
+        Object fileKey;
+        long fileSize;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(csvFile, BasicFileAttributes.class);
+            // Ohne fileKey (z.B. Windows) identifiziert der Erstellungszeitpunkt die durch Rename ersetzte Datei
+            fileKey = attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+            fileSize = attributes.size();
+        } catch (NoSuchFileException e) {
+            fileKey = null;
+            fileSize = 0;
+        }
+
+        if (entry.covers(from) && Objects.equals(fileKey, entry.fileKey)) {
+            if (fileSize == entry.fileSize) {
+                return;
+            }
+            if (fileSize > entry.fileSize) {
+                appendTail(entry, currencyPair);
+                entry.fileSize = fileSize;
+                return;
+            }
+        }
+
+        // Neu laden: mindestens den vorgehaltenen Zeitraum, bei Erweiterung ab dem angefragten Beginn
+        LocalDateTime horizonStart = LocalDateTime.now().minusDays(horizonDays);
+        LocalDateTime coveredFrom = from.isBefore(horizonStart) ? from : horizonStart;
+        if (entry.loaded && entry.coveredFrom.isBefore(coveredFrom)) {
+            coveredFrom = entry.coveredFrom;
+        }
+
+        entry.replace(store.readHistoryWindow(currencyPair, coveredFrom, null));
+        entry.coveredFrom = coveredFrom;
+        entry.loaded = true;
+        entry.fileKey = fileKey;
+        entry.fileSize = fileSize;
+    }
+
+    /**
+     * Liest nur die seit dem letzten Laden angehängten Datensätze nach
+     * Die Zeilen mit dem bisher letzten Zeitstempel liefert das Nachlesen erneut, sie werden übersprungen.
+     */
+    private void appendTail(Entry entry, String currencyPair) {
+        PairHistory history = entry.history;
+        if (history.isEmpty()) {
+            entry.append(store.readHistoryWindow(currencyPair, entry.coveredFrom, null), 0);
+            return;
+        }
+
+        long last = history.getEpochSecond(history.size() - 1);
+        int known = history.size() - history.indexOfFirstAtOrAfter(last);
+
+        PairHistory tail = store.readHistoryWindow(currencyPair, history.getTimestamp(history.size() - 1), null);
+        int skip = 0;
+        while (skip < known && skip < tail.size() && tail.getEpochSecond(skip) == last) {
+            skip++;
+        }
+        entry.append(tail, skip);
+    }
+
+    /**
+     * Verdrängt die am längsten nicht genutzten Währungspaare, bis das Speicherbudget eingehalten ist
+     * Ein einzelner Eintrag über dem Budget wird nach der Nutzung nicht behalten.
+     * @param current Eben genutzter Eintrag (wird zuletzt verdrängt), darf null sein
+     */
+    private void evictIfNeeded(Entry current) {
+        while (getEstimatedBytes() > memoryBudgetBytes) {
+            Entry victim = null;
+            for (Entry entry : entries.values()) {
+                if (entry != current && (victim == null || entry.lastAccess < victim.lastAccess)) {
+                    victim = entry;
+                }
+            }
+            if (victim == null) {
+                victim = current;
+            }
+            if (victim == null || !entries.remove(victim.key, victim)) {
+                return;
+            }
+            LOGGER.fine("Historien-Cache: " + victim.key + " verdrängt (" + victim.size + " Datensätze)");
+            if (victim == current) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gecachte Historie eines Währungspaars mit dem Dateistand, auf dem sie beruht
+     * Die PairHistory wird nur am Ende ergänzt, ausgegebene Sichten bleiben dadurch unverändert gültig.
+     */
+    private static class Entry {
+        private final String key;
+        private final String currencyPair;
+        private PairHistory history;
+        private volatile int size;
+        private boolean loaded;
+        private LocalDateTime coveredFrom;
+        private Object fileKey;
+        private long fileSize;
+        private volatile long lastAccess;
+
+        private Entry(String key, String currencyPair) {
+            this.key = key;
+            this.currencyPair = currencyPair;
+            this.history = new PairHistory(currencyPair, 0);
+        }
+
+        /**
+         * Prüft, ob der Eintrag ab from vollständig ist
+         */
+        private boolean covers(LocalDateTime from) {
+            return loaded && !from.isBefore(coveredFrom);
+        }
+
+        private void replace(PairHistory newHistory) {
+            history = newHistory;
+            size = newHistory.size();
+        }
+
+        private void append(PairHistory newRows, int skip) {
+            history.appendAll(newRows, skip);
+            size = history.size();
+        }
+
+        private void clear() {
+            history = new PairHistory(currencyPair, 0);
+            size = 0;
+            loaded = false;
+            coveredFrom = null;
+            fileKey = null;
+            fileSize = 0;
+        }
+    }
+}
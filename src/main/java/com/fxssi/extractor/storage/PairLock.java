@@ -0,0 +1,48 @@
+package com.fxssi.extractor.storage;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sperren einer Währungspaar-Datei
+ * Schreiber (Append, Komprimierung, Bereinigung, Archivierung, Sidecar-Pflege) werden über das
+ * Schreib-Lock serialisiert. Leser halten nur das Lese-Lock des Snapshots und warten damit nie auf
+ * laufende Appends oder das Erzeugen einer neuen Datei.
+ *
+ * Umschreibende Operationen erzeugen die neue Datei vollständig als Temp-Datei und tauschen sie
+ * per atomarem Rename unter dem Snapshot-Lock aus. Leser sehen dadurch entweder den alten oder den
+ * neuen Stand, nie eine halb geschriebene Datei.
+ *
+ * Ein Thread, der das Lese-Lock hält, darf das Snapshot-Lock nicht exklusiv anfordern
+ * (kein Upgrade bei ReentrantReadWriteLock).
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class PairLock {
+
+    private final ReentrantLock writerLock = new ReentrantLock();
+    private final ReentrantReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+
+    /**
+     * Schreib-Lock für alle verändernden Operationen (blockiert keine Leser)
+     */
+    public Lock writer() {
+        return writerLock;
+    }
+
+    /**
+     * Lese-Lock für konsistente Lesezugriffe (CSV-Datei plus Archive)
+     */
+    public Lock read() {
+        return snapshotLock.readLock();
+    }
+
+    /**
+     * Exklusives Lock nur für den kurzen Austausch von Dateien (atomarer Rename und Invalidierung)
+     */
+    public Lock swap() {
+        return snapshotLock.writeLock();
+    }
+}
@@ -0,0 +1,241 @@
+package com.fxssi.extractor.storage;
+
+import com.fxssi.extractor.model.CurrencyPairData;
+import com.fxssi.extractor.model.PairHistory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hält die laufenden Statistiken aller Währungspaare im Speicher und als Sidecar-Datei
+ * (currency_pairs/stats/<PAAR>.stats). Die Sidecar-Datei merkt sich, bis zu welchem Byte-Offset
+ * die CSV-Datei erfasst ist. Nach einem Append oder Neustart wird nur der neue CSV-Teil gelesen,
+ * ein Vollaufbau ist nur bei fehlender Sidecar-Datei oder umgeschriebener CSV-Datei nötig.
+ * Eine umgeschriebene Datei wird über ihre Identität (fileKey, ersatzweise Erstellungszeit) erkannt,
+ * auch wenn sie wieder dieselbe Größe hat.
+ *
+ * Aufrufer müssen das Schreib-Lock des Währungspaars halten (außer für getSnapshot).
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class PairStatisticsTracker {
+
+    private static final Logger LOGGER = Logger.getLogger(PairStatisticsTracker.class.getName());
+    private static final String STATS_SUBDIRECTORY = "stats";
+    private static final String FILE_EXTENSION = ".stats";
+
+    private final Path statsPath;
+    private final BiFunction<String, String, CurrencyPairData> rowParser;
+    private final ConcurrentHashMap<String, RunningPairStatistics> statistics = new ConcurrentHashMap<>();
+    // Zuletzt gespeicherter Stand als unveränderliche Kopie, lesbar ohne Lock
+    private final ConcurrentHashMap<String, RunningPairStatistics> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Konstruktor
+     * @param currencyDataPath Verzeichnis der Währungspaar-CSV-Dateien
+     * @param rowParser Parser für eine CSV-Datenzeile (Zeile, Währungspaar)
+     */
+    public PairStatisticsTracker(Path currencyDataPath, BiFunction<String, String, CurrencyPairData> rowParser) {
+        this.statsPath = currencyDataPath.resolve(STATS_SUBDIRECTORY);
+        this.rowParser = rowParser;
+    }
+
+    public Path getStatsFile(String pairKey) {
+        return statsPath.resolve(pairKey + FILE_EXTENSION);
+    }
+
+    /**
+     * Liefert die aktuelle Statistik, zieht neue CSV-Zeilen nach oder baut sie vollständig auf
+     * @param archivedRows Lieferant der archivierten Datensätze (nur für den Vollaufbau)
+     * @return Kopie der Statistik
+     */
+    public RunningPairStatistics refresh(String pairKey, Path csvFile, Supplier<PairHistory> archivedRows) throws IOException {
+        RunningPairStatistics stats = load(pairKey);
+        long csvSize = Files.exists(csvFile) ? Files.size(csvFile) : 0;
+
+        if (stats == null || stats.getCoveredSize() > csvSize || isRewritten(stats, csvFile)) {
+            stats = new RunningPairStatistics();
+            stats.acceptAll(archivedRows.get());
+            scan(pairKey, csvFile, stats);
+            store(pairKey, stats);
+            LOGGER.fine("Statistik für " + pairKey + " neu aufgebaut: " + stats.getCount() + " Einträge");
+        } else if (stats.getCoveredSize() < csvSize) {
+            scan(pairKey, csvFile, stats);
+            store(pairKey, stats);
+        }
+        return stats.copy();
+    }
+
+    /**
+     * Zieht nach einem Append die neuen Zeilen nach (nur falls bereits eine Statistik existiert)
+     */
+    public void catchUp(String pairKey, Path csvFile) throws IOException {
+        RunningPairStatistics stats = load(pairKey);
+        if (stats == null) {
+            return;
+        }
+        long csvSize = Files.exists(csvFile) ? Files.size(csvFile) : 0;
+        if (stats.getCoveredSize() > csvSize || isRewritten(stats, csvFile)) {
+            invalidate(pairKey);
+        } else if (stats.getCoveredSize() < csvSize) {
+            scan(pairKey, csvFile, stats);
+            store(pairKey, stats);
+        }
+    }
+
+    /**
+     * Übernimmt die Summen nach einer Archivierung: die Datensätze sind nur umgezogen,
+     * die CSV-Datei ist ab jetzt bis zu ihrer neuen Größe erfasst
+     * Voraussetzung: die Statistik war vor der Archivierung per catchUp aktuell.
+     */
+    public void rebase(String pairKey, Path csvFile) throws IOException {
+        RunningPairStatistics stats = load(pairKey);
+        if (stats == null) {
+            return;
+        }
+        stats.setCoveredSize(Files.exists(csvFile) ? Files.size(csvFile) : 0);
+        stats.setFileIdentity(fileIdentity(csvFile));
+        store(pairKey, stats);
+    }
+
+    /**
+     * Letzter gespeicherter Stand ohne Lock und ohne Dateizugriff (z.B. während einer Komprimierung)
+     * @return Kopie der Statistik oder null, falls noch keine berechnet wurde
+     */
+    public RunningPairStatistics getSnapshot(String pairKey) {
+        RunningPairStatistics snapshot = snapshots.get(pairKey);
+        return snapshot != null ? snapshot.copy() : null;
+    }
+
+    /**
+     * Verwirft die Statistik (nach Komprimierung oder Bereinigung)
+     */
+    public void invalidate(String pairKey) {
+        statistics.remove(pairKey);
+        try {
+            Files.deleteIfExists(getStatsFile(pairKey));
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Statistik-Datei für " + pairKey + " konnte nicht gelöscht werden: " + e.getMessage(), e);
+        }
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    private RunningPairStatistics load(String pairKey) {
+        RunningPairStatistics stats = statistics.get(pairKey);
+        if (stats != null) {
+            return stats;
+        }
+
+        Path statsFile = getStatsFile(pairKey);
+        if (!Files.exists(statsFile)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(statsFile)) {
+            Properties properties = new Properties();
+            properties.load(in);
+            stats = RunningPairStatistics.fromProperties(properties);
+            statistics.put(pairKey, stats);
+            return stats;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Statistik-Datei für " + pairKey + " unlesbar - wird neu aufgebaut: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private void store(String pairKey, RunningPairStatistics stats) throws IOException {
+        statistics.put(pairKey, stats);
+        snapshots.put(pairKey, stats.copy());
+
+        Files.createDirectories(statsPath);
+        Path statsFile = getStatsFile(pairKey);
+        Path tempFile = statsPath.resolve(pairKey + FILE_EXTENSION + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tempFile)) {
+            stats.toProperties().store(out, "Laufende Statistik " + pairKey);
+        }
+        Files.move(tempFile, statsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Liest die CSV-Datei ab dem erfassten Offset bis zur letzten vollständigen Zeile
+     */
+    private void scan(String pairKey, Path csvFile, RunningPairStatistics stats) throws IOException {
+        if (!Files.exists(csvFile)) {
+            stats.setCoveredSize(0);
+            stats.setFileIdentity(null);
+            return;
+        }
+
+        stats.setFileIdentity(fileIdentity(csvFile));
+        long position = stats.getCoveredSize();
+        try (FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.READ);
+             InputStream in = new BufferedInputStream(Channels.newInputStream(channel.position(position)), 65536)) {
+
+            ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                position += line.size() + 1;
+                acceptLine(pairKey, line.toString(StandardCharsets.UTF_8), stats);
+                line.reset();
+            }
+            // Unvollständige letzte Zeile wird beim nächsten Nachziehen gelesen
+        }
+        stats.setCoveredSize(position);
+    }
+
+    /**
+     * true wenn die CSV-Datei seit der Erfassung ersetzt wurde (Sidecar-Dateien ohne Identität gelten als veraltet)
+     */
+    private static boolean isRewritten(RunningPairStatistics stats, Path csvFile) throws IOException {
+        if (!Files.exists(csvFile)) {
+            return stats.getCoveredSize() > 0;
+        }
+        return !fileIdentity(csvFile).equals(stats.getFileIdentity());
+    }
+
+    /**
+     * Identität einer Datei: fileKey (Inode) falls verfügbar, sonst Erstellungszeit
+     * Umschreibungen laufen über Temp-Datei und Rename und ändern damit beides.
+     */
+    private static String fileIdentity(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        Object fileKey = attributes.fileKey();
+        return fileKey != null ? "key:" + fileKey : "created:" + attributes.creationTime().toMillis();
+    }
+
+    private void acceptLine(String pairKey, String line, RunningPairStatistics stats) {
+        if (line.trim().isEmpty() || line.contains("Zeitstempel")) {
+            return;
+        }
+        try {
+            stats.accept(rowParser.apply(line.trim(), pairKey));
+        } catch (Exception e) {
+            // Ungültige Zeilen zählen wie beim Lesen der Datei nicht mit
+        }
+    }
+}
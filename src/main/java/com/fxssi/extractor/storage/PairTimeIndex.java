@@ -0,0 +1,353 @@
+package com.fxssi.extractor.storage;
+
+import com.fxssi.extractor.model.CurrencyPairCsvCodec;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sparse Zeit-Index (Sidecar-Datei) für eine Währungspaar-CSV-Datei
+ * Pro Stunden-Bucket wird der Byte-Offset der ersten Zeile und die Anzahl Zeilen gespeichert:
+ *   Stunde seit Epoche (long) | Byte-Offset (long) | Anzahl Zeilen (int)
+ * Der Index wird bei jedem Append inkrementell nachgezogen (nur der neue CSV-Teil wird gelesen)
+ * und kann jederzeit vollständig neu aufgebaut werden.
+ *
+ * Aufrufer müssen das Datei-Lock des Währungspaars halten.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class PairTimeIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(PairTimeIndex.class.getName());
+    private static final String INDEX_SUBDIRECTORY = "index";
+    private static final String FILE_EXTENSION = ".idx";
+
+    private static final int MAGIC = 0x46585049; // "FXPI"
+    private static final int VERSION = 1;
+    // magic(int) + version(int) + abgedeckte CSV-Größe(long) + Flags(int) + reserviert(int)
+    private static final int HEADER_SIZE = 24;
+    private static final int COVERED_SIZE_POSITION = 8;
+    private static final int FLAGS_POSITION = 16;
+    private static final int FLAG_UNSORTED = 1;
+
+    /** Größe eines Index-Eintrags in Bytes */
+    public static final int ENTRY_SIZE = 20;
+
+    private static final int TIMESTAMP_LENGTH = CurrencyPairCsvCodec.TIMESTAMP_LENGTH;
+
+    private final Path indexPath;
+
+    /**
+     * Konstruktor
+     * @param currencyDataPath Verzeichnis der Währungspaar-CSV-Dateien
+     */
+    public PairTimeIndex(Path currencyDataPath) {
+        this.indexPath = currencyDataPath.resolve(INDEX_SUBDIRECTORY);
+    }
+
+    /**
+     * Gibt den Pfad der Index-Datei eines Währungspaars zurück
+     */
+    public Path getIndexFile(String pairKey) {
+        return indexPath.resolve(pairKey + FILE_EXTENSION);
+    }
+
+    /**
+     * Zieht neue Zeilen der CSV-Datei in den Index nach (Vollaufbau falls nötig)
+     * @return Anzahl neu indizierter Zeilen
+     */
+    public int update(String pairKey, Path csvFile) throws IOException {
+        Path indexFile = getIndexFile(pairKey);
+
+        if (!Files.exists(csvFile)) {
+            Files.deleteIfExists(indexFile);
+            return 0;
+        }
+
+        long csvSize = Files.size(csvFile);
+        long coveredSize = readCoveredSize(indexFile);
+        if (coveredSize < 0 || coveredSize > csvSize) {
+            return rebuild(pairKey, csvFile);
+        }
+        if (coveredSize == csvSize) {
+            return 0;
+        }
+
+        try (FileChannel csvChannel = FileChannel.open(csvFile, StandardOpenOption.READ);
+             FileChannel indexChannel = FileChannel.open(indexFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+            IndexBuilder builder = new IndexBuilder(indexChannel);
+            builder.loadLastEntry();
+
+            InputStream in = new BufferedInputStream(Channels.newInputStream(csvChannel.position(coveredSize)));
+            long newCovered = scan(in, coveredSize, builder);
+            builder.finish(newCovered);
+            return builder.getIndexedRows();
+        }
+    }
+
+    /**
+     * Baut den Index einer CSV-Datei vollständig neu auf
+     * @return Anzahl indizierter Zeilen
+     */
+    public int rebuild(String pairKey, Path csvFile) throws IOException {
+        Files.createDirectories(indexPath);
+        Path indexFile = getIndexFile(pairKey);
+        Path tempFile = indexPath.resolve(pairKey + FILE_EXTENSION + ".tmp");
+
+        int indexedRows;
+        try (FileChannel indexChannel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             InputStream in = new BufferedInputStream(Files.newInputStream(csvFile), 65536)) {
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(0).putInt(0).putInt(0).flip();
+            while (header.hasRemaining()) {
+                indexChannel.write(header, header.position());
+            }
+
+            IndexBuilder builder = new IndexBuilder(indexChannel);
+            long covered = scan(in, 0, builder);
+            builder.finish(covered);
+            indexedRows = builder.getIndexedRows();
+        }
+        Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+
+        LOGGER.fine("Zeit-Index für " + pairKey + " neu aufgebaut: " + indexedRows + " Zeilen");
+        return indexedRows;
+    }
+
+    /**
+     * Byte-Offset, ab dem Zeilen mit Zeitstempel >= epochSeconds beginnen können
+     * Binärsuche mit positionellen Reads je Eintrag (etwa log2(n) Reads), die Index-Datei wird nicht
+     * vollständig geladen. Kein Memory-Mapping: unter Windows ließe sich die Datei sonst bis zum GC
+     * weder löschen noch ersetzen.
+     * @return Offset (Zeilenanfang) oder -1 falls der Index nicht verwendbar ist
+     */
+    public long findOffsetForTime(String pairKey, long epochSeconds) throws IOException {
+        long targetBucket = Math.floorDiv(epochSeconds, 3600L);
+
+        Path indexFile = getIndexFile(pairKey);
+        if (!Files.exists(indexFile)) {
+            return -1;
+        }
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || (size - HEADER_SIZE) % ENTRY_SIZE != 0) {
+                return -1;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (!readFully(channel, header, 0)) {
+                return -1;
+            }
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION
+                    || (header.getInt(FLAGS_POSITION) & FLAG_UNSORTED) != 0) {
+                return -1;
+            }
+            long coveredSize = header.getLong(COVERED_SIZE_POSITION);
+
+            ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+            long entryCount = (size - HEADER_SIZE) / ENTRY_SIZE;
+            long low = 0;
+            long high = entryCount;
+            long lowOffset = coveredSize;
+            while (low < high) {
+                long mid = (low + high) >>> 1;
+                if (!readFully(channel, entry, HEADER_SIZE + mid * ENTRY_SIZE)) {
+                    return -1;
+                }
+                if (entry.getLong(0) < targetBucket) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                    lowOffset = entry.getLong(8);
+                }
+            }
+            // lowOffset stammt vom zuletzt gelesenen Eintrag >= Ziel, also genau von Eintrag low
+            return low < entryCount ? lowOffset : coveredSize;
+        }
+    }
+
+    /**
+     * Löscht den Index (wird beim nächsten Zugriff neu aufgebaut)
+     */
+    public void invalidate(String pairKey) {
+        try {
+            Files.deleteIfExists(getIndexFile(pairKey));
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Index für " + pairKey + " konnte nicht gelöscht werden: " + e.getMessage(), e);
+        }
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    /**
+     * Liest vollständige Zeilen ab startOffset und übergibt Zeitstempel-Buckets an den Builder
+     * @return Offset hinter der letzten vollständigen Zeile
+     */
+    private long scan(InputStream in, long startOffset, IndexBuilder builder) throws IOException {
+        byte[] timestamp = new byte[TIMESTAMP_LENGTH];
+        ByteBuffer timestampBuffer = ByteBuffer.wrap(timestamp);
+        long offset = startOffset;
+        long lineStart = startOffset;
+        int column = 0;
+        int b;
+
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                if (column >= TIMESTAMP_LENGTH) {
+                    long seconds = CurrencyPairCsvCodec.parseEpochSeconds(timestampBuffer, 0, TIMESTAMP_LENGTH);
+                    if (seconds != CurrencyPairCsvCodec.INVALID) {
+                        builder.add(Math.floorDiv(seconds, 3600L), lineStart);
+                    }
+                }
+                offset++;
+                lineStart = offset;
+                column = 0;
+                continue;
+            }
+            if (column < TIMESTAMP_LENGTH) {
+                timestamp[column] = (byte) b;
+            }
+            column++;
+            offset++;
+        }
+        return lineStart;
+    }
+
+    private long readCoveredSize(Path indexFile) throws IOException {
+        if (!Files.exists(indexFile)) {
+            return -1;
+        }
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || (channel.size() - HEADER_SIZE) % ENTRY_SIZE != 0) {
+                return -1;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    return -1;
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                return -1;
+            }
+            return header.getLong();
+        }
+    }
+
+    /**
+     * Liest den Puffer vollständig ab position
+     * @return false bei vorzeitigem Dateiende
+     */
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ===== INNERE KLASSEN =====
+
+    /**
+     * Schreibt Index-Einträge fortlaufend; der letzte Bucket wird im Speicher gehalten
+     * und beim Abschluss (oder Bucket-Wechsel) geschrieben
+     */
+    private static class IndexBuilder {
+        private final FileChannel channel;
+        private final ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+        private long entryPosition;
+        private long currentBucket = Long.MIN_VALUE;
+        private long currentOffset;
+        private int currentCount;
+        private int flags;
+        private int indexedRows;
+
+        IndexBuilder(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.entryPosition = Math.max(HEADER_SIZE, channel.size());
+            ByteBuffer flagBuffer = ByteBuffer.allocate(Integer.BYTES);
+            if (channel.size() >= HEADER_SIZE) {
+                channel.read(flagBuffer, FLAGS_POSITION);
+                flagBuffer.flip();
+                flags = flagBuffer.getInt();
+            }
+        }
+
+        /**
+         * Übernimmt den letzten vorhandenen Eintrag, damit er weiter hochgezählt werden kann
+         */
+        void loadLastEntry() throws IOException {
+            if (entryPosition <= HEADER_SIZE) {
+                return;
+            }
+            entryPosition -= ENTRY_SIZE;
+            entry.clear();
+            while (entry.hasRemaining()) {
+                if (channel.read(entry, entryPosition + entry.position()) < 0) {
+                    throw new IOException("Index-Datei unvollständig");
+                }
+            }
+            entry.flip();
+            currentBucket = entry.getLong();
+            currentOffset = entry.getLong();
+            currentCount = entry.getInt();
+        }
+
+        void add(long bucket, long lineOffset) throws IOException {
+            indexedRows++;
+            if (bucket == currentBucket) {
+                currentCount++;
+                return;
+            }
+            if (currentBucket != Long.MIN_VALUE) {
+                if (bucket < currentBucket) {
+                    flags |= FLAG_UNSORTED;
+                }
+                writeCurrent();
+                entryPosition += ENTRY_SIZE;
+            }
+            currentBucket = bucket;
+            currentOffset = lineOffset;
+            currentCount = 1;
+        }
+
+        void finish(long coveredSize) throws IOException {
+            if (currentBucket != Long.MIN_VALUE) {
+                writeCurrent();
+            }
+            ByteBuffer header = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+            header.putLong(coveredSize).putInt(flags).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, COVERED_SIZE_POSITION + header.position());
+            }
+        }
+
+        int getIndexedRows() {
+            return indexedRows;
+        }
+
+        private void writeCurrent() throws IOException {
+            entry.clear();
+            entry.putLong(currentBucket).putLong(currentOffset).putInt(currentCount).flip();
+            while (entry.hasRemaining()) {
+                channel.write(entry, entryPosition + entry.position());
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.fxssi.extractor.storage;
+
+import com.fxssi.extractor.config.ExportConfig;
+import com.fxssi.extractor.model.CurrencyPairData;
+import com.fxssi.extractor.model.PairHistory;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Speicher-Schnittstelle für die Zeitreihen der Währungspaare
+ * GUI- und Console-Modus greifen ausschließlich über diese Schnittstelle auf die
+ * Währungspaar-Dateien zu. Die Implementierung (CurrencyPairDataManager) verwendet pro
+ * Datei eine prozessweit geteilte Sperre, auch wenn mehrere Instanzen existieren.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public interface PairTimeSeriesStore {
+
+    /**
+     * Gibt das Verzeichnis der Währungspaar-Dateien zurück
+     */
+    Path getCurrencyDataPath();
+
+    /**
+     * Erstellt das Verzeichnis der Währungspaar-Dateien falls nötig
+     */
+    void createCurrencyDataDirectory();
+
+    // ===== SCHREIBEN =====
+
+    /**
+     * Speichert die Daten eines Abrufs für alle enthaltenen Währungspaare
+     */
+    void appendDataForAllPairs(List<CurrencyPairData> currencyDataList);
+
+    /**
+     * Speichert einen Datensatz für ein einzelnes Währungspaar
+     */
+    void appendDataForSinglePair(CurrencyPairData currencyData);
+
+    // ===== LESEN =====
+
+    /**
+     * Liest alle historischen Daten eines Währungspaars (inklusive Archiv)
+     */
+    List<CurrencyPairData> readDataForCurrencyPair(String currencyPair);
+
+    /**
+     * Liest die Daten eines Zeitfensters
+     * @param from Beginn (inklusiv), null für unbegrenzt
+     * @param to Ende (exklusiv), null für unbegrenzt
+     */
+    List<CurrencyPairData> readDataWindowForCurrencyPair(String currencyPair, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Liest die Daten eines Zeitfensters spaltenorientiert
+     * @param from Beginn (inklusiv), null für unbegrenzt
+     * @param to Ende (exklusiv), null für unbegrenzt
+     */
+    PairHistory readHistoryWindow(String currencyPair, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Liest die letzten N Einträge (neueste zuerst)
+     */
+    List<CurrencyPairData> readLastEntriesForCurrencyPair(String currencyPair, int count);
+
+    /**
+     * Listet alle Währungspaare mit Datendatei auf
+     */
+    Set<String> listAvailableCurrencyPairs();
+
+    /**
+     * Liefert die laufende Statistik eines Währungspaars (ohne die Datei erneut zu lesen)
+     */
+    RunningPairStatistics getRunningStatistics(String currencyPair);
+
+    /**
+     * Gibt eine Übersicht über alle gespeicherten Währungspaare zurück
+     */
+    String getOverallStatistics();
+
+    // ===== WARTUNG =====
+
+    /**
+     * Validiert die Datenintegrität aller Währungspaare
+     */
+    String validateAllData();
+
+    /**
+     * Entfernt Einträge älter als die angegebene Anzahl Tage
+     */
+    void cleanupOldData(int daysToKeep);
+
+    /**
+     * Verschiebt Einträge älter als die angegebene Anzahl Tage in komprimierte Archive
+     */
+    String archiveOldData(int daysToKeep);
+
+    /**
+     * Komprimiert alle Währungspaare auf einen Eintrag pro Stunde
+     */
+    String compactAllDataToHourly(BiConsumer<Integer, Integer> progressCallback, Consumer<String> messageCallback);
+
+    /**
+     * Exportiert alle Währungspaare mit stündlichen Zeitstempeln
+     * @param incremental true: nur neue Datensätze seit dem letzten Export anhängen
+     * @param exportConfig Speicher für die High-Water-Marks (nur bei inkrementellem Export)
+     */
+    String exportAllSignals(Path targetDirectory, boolean incremental, ExportConfig exportConfig,
+                            BiConsumer<Integer, Integer> progressCallback, Consumer<String> messageCallback);
+}
@@ -0,0 +1,135 @@
+package com.fxssi.extractor.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Liest eine Textdatei zeilenweise rückwärts (vom Dateiende zum Anfang)
+ * Es werden nur die benötigten Blöcke am Dateiende über einen FileChannel gelesen,
+ * die Kosten sind daher unabhängig von der Dateigröße
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class ReverseLineReader implements Closeable {
+
+    private static final int DEFAULT_BLOCK_SIZE = 8192;
+
+    private final FileChannel channel;
+    private final int blockSize;
+
+    // Puffer enthält die noch nicht gelieferten Bytes [bufferFilePosition, bufferFilePosition + bufferEnd)
+    private byte[] buffer = new byte[0];
+    private int bufferEnd = 0;
+    private long bufferFilePosition;
+    private long lastLineOffset = -1;
+    private boolean finished = false;
+
+    /**
+     * Öffnet eine Datei für das Rückwärts-Lesen
+     * @param filePath Pfad zur Datei
+     */
+    public ReverseLineReader(Path filePath) throws IOException {
+        this(FileChannel.open(filePath, StandardOpenOption.READ), DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Konstruktor mit vorhandenem Channel und Blockgröße
+     * @param channel Lesbarer FileChannel (wird beim Schließen mitgeschlossen)
+     * @param blockSize Anzahl Bytes pro Lesevorgang
+     */
+    public ReverseLineReader(FileChannel channel, int blockSize) throws IOException {
+        this.channel = channel;
+        this.blockSize = Math.max(64, blockSize);
+        this.bufferFilePosition = channel.size();
+
+        // Abschließender Zeilenumbruch erzeugt keine leere letzte Zeile
+        if (bufferFilePosition > 0) {
+            loadPreviousBlock();
+            if (bufferEnd > 0 && buffer[bufferEnd - 1] == '\n') {
+                bufferEnd--;
+            }
+        }
+        if (bufferFilePosition == 0 && bufferEnd == 0) {
+            finished = true;
+        }
+    }
+
+    /**
+     * Liefert die vorherige Zeile (ohne Zeilenumbruch) oder null am Dateianfang
+     */
+    public String readPreviousLine() throws IOException {
+        if (finished) {
+            return null;
+        }
+
+        while (true) {
+            for (int i = bufferEnd - 1; i >= 0; i--) {
+                if (buffer[i] == '\n') {
+                    String line = decodeLine(i + 1, bufferEnd);
+                    lastLineOffset = bufferFilePosition + i + 1;
+                    bufferEnd = i;
+                    return line;
+                }
+            }
+
+            if (bufferFilePosition == 0) {
+                // Erste Zeile der Datei erreicht
+                String line = decodeLine(0, bufferEnd);
+                lastLineOffset = 0;
+                bufferEnd = 0;
+                finished = true;
+                return line;
+            }
+
+            loadPreviousBlock();
+        }
+    }
+
+    /**
+     * Byte-Offset des Anfangs der zuletzt gelieferten Zeile (-1 falls noch keine gelesen)
+     */
+    public long getLastLineOffset() {
+        return lastLineOffset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Lädt den Block vor dem aktuellen Pufferbereich und hängt die Restbytes dahinter
+     */
+    private void loadPreviousBlock() throws IOException {
+        int readSize = (int) Math.min(blockSize, bufferFilePosition);
+        long readPosition = bufferFilePosition - readSize;
+
+        byte[] newBuffer = new byte[readSize + bufferEnd];
+        ByteBuffer target = ByteBuffer.wrap(newBuffer, 0, readSize);
+        while (target.hasRemaining()) {
+            int read = channel.read(target, readPosition + target.position());
+            if (read < 0) {
+                throw new IOException("Unerwartetes Dateiende beim Rückwärts-Lesen");
+            }
+        }
+        System.arraycopy(buffer, 0, newBuffer, readSize, bufferEnd);
+
+        buffer = newBuffer;
+        bufferEnd = newBuffer.length;
+        bufferFilePosition = readPosition;
+    }
+
+    private String decodeLine(int start, int end) {
+        int length = end - start;
+        if (length > 0 && buffer[end - 1] == '\r') {
+            length--;
+        }
+        return new String(buffer, start, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,196 @@
+package com.fxssi.extractor.storage;
+
+import com.fxssi.extractor.model.CurrencyPairData;
+import com.fxssi.extractor.model.PairHistory;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Laufende Statistik eines Währungspaars
+ * Anzahl, erster/letzter Zeitstempel, Mittelwert und Varianz der Buy-Prozente (Welford)
+ * sowie Verteilung der Handelssignale. Jeder Datensatz wird genau einmal in O(1) verarbeitet.
+ *
+ * Nicht thread-sicher, der Aufrufer synchronisiert (Schreib-Lock des Währungspaars).
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class RunningPairStatistics {
+
+    private static final CurrencyPairData.TradingSignal[] SIGNALS = CurrencyPairData.TradingSignal.values();
+
+    private long count;
+    private long validCount;
+    private long firstEpochSecond = Long.MAX_VALUE;
+    private long lastEpochSecond = Long.MIN_VALUE;
+    private double meanBuy;
+    private double m2Buy;
+    private final long[] signalCounts = new long[SIGNALS.length];
+
+    // Bis zu diesem Byte-Offset ist die CSV-Datei in der Statistik enthalten
+    private long coveredSize;
+
+    // Identität der erfassten CSV-Datei (fileKey bzw. Erstellungszeit), erkennt umgeschriebene Dateien gleicher Größe
+    private String fileIdentity;
+
+    /**
+     * Nimmt einen Datensatz in die Statistik auf
+     */
+    public void accept(CurrencyPairData data) {
+        boolean hasTimestamp = data.getTimestamp() != null;
+        accept(hasTimestamp, hasTimestamp ? data.getTimestamp().toEpochSecond(ZoneOffset.UTC) : 0,
+            data.getBuyPercentage(), data.getTradingSignal(), isValidRecord(data));
+    }
+
+    /**
+     * Nimmt alle Datensätze einer spaltenorientierten Historie auf (ohne Objekterzeugung)
+     */
+    public void acceptAll(PairHistory history) {
+        history.forEachRow((epochSecond, buyHundredths, sellHundredths, signal) -> {
+            double buy = buyHundredths / 100.0;
+            double sell = sellHundredths / 100.0;
+            accept(true, epochSecond, buy, signal, isValidValues(buy, sell));
+        });
+    }
+
+    private void accept(boolean hasTimestamp, long epochSecond, double buy, CurrencyPairData.TradingSignal signal, boolean valid) {
+        count++;
+        if (valid) {
+            validCount++;
+        }
+
+        if (hasTimestamp) {
+            firstEpochSecond = Math.min(firstEpochSecond, epochSecond);
+            lastEpochSecond = Math.max(lastEpochSecond, epochSecond);
+        }
+
+        // Welford: numerisch stabiler laufender Mittelwert und Summe der Abweichungsquadrate
+        double delta = buy - meanBuy;
+        meanBuy += delta / count;
+        m2Buy += delta * (buy - meanBuy);
+
+        CurrencyPairData.TradingSignal effectiveSignal = signal != null ? signal : CurrencyPairData.TradingSignal.UNKNOWN;
+        signalCounts[effectiveSignal.ordinal()]++;
+    }
+
+    /**
+     * Prüfkriterium der Datenvalidierung (konsistente Prozentwerte, Zeitstempel vorhanden)
+     */
+    public static boolean isValidRecord(CurrencyPairData data) {
+        return isValidValues(data.getBuyPercentage(), data.getSellPercentage())
+            && data.getTimestamp() != null;
+    }
+
+    private static boolean isValidValues(double buy, double sell) {
+        return CurrencyPairData.isDataConsistent(buy, sell) && buy >= 0 && sell >= 0;
+    }
+
+    public long getCount() { return count; }
+    public long getValidCount() { return validCount; }
+    public long getInvalidCount() { return count - validCount; }
+
+    public LocalDateTime getFirstEntry() {
+        return firstEpochSecond == Long.MAX_VALUE ? null : LocalDateTime.ofEpochSecond(firstEpochSecond, 0, ZoneOffset.UTC);
+    }
+
+    public LocalDateTime getLastEntry() {
+        return lastEpochSecond == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(lastEpochSecond, 0, ZoneOffset.UTC);
+    }
+
+    public double getMeanBuyPercentage() {
+        return count > 0 ? meanBuy : Double.NaN;
+    }
+
+    /**
+     * Stichprobenvarianz der Buy-Prozente
+     */
+    public double getBuyVariance() {
+        return count > 1 ? m2Buy / (count - 1) : Double.NaN;
+    }
+
+    public double getBuyStandardDeviation() {
+        return Math.sqrt(getBuyVariance());
+    }
+
+    public long getSignalCount(CurrencyPairData.TradingSignal signal) {
+        return signalCounts[signal.ordinal()];
+    }
+
+    public Map<CurrencyPairData.TradingSignal, Long> getSignalDistribution() {
+        Map<CurrencyPairData.TradingSignal, Long> distribution = new EnumMap<>(CurrencyPairData.TradingSignal.class);
+        for (CurrencyPairData.TradingSignal signal : SIGNALS) {
+            distribution.put(signal, signalCounts[signal.ordinal()]);
+        }
+        return distribution;
+    }
+
+    long getCoveredSize() { return coveredSize; }
+    void setCoveredSize(long coveredSize) { this.coveredSize = coveredSize; }
+
+    String getFileIdentity() { return fileIdentity; }
+    void setFileIdentity(String fileIdentity) { this.fileIdentity = fileIdentity; }
+
+    /**
+     * Unabhängige Kopie (für Rückgabe an Aufrufer außerhalb des Locks)
+     */
+    public RunningPairStatistics copy() {
+        RunningPairStatistics copy = new RunningPairStatistics();
+        copy.count = count;
+        copy.validCount = validCount;
+        copy.firstEpochSecond = firstEpochSecond;
+        copy.lastEpochSecond = lastEpochSecond;
+        copy.meanBuy = meanBuy;
+        copy.m2Buy = m2Buy;
+        System.arraycopy(signalCounts, 0, copy.signalCounts, 0, signalCounts.length);
+        copy.coveredSize = coveredSize;
+        copy.fileIdentity = fileIdentity;
+        return copy;
+    }
+
+    // ===== SIDECAR-FORMAT =====
+
+    Properties toProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("count", Long.toString(count));
+        properties.setProperty("validCount", Long.toString(validCount));
+        properties.setProperty("firstEpochSecond", Long.toString(firstEpochSecond));
+        properties.setProperty("lastEpochSecond", Long.toString(lastEpochSecond));
+        // Hex-Darstellung, damit Mittelwert und Varianz nach Neustart bitgenau weiterlaufen
+        properties.setProperty("meanBuy", Double.toHexString(meanBuy));
+        properties.setProperty("m2Buy", Double.toHexString(m2Buy));
+        for (CurrencyPairData.TradingSignal signal : SIGNALS) {
+            properties.setProperty("signal." + signal.name(), Long.toString(signalCounts[signal.ordinal()]));
+        }
+        properties.setProperty("coveredSize", Long.toString(coveredSize));
+        if (fileIdentity != null) {
+            properties.setProperty("fileIdentity", fileIdentity);
+        }
+        return properties;
+    }
+
+    static RunningPairStatistics fromProperties(Properties properties) {
+        RunningPairStatistics stats = new RunningPairStatistics();
+        stats.count = Long.parseLong(properties.getProperty("count"));
+        stats.validCount = Long.parseLong(properties.getProperty("validCount"));
+        stats.firstEpochSecond = Long.parseLong(properties.getProperty("firstEpochSecond"));
+        stats.lastEpochSecond = Long.parseLong(properties.getProperty("lastEpochSecond"));
+        stats.meanBuy = Double.parseDouble(properties.getProperty("meanBuy"));
+        stats.m2Buy = Double.parseDouble(properties.getProperty("m2Buy"));
+        for (CurrencyPairData.TradingSignal signal : SIGNALS) {
+            stats.signalCounts[signal.ordinal()] = Long.parseLong(properties.getProperty("signal." + signal.name(), "0"));
+        }
+        stats.coveredSize = Long.parseLong(properties.getProperty("coveredSize"));
+        stats.fileIdentity = properties.getProperty("fileIdentity");
+        return stats;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RunningPairStatistics{count=%d, from=%s, to=%s, meanBuy=%.2f, stdDevBuy=%.2f, signals=%s}",
+            count, getFirstEntry(), getLastEntry(), getMeanBuyPercentage(), getBuyStandardDeviation(), getSignalDistribution());
+    }
+}
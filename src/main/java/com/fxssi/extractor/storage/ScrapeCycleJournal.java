@@ -0,0 +1,484 @@
+package com.fxssi.extractor.storage;
+
+import com.fxssi.extractor.config.StorageConfig;
+import com.fxssi.extractor.model.CurrencyPairData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Write-Ahead-Journal für Scrape-Zyklen
+ * Jeder Zyklus wird als ein einziger Eintrag an data/journal/scrape_cycles.journal angehängt:
+ *   Magic (int) | Sequenznummer (long) | Länge (int) | CRC32 (int) | CSV-Zeilen (UTF-8)
+ * Gleichzeitig eintreffende Zyklen werden vom Schreib-Thread gemeinsam geschrieben und mit einem
+ * einzigen fsync bestätigt (Group Commit). Die Tages- und Währungspaar-Dateien werden danach
+ * asynchron über den Materializer aktualisiert, der Checkpoint merkt sich den zuletzt
+ * vollständig übernommenen Zyklus.
+ *
+ * Beim Start spielt recover() alle Zyklen nach dem Checkpoint erneut ein. Die Ziel-Dateien
+ * filtern Duplikate, ein doppeltes Einspielen nach einem Absturz ist daher unkritisch.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class ScrapeCycleJournal {
+
+    private static final Logger LOGGER = Logger.getLogger(ScrapeCycleJournal.class.getName());
+    private static final String JOURNAL_SUBDIRECTORY = "journal";
+    private static final String JOURNAL_FILE = "scrape_cycles.journal";
+    private static final String CHECKPOINT_FILE = "scrape_cycles.checkpoint";
+
+    private static final int MAGIC = 0x4A524E31; // "JRN1"
+    private static final int RECORD_HEADER_SIZE = 20; // magic(int) + seq(long) + length(int) + crc(int)
+
+    /** Journal wird geleert, sobald alles übernommen ist und es diese Größe überschreitet */
+    public static final long COMPACT_THRESHOLD_BYTES = 1024 * 1024;
+
+    private final Path journalPath;
+    private final Path journalFile;
+    private final Path checkpointFile;
+    private final Consumer<List<CurrencyPairData>> materializer;
+
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private final LinkedBlockingQueue<PendingCycle> pending = new LinkedBlockingQueue<>();
+    private final ExecutorService materializerExecutor;
+    private FileChannel channel;
+    private Thread writerThread;
+
+    private volatile boolean running;
+    private long nextSequence = 1;
+    private volatile long lastCommittedSequence;
+    private volatile long checkpointSequence;
+    // Bestätigte, aber noch nicht übernommene Zyklen in Sequenz-Reihenfolge (nur Materializer-Thread)
+    private final ArrayDeque<CommittedCycle> unmaterialized = new ArrayDeque<>();
+
+    /**
+     * Konstruktor
+     * @param dataDirectory Basis-Datenverzeichnis
+     * @param materializer Übernimmt einen Zyklus in die CSV-Dateien (wird nur vom Materializer-Thread aufgerufen)
+     */
+    public ScrapeCycleJournal(String dataDirectory, Consumer<List<CurrencyPairData>> materializer) {
+        this.journalPath = Paths.get(dataDirectory).resolve(JOURNAL_SUBDIRECTORY);
+        this.journalFile = journalPath.resolve(JOURNAL_FILE);
+        this.checkpointFile = journalPath.resolve(CHECKPOINT_FILE);
+        this.materializer = materializer;
+        this.materializerExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "ScrapeCycleJournal-Materializer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Erzeugt das Journal und startet es, falls es in der Speicher-Konfiguration aktiviert ist
+     * Ist es deaktiviert oder scheitert die Wiederherstellung, schreibt commitOrWrite direkt über den Materializer.
+     * @param dataDirectory Basis-Datenverzeichnis
+     * @param materializer Übernimmt einen Zyklus in die CSV-Dateien
+     * @return Journal (nie null)
+     */
+    public static ScrapeCycleJournal openIfEnabled(String dataDirectory, Consumer<List<CurrencyPairData>> materializer) {
+        ScrapeCycleJournal journal = new ScrapeCycleJournal(dataDirectory, materializer);
+        if (!new StorageConfig(dataDirectory).isJournalEnabled()) {
+            LOGGER.info("Scrape-Journal deaktiviert - Daten werden direkt geschrieben");
+            return journal;
+        }
+        try {
+            int recovered = journal.recover();
+            LOGGER.info("Scrape-Journal aktiv" + (recovered > 0 ? " (" + recovered + " Zyklen wiederhergestellt)" : ""));
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Scrape-Journal konnte nicht gestartet werden - Daten werden direkt geschrieben: " + e.getMessage(), e);
+        }
+        return journal;
+    }
+
+    /**
+     * Spielt nicht übernommene Zyklen ein und startet den Schreib-Thread
+     * @return Anzahl wiederhergestellter Zyklen
+     */
+    public int recover() throws IOException {
+        Files.createDirectories(journalPath);
+        checkpointSequence = readCheckpoint();
+
+        channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        List<JournalRecord> records = new ArrayList<>();
+        long validEnd = scan(records);
+        if (validEnd < channel.size()) {
+            LOGGER.warning("Unvollständiger Journal-Eintrag am Ende abgeschnitten: " + (channel.size() - validEnd) + " Bytes");
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+
+        int replayed = 0;
+        long maxSequence = checkpointSequence;
+        for (JournalRecord record : records) {
+            maxSequence = Math.max(maxSequence, record.sequence);
+            if (record.sequence <= checkpointSequence) {
+                continue;
+            }
+            materializer.accept(decode(record.payload));
+            writeCheckpoint(record.sequence);
+            replayed++;
+        }
+        if (replayed > 0) {
+            LOGGER.info("Journal-Wiederherstellung: " + replayed + " Scrape-Zyklen nachträglich übernommen");
+        }
+
+        nextSequence = maxSequence + 1;
+        lastCommittedSequence = maxSequence;
+        compactIfIdle();
+
+        running = true;
+        writerThread = new Thread(this::writerLoop, "ScrapeCycleJournal-Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        return replayed;
+    }
+
+    /**
+     * Schreibt einen Scrape-Zyklus dauerhaft ins Journal und plant die Übernahme in die CSV-Dateien
+     * Kehrt zurück, sobald der Eintrag per fsync gesichert ist.
+     * @param cycleData Daten eines Scrape-Zyklus
+     * @return Sequenznummer des Eintrags
+     */
+    public long commit(List<CurrencyPairData> cycleData) {
+        if (!running) {
+            throw new IllegalStateException("Journal ist nicht gestartet");
+        }
+        PendingCycle cycle = new PendingCycle(new ArrayList<>(cycleData));
+        pending.add(cycle);
+        try {
+            return cycle.committed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Journal-Commit unterbrochen", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Konnte Scrape-Zyklus nicht im Journal speichern", e.getCause());
+        }
+    }
+
+    /**
+     * Sichert einen Scrape-Zyklus im Journal (ein fsync), die CSV-Dateien werden asynchron aktualisiert
+     * Ohne laufendes Journal oder bei Journal-Fehlern wird direkt über den Materializer geschrieben.
+     * @param cycleData Daten eines Scrape-Zyklus
+     */
+    public void commitOrWrite(List<CurrencyPairData> cycleData) {
+        if (running) {
+            try {
+                long sequence = commit(cycleData);
+                LOGGER.fine("Scrape-Zyklus " + sequence + " im Journal gesichert");
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Journal-Commit fehlgeschlagen, schreibe direkt: " + e.getMessage(), e);
+            }
+        }
+        materializer.accept(cycleData);
+    }
+
+    /**
+     * true wenn das Journal gestartet ist und Zyklen aufnimmt
+     */
+    public boolean isActive() {
+        return running;
+    }
+
+    /**
+     * Beendet Schreib- und Materializer-Thread nach Abarbeitung aller offenen Zyklen
+     */
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        pending.add(PendingCycle.STOP);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+            materializerExecutor.shutdown();
+            if (!materializerExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                LOGGER.warning("Materializer nicht rechtzeitig beendet - Rest wird beim nächsten Start eingespielt");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journalLock.lock();
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Schließen des Journals: " + e.getMessage(), e);
+        } finally {
+            journalLock.unlock();
+        }
+        LOGGER.info("ScrapeCycleJournal heruntergefahren (Checkpoint: " + checkpointSequence + ")");
+    }
+
+    public long getLastCommittedSequence() {
+        return lastCommittedSequence;
+    }
+
+    public long getCheckpointSequence() {
+        return checkpointSequence;
+    }
+
+    // ===== SCHREIB-THREAD (GROUP COMMIT) =====
+
+    private void writerLoop() {
+        List<PendingCycle> group = new ArrayList<>();
+        while (true) {
+            group.clear();
+            try {
+                group.add(pending.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // Alle bereits wartenden Zyklen mit in denselben fsync nehmen
+            pending.drainTo(group);
+
+            boolean stop = group.remove(PendingCycle.STOP);
+            if (!group.isEmpty()) {
+                writeGroup(group);
+            }
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    private void writeGroup(List<PendingCycle> group) {
+        List<byte[]> payloads = new ArrayList<>(group.size());
+        int totalSize = 0;
+        for (PendingCycle cycle : group) {
+            byte[] payload = encode(cycle.data);
+            payloads.add(payload);
+            totalSize += RECORD_HEADER_SIZE + payload.length;
+        }
+
+        journalLock.lock();
+        try {
+            long firstSequence = nextSequence;
+            ByteBuffer buffer = ByteBuffer.allocate(totalSize);
+            for (int i = 0; i < group.size(); i++) {
+                byte[] payload = payloads.get(i);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                buffer.putInt(MAGIC).putLong(firstSequence + i).putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+            }
+            buffer.flip();
+
+            long position = channel.size();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            channel.force(false);
+
+            nextSequence = firstSequence + group.size();
+            lastCommittedSequence = nextSequence - 1;
+
+            for (int i = 0; i < group.size(); i++) {
+                PendingCycle cycle = group.get(i);
+                long sequence = firstSequence + i;
+                materializerExecutor.execute(() -> materialize(sequence, cycle.data));
+                cycle.committed.complete(sequence);
+            }
+            LOGGER.fine("Journal: " + group.size() + " Zyklen mit einem fsync geschrieben (" + totalSize + " Bytes)");
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Fehler beim Schreiben des Journals: " + e.getMessage(), e);
+            for (PendingCycle cycle : group) {
+                cycle.committed.completeExceptionally(e);
+            }
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    // ===== MATERIALIZER =====
+
+    /**
+     * Übernimmt einen Zyklus in die CSV-Dateien
+     * Ist ein früherer Zyklus gescheitert, wird dieser zuerst erneut versucht; der Checkpoint rückt
+     * immer nur lückenlos vor, damit kein Zyklus übersprungen wird.
+     */
+    private void materialize(long sequence, List<CurrencyPairData> data) {
+        unmaterialized.addLast(new CommittedCycle(sequence, data));
+        while (!unmaterialized.isEmpty()) {
+            CommittedCycle cycle = unmaterialized.peekFirst();
+            try {
+                materializer.accept(cycle.data);
+                writeCheckpoint(cycle.sequence);
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Fehler beim Übernehmen von Journal-Zyklus " + cycle.sequence
+                        + " (" + unmaterialized.size() + " Zyklen ausstehend, nächster Versuch mit dem folgenden Zyklus): "
+                        + e.getMessage(), e);
+                return;
+            }
+            unmaterialized.removeFirst();
+            if (cycle.sequence != sequence) {
+                LOGGER.info("Journal-Zyklus " + cycle.sequence + " nachträglich übernommen");
+            }
+        }
+        try {
+            compactIfIdle();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Leeren des Journals: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Leert das Journal, wenn alle Zyklen übernommen sind und es groß genug geworden ist
+     */
+    private void compactIfIdle() throws IOException {
+        journalLock.lock();
+        try {
+            if (checkpointSequence >= lastCommittedSequence && channel.size() > COMPACT_THRESHOLD_BYTES) {
+                channel.truncate(0);
+                channel.force(true);
+                LOGGER.info("Journal geleert (alle Zyklen bis " + checkpointSequence + " übernommen)");
+            }
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void writeCheckpoint(long sequence) throws IOException {
+        Path tempFile = journalPath.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.write(tempFile, String.valueOf(sequence).getBytes(StandardCharsets.UTF_8));
+        Files.move(tempFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpointSequence = sequence;
+    }
+
+    private long readCheckpoint() {
+        if (!Files.exists(checkpointFile)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(checkpointFile), StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            LOGGER.warning("Ungültiger Journal-Checkpoint - spiele gesamtes Journal ein: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    // ===== KODIERUNG =====
+
+    /**
+     * Liest alle gültigen Einträge
+     * @return Byte-Position hinter dem letzten gültigen Eintrag
+     */
+    private long scan(List<JournalRecord> records) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+
+        while (position + RECORD_HEADER_SIZE <= size) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+            int magic = header.getInt();
+            long sequence = header.getLong();
+            int length = header.getInt();
+            int expectedCrc = header.getInt();
+            if (magic != MAGIC || length < 0 || position + RECORD_HEADER_SIZE + length > size) {
+                break;
+            }
+
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, position + RECORD_HEADER_SIZE);
+            CRC32 crc = new CRC32();
+            crc.update(payload.array());
+            if ((int) crc.getValue() != expectedCrc) {
+                break;
+            }
+
+            records.add(new JournalRecord(sequence, payload.array()));
+            position += RECORD_HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private void readFully(ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            if (channel.read(target, position + target.position()) < 0) {
+                break;
+            }
+        }
+    }
+
+    private static byte[] encode(List<CurrencyPairData> data) {
+        StringBuilder sb = new StringBuilder(data.size() * 48);
+        for (CurrencyPairData row : data) {
+            sb.append(row.toCsvLine()).append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<CurrencyPairData> decode(byte[] payload) {
+        List<CurrencyPairData> data = new ArrayList<>();
+        for (String line : new String(payload, StandardCharsets.UTF_8).split("\n")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                data.add(CurrencyPairData.fromCsvLine(line));
+            } catch (IllegalArgumentException e) {
+                LOGGER.warning("Ungültige Journal-Zeile übersprungen: " + line);
+            }
+        }
+        return data;
+    }
+
+    // ===== INNERE KLASSEN =====
+
+    private static class PendingCycle {
+        static final PendingCycle STOP = new PendingCycle(new ArrayList<>());
+
+        final List<CurrencyPairData> data;
+        final CompletableFuture<Long> committed = new CompletableFuture<>();
+
+        PendingCycle(List<CurrencyPairData> data) {
+            this.data = data;
+        }
+    }
+
+    private static class CommittedCycle {
+        final long sequence;
+        final List<CurrencyPairData> data;
+
+        CommittedCycle(long sequence, List<CurrencyPairData> data) {
+            this.sequence = sequence;
+            this.data = data;
+        }
+    }
+
+    private static class JournalRecord {
+        final long sequence;
+        final byte[] payload;
+
+        JournalRecord(long sequence, byte[] payload) {
+            this.sequence = sequence;
+            this.payload = payload;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.fxssi.extractor.storage;
 
 import com.fxssi.extractor.model.CurrencyPairData;
+import com.fxssi.extractor.model.CurrencySymbol;
+import com.fxssi.extractor.model.CurrencySymbolMap;
+import com.fxssi.extractor.model.CurrencySymbolRegistry;
 import com.fxssi.extractor.model.SignalChangeEvent;
 import com.fxssi.extractor.notification.EmailService;
 
@@ -16,7 +19,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 import java.util.logging.Level;
@@ -46,9 +48,9 @@ public class SignalChangeHistoryManager {
     private final Path lastSignalsFilePath;
     private final ReentrantLock managerLock = new ReentrantLock();
 
-    // Cache für letzte bekannte Signale pro Währungspaar
-    private final ConcurrentHashMap<String, SignalWithPercentage> lastKnownSignals;
-    private final ConcurrentHashMap<String, List<SignalChangeEvent>> changeHistoryCache;
+    // Cache für letzte bekannte Signale pro Währungspaar (indiziert über die Symbol-ID)
+    private final CurrencySymbolMap<SignalWithPercentage> lastKnownSignals;
+    private final CurrencySymbolMap<List<SignalChangeEvent>> changeHistoryCache;
 
     // EmailService für Threshold-basierte Benachrichtigungen
     private EmailService emailService;
@@ -97,8 +99,8 @@ public class SignalChangeHistoryManager {
         this.historyFilePath = signalChangesPath.resolve(SIGNAL_CHANGES_FILE);
         this.lastSignalsFilePath = signalChangesPath.resolve(LAST_SIGNALS_FILE);
 
-        this.lastKnownSignals = new ConcurrentHashMap<>();
-        this.changeHistoryCache = new ConcurrentHashMap<>();
+        this.lastKnownSignals = new CurrencySymbolMap<>();
+        this.changeHistoryCache = new CurrencySymbolMap<>();
         this.emailService = null;
         this.emailNotificationsEnabled = false;
 
@@ -118,8 +120,8 @@ public class SignalChangeHistoryManager {
         this.historyFilePath = signalChangesPath.resolve(SIGNAL_CHANGES_FILE);
         this.lastSignalsFilePath = signalChangesPath.resolve(LAST_SIGNALS_FILE);
 
-        this.lastKnownSignals = new ConcurrentHashMap<>();
-        this.changeHistoryCache = new ConcurrentHashMap<>();
+        this.lastKnownSignals = new CurrencySymbolMap<>();
+        this.changeHistoryCache = new CurrencySymbolMap<>();
         this.emailService = emailService;
         this.emailNotificationsEnabled = (emailService != null);
 
@@ -263,7 +265,7 @@ public class SignalChangeHistoryManager {
                             }
                         }
 
-                        lastKnownSignals.put(currencyPair, new SignalWithPercentage(signal, buyPercentage));
+                        lastKnownSignals.put(CurrencySymbolRegistry.of(currencyPair), new SignalWithPercentage(signal, buyPercentage));
                     }
                 }
 
@@ -300,8 +302,9 @@ public class SignalChangeHistoryManager {
 
             for (CurrencyPairData data : newData) {
                 String currencyPair = data.getCurrencyPair();
+                CurrencySymbol symbol = data.getSymbol();
                 CurrencyPairData.TradingSignal currentSignal = data.getTradingSignal();
-                SignalWithPercentage lastSignalData = lastKnownSignals.get(currencyPair);
+                SignalWithPercentage lastSignalData = lastKnownSignals.get(symbol);
                 CurrencyPairData.TradingSignal lastSignal = lastSignalData != null ? lastSignalData.getSignal() : null;
 
                 // Prüfe auf Signalwechsel
@@ -323,7 +326,7 @@ public class SignalChangeHistoryManager {
                 }
 
                 // Aktualisiere letztes bekanntes Signal
-                lastKnownSignals.put(currencyPair, new SignalWithPercentage(currentSignal, data.getBuyPercentage()));
+                lastKnownSignals.put(symbol, new SignalWithPercentage(currentSignal, data.getBuyPercentage()));
             }
 
             // Speichere erkannte Wechsel
@@ -379,7 +382,8 @@ public class SignalChangeHistoryManager {
      */
     public List<SignalChangeEvent> getSignalChangeHistory(String currencyPair) {
         // Prüfe Cache zuerst
-        List<SignalChangeEvent> cachedHistory = changeHistoryCache.get(currencyPair);
+        CurrencySymbol symbol = CurrencySymbolRegistry.of(currencyPair);
+        List<SignalChangeEvent> cachedHistory = changeHistoryCache.get(symbol);
         if (cachedHistory != null) {
             return new ArrayList<>(cachedHistory);
         }
@@ -387,12 +391,12 @@ public class SignalChangeHistoryManager {
         // Lade aus Datei
         List<SignalChangeEvent> allChanges = loadAllSignalChanges();
         List<SignalChangeEvent> pairChanges = allChanges.stream()
-                .filter(change -> change.getCurrencyPair().equals(currencyPair))
+                .filter(change -> CurrencySymbolRegistry.of(change.getCurrencyPair()) == symbol)
                 .sorted((a, b) -> b.getChangeTime().compareTo(a.getChangeTime())) // Neueste zuerst
                 .collect(Collectors.toList());
 
         // Cache aktualisieren
-        changeHistoryCache.put(currencyPair, pairChanges);
+        changeHistoryCache.put(symbol, pairChanges);
 
         LOGGER.fine("Signalwechsel-Historie für " + currencyPair + " geladen: " + pairChanges.size() + " Einträge");
         return new ArrayList<>(pairChanges);
@@ -667,10 +671,13 @@ public class SignalChangeHistoryManager {
                 writer.write("Währungspaar;Letztes_Signal;Prozent");
                 writer.newLine();
 
-                for (Map.Entry<String, SignalWithPercentage> entry : lastKnownSignals.entrySet()) {
-                    SignalWithPercentage signalData = entry.getValue();
+                for (CurrencySymbol symbol : lastKnownSignals.keys()) {
+                    SignalWithPercentage signalData = lastKnownSignals.get(symbol);
+                    if (signalData == null) {
+                        continue;
+                    }
                     writer.write(String.format("%s;%s;%d",
-                            entry.getKey(),
+                            symbol.getDisplayName(),
                             signalData.getSignal().name(),
                             Math.round(signalData.getBuyPercentage())));
                     writer.newLine();
@@ -782,10 +789,13 @@ public class SignalChangeHistoryManager {
             int totalCount = 0;
 
             // Konvertiere und schreibe Daten
-            for (Map.Entry<String, SignalWithPercentage> entry : lastKnownSignals.entrySet()) {
-                String originalPair = entry.getKey();
-                String convertedPair = convertCurrencyPairForMetaTrader(originalPair);
-                SignalWithPercentage signalData = entry.getValue();
+            for (CurrencySymbol symbol : lastKnownSignals.keys()) {
+                String originalPair = symbol.getDisplayName();
+                String convertedPair = convertCurrencyPairForMetaTrader(symbol);
+                SignalWithPercentage signalData = lastKnownSignals.get(symbol);
+                if (signalData == null) {
+                    continue;
+                }
 
                 writer.write(String.format("%s;%s",
                         convertedPair,
@@ -810,37 +820,16 @@ public class SignalChangeHistoryManager {
 
     /**
      * NEU: Konvertiert Währungspaare für MetaTrader-Kompatibilität
-     * ERWEITERT: Logging für spezielle Konvertierungen
+     * Der MetaTrader-Name (EURUSD, GOLD, SILVER) ist im Symbol vorberechnet.
      * 
-     * @param originalPair Ursprüngliches Währungspaar (z.B. "EUR/USD")
+     * @param symbol Symbol des Währungspaars (z.B. "EUR/USD")
      * @return MetaTrader-kompatibles Währungspaar (z.B. "EURUSD")
      */
-    private String convertCurrencyPairForMetaTrader(String originalPair) {
-        if (originalPair == null || originalPair.trim().isEmpty()) {
-            return originalPair;
+    private String convertCurrencyPairForMetaTrader(CurrencySymbol symbol) {
+        String converted = symbol.getMetaTraderSymbol();
+        if (!converted.equals(symbol.getCompactName())) {
+            LOGGER.fine("   Spezialkonvertierung: " + symbol.getCompactName() + " → " + converted);
         }
-
-        String converted = originalPair.trim();
-
-        // Schritt 1: Entferne Schrägstriche (/) - EUR/USD → EURUSD
-        converted = converted.replace("/", "");
-
-        // Schritt 2: Spezielle Konvertierungen für Edelmetalle
-        switch (converted.toUpperCase()) {
-            case "XAUUSD":
-                LOGGER.fine("   Spezialkonvertierung: XAUUSD → GOLD");
-                converted = "GOLD";
-                break;
-            case "XAGUSD":
-                LOGGER.fine("   Spezialkonvertierung: XAGUSD → SILVER");
-                converted = "SILVER";
-                break;
-            // Weitere spezielle Konvertierungen können hier hinzugefügt werden
-            default:
-                // Keine weitere Konvertierung nötig
-                break;
-        }
-
         return converted;
     }
 
@@ -912,12 +901,12 @@ public class SignalChangeHistoryManager {
      */
     private void updateChangeHistoryCache(List<SignalChangeEvent> newChanges) {
         for (SignalChangeEvent change : newChanges) {
-            String currencyPair = change.getCurrencyPair();
+            CurrencySymbol symbol = CurrencySymbolRegistry.of(change.getCurrencyPair());
 
-            changeHistoryCache.computeIfAbsent(currencyPair, k -> new ArrayList<>()).add(0, change);
+            List<SignalChangeEvent> pairHistory = changeHistoryCache.computeIfAbsent(symbol, k -> new ArrayList<>());
+            pairHistory.add(0, change);
 
             // Begrenze Cache-Größe pro Währungspaar
-            List<SignalChangeEvent> pairHistory = changeHistoryCache.get(currencyPair);
             if (pairHistory.size() > 100) { // Maximal 100 Einträge im Cache
                 pairHistory.subList(100, pairHistory.size()).clear();
             }
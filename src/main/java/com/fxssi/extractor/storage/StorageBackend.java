@@ -0,0 +1,16 @@
+package com.fxssi.extractor.storage;
+
+/**
+ * Speicher-Backend für die Währungspaar-Historie
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public enum StorageBackend {
+
+    /** Lesen direkt aus den CSV-Dateien (bisheriges Verhalten) */
+    CSV,
+
+    /** Lesen aus Binärdateien mit festen Datensätzen; CSV bleibt Import-/Exportformat */
+    BINARY
+}
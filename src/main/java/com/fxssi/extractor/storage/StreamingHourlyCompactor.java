@@ -0,0 +1,277 @@
+package com.fxssi.extractor.storage;
+
+import com.fxssi.extractor.model.CurrencyPairData;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Streaming-Komprimierung einer Währungspaar-Datei auf einen Eintrag pro Stunde
+ * Ein Lese-Thread parst die CSV-Datei blockweise in eine begrenzte Queue, der aufrufende Thread
+ * behält nur den letzten Eintrag der aktuellen Stunde und schreibt abgeschlossene Stunden sofort weg.
+ * Der Speicherbedarf ist dadurch unabhängig von der Dateigröße.
+ *
+ * Voraussetzung ist eine zeitlich sortierte Datei. Springt eine Zeile in eine frühere Stunde zurück,
+ * wird abgebrochen und ein unsortiertes Ergebnis geliefert, damit der Aufrufer auf die
+ * In-Memory-Komprimierung ausweichen kann.
+ *
+ * Aufrufer müssen das Datei-Lock des Währungspaars halten.
+ *
+ * @author Generated for FXSSI Data Extraction
+ * @version 1.0
+ */
+public class StreamingHourlyCompactor {
+
+    private static final Logger LOGGER = Logger.getLogger(StreamingHourlyCompactor.class.getName());
+
+    /** Anzahl Datensätze pro Block zwischen Lese- und Schreib-Thread */
+    public static final int BATCH_SIZE = 1024;
+
+    /** Maximale Anzahl Blöcke in der Queue */
+    public static final int QUEUE_CAPACITY = 4;
+
+    private static final long SECONDS_PER_HOUR = 3600L;
+    private static final List<CurrencyPairData> END_OF_STREAM = Collections.emptyList();
+
+    private final BiFunction<String, String, CurrencyPairData> rowParser;
+    private final Function<CurrencyPairData, String> rowFormatter;
+
+    /**
+     * Konstruktor
+     * @param rowParser Parser für eine CSV-Datenzeile (Zeile, Währungspaar)
+     * @param rowFormatter Formatierer für eine CSV-Datenzeile
+     */
+    public StreamingHourlyCompactor(BiFunction<String, String, CurrencyPairData> rowParser,
+                                    Function<CurrencyPairData, String> rowFormatter) {
+        this.rowParser = rowParser;
+        this.rowFormatter = rowFormatter;
+    }
+
+    /**
+     * Komprimiert die Quelldatei in die Zieldatei
+     * @param pairKey Normalisierter Name des Währungspaars
+     * @param sourceFile Bestehende CSV-Datei
+     * @param targetFile Temporäre Zieldatei (wird bei unsortierter Quelle wieder gelöscht)
+     * @param header CSV-Header der Zieldatei
+     * @return Ergebnis mit Zeilenzahlen bzw. Kennzeichen für unsortierte Quelle
+     */
+    public Result compact(String pairKey, Path sourceFile, Path targetFile, String header) throws IOException {
+        BlockingQueue<List<CurrencyPairData>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        ReaderTask readerTask = new ReaderTask(pairKey, sourceFile, header, queue);
+        Thread readerThread = new Thread(readerTask, "HourlyCompactor-Reader-" + pairKey);
+        readerThread.setDaemon(true);
+        readerThread.start();
+
+        int rowsRead = 0;
+        int rowsWritten = 0;
+        boolean sorted = true;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(targetFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writer.write(header);
+            writer.newLine();
+
+            CurrencyPairData currentHourLast = null;
+            long currentHour = Long.MIN_VALUE;
+
+            while (sorted) {
+                List<CurrencyPairData> batch = queue.take();
+                if (batch == END_OF_STREAM) {
+                    break;
+                }
+                for (CurrencyPairData row : batch) {
+                    long hour = Math.floorDiv(row.getTimestamp().toEpochSecond(ZoneOffset.UTC), SECONDS_PER_HOUR);
+                    if (hour < currentHour) {
+                        sorted = false;
+                        break;
+                    }
+                    if (hour > currentHour && currentHourLast != null) {
+                        writeHourly(writer, currentHourLast);
+                        rowsWritten++;
+                    }
+                    // Überschreibt vorherige Einträge der gleichen Stunde -> behält nur das Letzte
+                    currentHourLast = row;
+                    currentHour = hour;
+                    rowsRead++;
+                }
+            }
+
+            if (sorted && currentHourLast != null) {
+                writeHourly(writer, currentHourLast);
+                rowsWritten++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Komprimierung von " + pairKey + " unterbrochen", e);
+        } finally {
+            readerTask.cancel();
+            joinQuietly(readerThread);
+        }
+
+        if (readerTask.getFailure() != null) {
+            throw readerTask.getFailure();
+        }
+
+        if (!sorted) {
+            Files.deleteIfExists(targetFile);
+            LOGGER.info("Datei für " + pairKey + " ist nicht stündlich sortiert - Streaming-Komprimierung abgebrochen");
+            return Result.unsorted();
+        }
+
+        return new Result(rowsRead, rowsWritten, true);
+    }
+
+    // ===== PRIVATE HILFSMETHODEN =====
+
+    private void writeHourly(BufferedWriter writer, CurrencyPairData data) throws IOException {
+        // Normalisiere Timestamp auf volle Stunde (z.B. 11:59:35 -> 11:00:00)
+        data.setTimestamp(data.getTimestamp().truncatedTo(ChronoUnit.HOURS));
+        writer.write(rowFormatter.apply(data));
+        writer.newLine();
+    }
+
+    private static void joinQuietly(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== INNERE KLASSEN =====
+
+    /**
+     * Lese-Thread: parst die Quelldatei blockweise in die Queue
+     */
+    private class ReaderTask implements Runnable {
+        private final String pairKey;
+        private final Path sourceFile;
+        private final String header;
+        private final BlockingQueue<List<CurrencyPairData>> queue;
+        private volatile boolean cancelled;
+        private volatile IOException failure;
+
+        ReaderTask(String pairKey, Path sourceFile, String header, BlockingQueue<List<CurrencyPairData>> queue) {
+            this.pairKey = pairKey;
+            this.sourceFile = sourceFile;
+            this.header = header;
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            try (BufferedReader reader = Files.newBufferedReader(sourceFile, StandardCharsets.UTF_8)) {
+                List<CurrencyPairData> batch = new ArrayList<>(BATCH_SIZE);
+                String line;
+                boolean isFirstLine = true;
+                int lineNumber = 0;
+
+                while (!cancelled && (line = reader.readLine()) != null) {
+                    lineNumber++;
+
+                    if (isFirstLine) {
+                        isFirstLine = false;
+                        if (line.equals(header) || line.contains("Zeitstempel")) {
+                            continue;
+                        }
+                    }
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+
+                    try {
+                        batch.add(rowParser.apply(line, pairKey));
+                    } catch (Exception e) {
+                        LOGGER.warning("Ungültige CSV-Zeile " + lineNumber + " in " + pairKey + " übersprungen: " + line);
+                        continue;
+                    }
+
+                    if (batch.size() == BATCH_SIZE) {
+                        if (!put(batch)) {
+                            return;
+                        }
+                        batch = new ArrayList<>(BATCH_SIZE);
+                    }
+                }
+
+                if (!batch.isEmpty()) {
+                    put(batch);
+                }
+            } catch (IOException e) {
+                failure = e;
+            } finally {
+                put(END_OF_STREAM);
+            }
+        }
+
+        /**
+         * Übergibt einen Block, wartet bei voller Queue (Abbruch über cancel())
+         */
+        private boolean put(List<CurrencyPairData> batch) {
+            try {
+                while (!cancelled) {
+                    if (queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        IOException getFailure() {
+            return failure;
+        }
+    }
+
+    /**
+     * Ergebnis einer Streaming-Komprimierung
+     */
+    public static class Result {
+        private final int rowsRead;
+        private final int rowsWritten;
+        private final boolean sorted;
+
+        public Result(int rowsRead, int rowsWritten, boolean sorted) {
+            this.rowsRead = rowsRead;
+            this.rowsWritten = rowsWritten;
+            this.sorted = sorted;
+        }
+
+        static Result unsorted() {
+            return new Result(0, 0, false);
+        }
+
+        public int getRowsRead() { return rowsRead; }
+        public int getRowsWritten() { return rowsWritten; }
+        public boolean isSorted() { return sorted; }
+
+        @Override
+        public String toString() {
+            return sorted
+                ? String.format("Komprimierung: %d -> %d Einträge", rowsRead, rowsWritten)
+                : "Komprimierung: Quelle unsortiert";
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.fxsssi.extractor.gui;
 
-import com.fxssi.extractor.storage.CurrencyPairDataManager;
+import com.fxssi.extractor.storage.PairTimeSeriesStore;
 import javafx.application.Platform;
 import javafx.concurrent.Task;
 import javafx.geometry.Insets;
@@ -19,14 +19,14 @@ import javafx.stage.Stage;
 
 public class CompactSignalsWindow {
 
-    private final CurrencyPairDataManager dataManager;
+    private final PairTimeSeriesStore dataManager;
     private Stage stage;
     private Label statusLabel;
     private ProgressBar progressBar;
     private Button startButton;
     private Button closeButton;
 
-    public CompactSignalsWindow(Stage parentStage, CurrencyPairDataManager dataManager) {
+    public CompactSignalsWindow(Stage parentStage, PairTimeSeriesStore dataManager) {
         this.dataManager = dataManager;
         createWindow(parentStage);
     }
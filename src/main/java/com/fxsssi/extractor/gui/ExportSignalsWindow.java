@@ -1,7 +1,7 @@
 package com.fxsssi.extractor.gui;
 
 import com.fxssi.extractor.config.ExportConfig;
-import com.fxssi.extractor.storage.CurrencyPairDataManager;
+import com.fxssi.extractor.storage.PairTimeSeriesStore;
 import javafx.application.Platform;
 import javafx.concurrent.Task;
 import javafx.geometry.Insets;
@@ -9,6 +9,7 @@ import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TextArea;
@@ -26,18 +27,19 @@ import java.nio.file.Path;
 
 public class ExportSignalsWindow {
 
-    private final CurrencyPairDataManager dataManager;
+    private final PairTimeSeriesStore dataManager;
     private final ExportConfig exportConfig;
     private Stage stage;
     private Label statusLabel;
     private ProgressBar progressBar;
     private TextField directoryField;
     private Button chooseButton;
+    private CheckBox incrementalCheckBox;
     private Button startButton;
     private Button closeButton;
     private Path selectedDirectory;
 
-    public ExportSignalsWindow(Stage parentStage, CurrencyPairDataManager dataManager, ExportConfig exportConfig) {
+    public ExportSignalsWindow(Stage parentStage, PairTimeSeriesStore dataManager, ExportConfig exportConfig) {
         this.dataManager = dataManager;
         this.exportConfig = exportConfig;
         
@@ -65,7 +67,7 @@ public class ExportSignalsWindow {
         Label titleLabel = new Label("CSV Signale exportieren");
         titleLabel.setFont(Font.font("System", FontWeight.BOLD, 16));
 
-        Label infoLabel = new Label("Wähle ein Zielverzeichnis aus. Alle aktuellen Signaldaten-Dateien\nwerden dorthin exportiert und ggf. überschrieben.");
+        Label infoLabel = new Label("Wähle ein Zielverzeichnis aus. Alle aktuellen Signaldaten-Dateien\nwerden dorthin exportiert und ggf. überschrieben.\nIm inkrementellen Modus werden nur neue Datensätze angehängt.");
         infoLabel.setWrapText(true);
         infoLabel.setAlignment(Pos.CENTER);
 
@@ -85,6 +87,10 @@ public class ExportSignalsWindow {
         
         dirBox.getChildren().addAll(directoryField, chooseButton);
 
+        // Inkrementeller Modus: nur neue Datensätze seit dem letzten Export anhängen (opt-in, Standard bleibt der Voll-Export)
+        incrementalCheckBox = new CheckBox("Nur neue Datensätze anhängen (inkrementell)");
+        incrementalCheckBox.setSelected(false);
+
         statusLabel = new Label("Wähle ein Verzeichnis und drücke 'Exportieren'.");
         
         progressBar = new ProgressBar(0);
@@ -103,7 +109,7 @@ public class ExportSignalsWindow {
         
         buttonBox.getChildren().addAll(startButton, closeButton);
 
-        layout.getChildren().addAll(titleLabel, infoLabel, dirBox, statusLabel, progressBar, buttonBox);
+        layout.getChildren().addAll(titleLabel, infoLabel, dirBox, incrementalCheckBox, statusLabel, progressBar, buttonBox);
 
         Scene scene = new Scene(layout);
         stage.setScene(scene);
@@ -139,8 +145,10 @@ public class ExportSignalsWindow {
 
         startButton.setDisable(true);
         chooseButton.setDisable(true);
+        incrementalCheckBox.setDisable(true);
         closeButton.setDisable(true);
-        statusLabel.setText("Starte Export...");
+        boolean incremental = incrementalCheckBox.isSelected();
+        statusLabel.setText(incremental ? "Starte inkrementellen Export..." : "Starte Export...");
         progressBar.setProgress(-1);
 
         Task<String> exportTask = new Task<String>() {
@@ -148,6 +156,8 @@ public class ExportSignalsWindow {
             protected String call() throws Exception {
                 return dataManager.exportAllSignals(
                     selectedDirectory,
+                    incremental,
+                    exportConfig,
                     (current, total) -> {
                         updateProgress(current, total);
                     },
@@ -175,6 +185,7 @@ public class ExportSignalsWindow {
                 closeButton.setDisable(false);
                 closeButton.setText("Fertig");
                 chooseButton.setDisable(false);
+                incrementalCheckBox.setDisable(false);
                 
                 Alert alert = new Alert(Alert.AlertType.INFORMATION);
                 alert.setTitle("Export-Bericht");
@@ -197,6 +208,7 @@ public class ExportSignalsWindow {
                 progressBar.setStyle("-fx-accent: red;");
                 closeButton.setDisable(false);
                 chooseButton.setDisable(false);
+                incrementalCheckBox.setDisable(false);
                 Throwable exception = exportTask.getException();
                 if(exception != null) {
                     exception.printStackTrace();
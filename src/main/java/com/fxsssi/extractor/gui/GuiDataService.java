@@ -6,19 +6,29 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 import com.fxssi.extractor.model.CurrencyPairData;
+import com.fxssi.extractor.model.PairHistory;
 import com.fxssi.extractor.model.SignalChangeEvent;
 import com.fxssi.extractor.scraper.FXSSIScraper;
 import com.fxssi.extractor.scraper.FearGreedScraper;
+import com.fxssi.extractor.scraper.SentimentFetchStage;
+import com.fxssi.extractor.scraper.SentimentSourceRegistry;
 import com.fxssi.extractor.storage.DataFileManager;
 import com.fxssi.extractor.storage.CurrencyPairDataManager;
+import com.fxssi.extractor.storage.PairHistoryCache;
+import com.fxssi.extractor.storage.PairTimeSeriesStore;
+import com.fxssi.extractor.storage.ScrapeCycleJournal;
 import com.fxssi.extractor.storage.SignalChangeHistoryManager;
 import com.fxssi.extractor.notification.EmailService;
 import com.fxssi.extractor.notification.EmailConfig;
 import com.fxssi.extractor.config.ExportConfig;
+import com.fxssi.extractor.config.StorageConfig;
 
 /**
  * Service-Klasse für die Bereitstellung von FXSSI-Daten für die GUI
@@ -38,12 +48,16 @@ public class GuiDataService {
     
     private FXSSIScraper scraper;
     private FearGreedScraper fearGreedScraper;
+    private SentimentFetchStage fetchStage;
+    private volatile SentimentFetchStage.FetchResult lastFetchResult;
     private DataFileManager fileManager;
-    private CurrencyPairDataManager currencyPairManager;
+    private PairTimeSeriesStore currencyPairManager;
+    private PairHistoryCache historyCache;
     private SignalChangeHistoryManager signalChangeManager;
     private EmailConfig emailConfig;
     private EmailService emailService;
     private ExportConfig exportConfig;
+    private ScrapeCycleJournal scrapeJournal;
     private List<CurrencyPairData> cachedData;
     private LocalDateTime lastCacheUpdate;
     private boolean isInitialized = false;
@@ -82,9 +96,19 @@ public class GuiDataService {
             fearGreedScraper = new FearGreedScraper(dataDirectory);
             LOGGER.info("Fear & Greed Scraper initialisiert für Symbol: " + fearGreedScraper.getSymbol());
             
+            // NEU: Gleichzeitiger Abruf aller registrierten Sentiment-Quellen
+            fetchStage = new SentimentFetchStage(SentimentSourceRegistry.withDefaults(scraper, fearGreedScraper),
+                    SentimentFetchStage.DEFAULT_DEADLINE_MS);
+            
             fileManager = new DataFileManager(dataDirectory);
             currencyPairManager = new CurrencyPairDataManager(dataDirectory);
             
+            // NEU: Gemeinsamer Historien-Cache (Vorladen über warmUpHistoryCache, LRU-Verdrängung über Budget)
+            StorageConfig storageConfig = new StorageConfig(dataDirectory);
+            historyCache = new PairHistoryCache(currencyPairManager,
+                storageConfig.getWarmUpHorizonDays(), storageConfig.getWarmUpParallelism(),
+                storageConfig.getHistoryCacheBudgetMb() * 1024L * 1024L);
+            
             // *** E-Mail-Integration ZUERST ***
             emailConfig = new EmailConfig(dataDirectory);
             emailConfig.loadConfig(); // Lade gespeicherte E-Mail-Konfiguration
@@ -105,6 +129,9 @@ public class GuiDataService {
             // Lade letzte bekannte Signale für Wechsel-Erkennung
             signalChangeManager.loadLastKnownSignals();
             
+            // NEU: Scrape-Journal starten und nicht übernommene Zyklen nach Absturz einspielen
+            scrapeJournal = ScrapeCycleJournal.openIfEnabled(dataDirectory, this::writeScrapeCycleToFiles);
+            
             // Teste Verbindungen
             boolean fxssiConnectionOk = scraper.testConnection();
             if (!fxssiConnectionOk) {
@@ -147,15 +174,14 @@ public class GuiDataService {
         LOGGER.info("Lade frische Daten für GUI-Refresh mit Threshold-E-Mail-System...");
         
         try {
-            // Versuche neue Daten zu laden
-            List<CurrencyPairData> freshData = scraper.extractCurrentRatioData();
+            // Versuche neue Daten zu laden (FXSSI und Fear & Greed gleichzeitig)
+            SentimentFetchStage.FetchResult fetchResult = fetchAllSources();
             
-            if (freshData != null && !freshData.isEmpty()) {
-                // KOMBINIERE MIT FEAR & GREED INDEX
-                List<CurrencyPairData> combinedData = combineWithFearGreedData(freshData);
+            if (fetchResult.hasPrimaryData()) {
+                List<CurrencyPairData> combinedData = fetchResult.getLatestData();
                 
-                // SPEICHERE IN ALLE SYSTEME mit automatischen Threshold-E-Mails
-                saveToAllSystems(combinedData);
+                // SPEICHERE IN ALLE SYSTEME mit automatischen Threshold-E-Mails (nur neue Datensätze)
+                saveChangedData(fetchResult);
                 
                 // Aktualisiere Cache
                 updateCache(combinedData);
@@ -176,44 +202,22 @@ public class GuiDataService {
     }
     
     /**
-     * Lädt und kombiniert Daten aus beiden Quellen: FXSSI und Fear & Greed Index
+     * Lädt die Daten aller registrierten Sentiment-Quellen gleichzeitig (FXSSI, Fear & Greed Index, ...)
+     * Eine verspätete oder fehlerhafte Quelle fehlt nur im Ergebnis, die übrigen werden trotzdem verwendet.
      * 
-     * @param fxssiData Die bereits geladenen FXSSI-Daten
-     * @return Kombinierte Liste mit allen Währungspaaren inkl. BTC/USD (Fear & Greed)
+     * @return Kombinierte Liste mit allen Währungspaaren inkl. BTC/USD (Fear & Greed) und Latenz je Quelle
      */
-    private List<CurrencyPairData> combineWithFearGreedData(List<CurrencyPairData> fxssiData) {
-        List<CurrencyPairData> combinedData = new ArrayList<>(fxssiData);
-        
-        try {
-            LOGGER.info("Lade Fear & Greed Index für BTC/USD...");
-            
-            CurrencyPairData fearGreedData = fearGreedScraper.extractFearGreedData();
-            
-            if (fearGreedData != null) {
-                // Prüfe ob BTC/USD bereits in der Liste ist (von vorherigem Laden)
-                boolean alreadyExists = combinedData.stream()
-                        .anyMatch(d -> d.getCurrencyPair().equals(fearGreedData.getCurrencyPair()));
-                
-                if (!alreadyExists) {
-                    combinedData.add(fearGreedData);
-                    LOGGER.info("Fear & Greed Index hinzugefügt: " + fearGreedData.getCurrencyPair() + 
-                               " | Signal: " + fearGreedData.getTradingSignal());
-                } else {
-                    // Aktualisiere vorhandenen Eintrag
-                    combinedData.removeIf(d -> d.getCurrencyPair().equals(fearGreedData.getCurrencyPair()));
-                    combinedData.add(fearGreedData);
-                    LOGGER.info("Fear & Greed Index aktualisiert: " + fearGreedData.getCurrencyPair());
-                }
-            } else {
-                LOGGER.warning("Konnte Fear & Greed Index nicht laden - verwende nur FXSSI-Daten");
-            }
-            
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Fehler beim Laden des Fear & Greed Index: " + e.getMessage(), e);
-            // Bei Fehler nur FXSSI-Daten zurückgeben
-        }
-        
-        return combinedData;
+    private SentimentFetchStage.FetchResult fetchAllSources() {
+        SentimentFetchStage.FetchResult fetchResult = fetchStage.fetch();
+        lastFetchResult = fetchResult;
+        return fetchResult;
+    }
+    
+    /**
+     * NEU: Ergebnis des letzten Abrufs mit Latenz je Quelle (null vor dem ersten Abruf)
+     */
+    public SentimentFetchStage.FetchResult getLastFetchResult() {
+        return lastFetchResult;
     }
     
     /**
@@ -242,15 +246,14 @@ public class GuiDataService {
         // Invalidiere Cache
         invalidateCache();
         
-        // Lade neue Daten
-        List<CurrencyPairData> freshData = scraper.extractCurrentRatioData();
+        // Lade neue Daten (FXSSI und Fear & Greed gleichzeitig)
+        SentimentFetchStage.FetchResult fetchResult = fetchAllSources();
         
-        if (freshData != null && !freshData.isEmpty()) {
-            // KOMBINIERE MIT FEAR & GREED INDEX
-            List<CurrencyPairData> combinedData = combineWithFearGreedData(freshData);
+        if (fetchResult.hasPrimaryData()) {
+            List<CurrencyPairData> combinedData = fetchResult.getLatestData();
             
-            // GARANTIERTE Speicherung in alle Systeme mit Threshold-E-Mail-System
-            saveToAllSystems(combinedData);
+            // Speicherung in alle Systeme mit Threshold-E-Mail-System, sofern sich etwas geändert hat
+            saveChangedData(fetchResult);
             
             // Aktualisiere Cache
             updateCache(combinedData);
@@ -263,6 +266,19 @@ public class GuiDataService {
         }
     }
     
+    /**
+     * NEU: Speichert nur die neu abgerufenen Datensätze
+     * Hat keine Quelle etwas Neues geliefert (HTTP 304 oder gleicher Inhalts-Hash), entfallen
+     * Speichern, Signalwechsel-Erkennung und MetaTrader-Sync für diesen Zyklus.
+     */
+    private void saveChangedData(SentimentFetchStage.FetchResult fetchResult) {
+        if (!fetchResult.hasChanges()) {
+            LOGGER.info("Sentiment-Daten unverändert - Speichern und Signalprüfung übersprungen");
+            return;
+        }
+        saveToAllSystems(fetchResult.getData());
+    }
+    
     /**
      * *** KORRIGIERTE ZENTRALE METHODE: Speichert Daten in ALLE SYSTEME mit automatischen Threshold-E-Mails ***
      * Der SignalChangeHistoryManager übernimmt jetzt die komplette E-Mail-Logik mit Threshold-System
@@ -299,13 +315,8 @@ public class GuiDataService {
                 LOGGER.info("E-Mail-Benachrichtigungen werden automatisch vom SignalChangeHistoryManager mit Threshold-System versendet");
             }
             
-            // 2. SPEICHERE in tägliche Dateien
-            fileManager.appendDataToFile(data);
-            LOGGER.fine("✓ Daten in tägliche Datei gespeichert");
-            
-            // 3. SPEICHERE in währungspaar-spezifische Dateien
-            currencyPairManager.appendDataForAllPairs(data);
-            LOGGER.fine("✓ Daten in währungspaar-spezifische Dateien gespeichert");
+            // 2.+3. SPEICHERE in tägliche und währungspaar-spezifische Dateien (über das Journal)
+            scrapeJournal.commitOrWrite(data);
             
             // 4. Signalwechsel und E-Mails sind bereits durch processNewData() mit Threshold-System abgehandelt
             LOGGER.fine("✓ Signalwechsel erkannt und Threshold-E-Mails automatisch versendet");
@@ -493,7 +504,7 @@ public class GuiDataService {
     /**
      * Holt historische Daten für ein spezifisches Währungspaar
      * @param currencyPair Das Währungspaar (z.B. "EUR/USD")
-     * @return Alle historischen Daten für dieses Währungspaar
+     * @return Alle historischen Daten für dieses Währungspaar (direkt gelesen, wird nicht gecacht)
      */
     public List<CurrencyPairData> getHistoricalDataForCurrencyPair(String currencyPair) {
         if (!isInitialized) {
@@ -502,7 +513,7 @@ public class GuiDataService {
         
         try {
             LOGGER.info("Lade historische Daten für Währungspaar: " + currencyPair);
-            List<CurrencyPairData> data = currencyPairManager.readDataForCurrencyPair(currencyPair);
+            List<CurrencyPairData> data = historyCache.getAll(currencyPair);
             LOGGER.info("Gefunden: " + data.size() + " historische Einträge für " + currencyPair);
             return data;
         } catch (Exception e) {
@@ -511,6 +522,74 @@ public class GuiDataService {
         }
     }
     
+    /**
+     * Holt historische Daten eines Zeitfensters für ein Währungspaar
+     * Ältere Historie wird dabei nicht gelesen (Binärsuche über positionelle Dateizugriffe)
+     * @param currencyPair Das Währungspaar (z.B. "EUR/USD")
+     * @param from Beginn (inklusiv), null für Dateianfang
+     * @param to Ende (exklusiv), null für Dateiende
+     * @return Chronologisch sortierte Daten im Zeitfenster (unveränderliche Sicht aus dem Historien-Cache)
+     */
+    public List<CurrencyPairData> getHistoricalDataForCurrencyPair(String currencyPair, LocalDateTime from, LocalDateTime to) {
+        if (!isInitialized) {
+            throw new IllegalStateException("GuiDataService ist nicht initialisiert");
+        }
+        
+        try {
+            return historyCache.getWindow(currencyPair, from, to);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Laden des Zeitfensters für " + currencyPair + ": " + e.getMessage(), e);
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * NEU: Holt ein Zeitfenster spaltenorientiert aus dem Historien-Cache (für Charts ohne Objekterzeugung)
+     * @param currencyPair Das Währungspaar (z.B. "EUR/USD")
+     * @param from Beginn (inklusiv), null für die gesamte Historie
+     * @param to Ende (exklusiv), null für Dateiende
+     * @return Schreibgeschützte, chronologische Historie im Zeitfenster
+     */
+    public PairHistory getHistoryForCurrencyPair(String currencyPair, LocalDateTime from, LocalDateTime to) {
+        if (!isInitialized) {
+            throw new IllegalStateException("GuiDataService ist nicht initialisiert");
+        }
+        
+        try {
+            return historyCache.getHistoryWindow(currencyPair, from, to);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Laden der Historie für " + currencyPair + ": " + e.getMessage(), e);
+            return new PairHistory(currencyPair, 0);
+        }
+    }
+    
+    /**
+     * NEU: Lädt die jüngere Historie aller Währungspaare parallel in den Historien-Cache
+     * Sollte vor dem ersten Zeichnen der Tabelle aufgerufen werden (nicht im FX-Thread).
+     * @param progressCallback Fortschritt (geladen, gesamt), darf null sein
+     * @param messageCallback Statusmeldungen, darf null sein
+     * @return Anzahl geladener Datensätze
+     */
+    public long warmUpHistoryCache(BiConsumer<Integer, Integer> progressCallback, Consumer<String> messageCallback) {
+        if (!isInitialized) {
+            throw new IllegalStateException("GuiDataService ist nicht initialisiert");
+        }
+        
+        try {
+            return historyCache.warmUp(progressCallback, messageCallback);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Fehler beim Vorladen der Historie: " + e.getMessage(), e);
+            return 0;
+        }
+    }
+    
+    /**
+     * Dauer des Vorladens der Historie in Millisekunden (-1 falls noch nicht erfolgt)
+     */
+    public long getHistoryWarmUpMillis() {
+        return historyCache != null ? historyCache.getLastWarmUpMillis() : -1;
+    }
+    
     /**
      * Holt die letzten N Einträge für ein Währungspaar
      * @param currencyPair Das Währungspaar
@@ -545,7 +624,7 @@ public class GuiDataService {
      * Gibt den CurrencyPairDataManager zurück
      * @return Der CurrencyPairDataManager
      */
-    public CurrencyPairDataManager getCurrencyPairDataManager() {
+    public PairTimeSeriesStore getCurrencyPairDataManager() {
         return currencyPairManager;
     }
     
@@ -679,8 +758,10 @@ public class GuiDataService {
             String emailStats = getEmailStatistics();
             
             String detailedStats = String.format(
-                "Tägliche Dateien: %s | Währungspaare: %d verfügbar | E-Mail: %s | Fear & Greed: %s | Datenverzeichnis: %s",
-                dailyStats, availablePairs.size(), 
+                "Tägliche Dateien: %s | Währungspaare: %d verfügbar | Historie vorgeladen: %s | Letzter Abruf: %s | E-Mail: %s | Fear & Greed: %s | Datenverzeichnis: %s",
+                dailyStats, availablePairs.size(),
+                (getHistoryWarmUpMillis() >= 0 ? getHistoryWarmUpMillis() + " ms" : "nein"),
+                (lastFetchResult != null ? lastFetchResult.getSummary() : "noch keiner"),
                 (emailConfig.isEmailEnabled() ? "Aktiviert (Threshold-System)" : "Deaktiviert"),
                 (fearGreedScraper != null ? "Aktiv (" + fearGreedScraper.getSymbol() + ")" : "Inaktiv"),
                 dataDirectory
@@ -803,6 +884,21 @@ public class GuiDataService {
             cachedData.clear();
             lastCacheUpdate = null;
             
+            // Abruf-Threads beenden
+            if (fetchStage != null) {
+                fetchStage.shutdown();
+            }
+            
+            // Eingereihte Debug-Schnappschüsse noch schreiben
+            if (scraper != null) {
+                scraper.shutdown();
+            }
+            
+            // Offene Journal-Zyklen übernehmen und Journal schließen
+            if (scrapeJournal != null) {
+                scrapeJournal.shutdown();
+            }
+            
             // Fahre SignalChangeHistoryManager herunter
             if (signalChangeManager != null) {
                 signalChangeManager.shutdown();
@@ -825,6 +921,25 @@ public class GuiDataService {
     
     // ===== PRIVATE HILFSMETHODEN =====
     
+    /**
+     * Schreibt einen Scrape-Zyklus in die tägliche und die währungspaar-spezifischen Dateien
+     */
+    private void writeScrapeCycleToFiles(List<CurrencyPairData> data) {
+        fileManager.appendDataToFile(data);
+        LOGGER.fine("✓ Daten in tägliche Datei gespeichert");
+        
+        currencyPairManager.appendDataForAllPairs(data);
+        LOGGER.fine("✓ Daten in währungspaar-spezifische Dateien gespeichert");
+        
+        // Gecachte Historien um die neuen Zeilen ergänzen (nur das neue Dateiende wird gelesen)
+        if (historyCache != null) {
+            historyCache.onRowsAppended(data.stream()
+                .filter(d -> d != null && d.getCurrencyPair() != null)
+                .map(CurrencyPairData::getCurrencyPair)
+                .collect(Collectors.toSet()));
+        }
+    }
+    
     /**
      * Validiert und normalisiert das Datenverzeichnis
      */
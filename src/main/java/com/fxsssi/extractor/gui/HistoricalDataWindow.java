@@ -1,6 +1,7 @@
 package com.fxsssi.extractor.gui;
 
 import com.fxssi.extractor.model.CurrencyPairData;
+import com.fxssi.extractor.model.PairHistory;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -24,6 +25,7 @@ import javafx.util.Callback;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -494,7 +496,7 @@ public class HistoricalDataWindow {
                 break;
             case ALL_DATA:
             default:
-                return data; // Keine Filterung
+                return new ArrayList<>(data); // Keine Filterung (Kopie, da die Chart-Daten sortiert werden)
         }
         
         final LocalDateTime finalCutoff = cutoff;
@@ -590,6 +592,14 @@ public class HistoricalDataWindow {
                     case LAST_1000:
                         historicalData = dataService.getRecentDataForCurrencyPair(currencyPair, 1000);
                         break;
+                    case LAST_7_DAYS:
+                        historicalData = dataService.getHistoricalDataForCurrencyPair(currencyPair,
+                            LocalDateTime.now().minusDays(7), null);
+                        break;
+                    case LAST_30_DAYS:
+                        historicalData = dataService.getHistoricalDataForCurrencyPair(currencyPair,
+                            LocalDateTime.now().minusDays(30), null);
+                        break;
                     case ALL:
                     default:
                         historicalData = dataService.getHistoricalDataForCurrencyPair(currencyPair);
@@ -632,12 +642,13 @@ public class HistoricalDataWindow {
     private void updateTable(List<CurrencyPairData> data, DataRangeOption range) {
         tableData.clear();
         
-        // Sortiere Daten nach Zeitstempel (neueste zuerst)
-        data.sort((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()));
+        // Sortiere Daten nach Zeitstempel (neueste zuerst) - Kopie, die geladenen Daten sind unveränderlich
+        List<CurrencyPairData> sortedData = new ArrayList<>(data);
+        sortedData.sort((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()));
         
         CurrencyPairData previousData = null;
         
-        for (CurrencyPairData currentData : data) {
+        for (CurrencyPairData currentData : sortedData) {
             HistoricalDataTableRow row = new HistoricalDataTableRow(currentData, previousData);
             tableData.add(row);
             previousData = currentData;
@@ -715,51 +726,73 @@ public class HistoricalDataWindow {
      */
     private void showStatistics() {
         try {
-            List<CurrencyPairData> allData = dataService.getHistoricalDataForCurrencyPair(currencyPair);
+            // Spaltenorientiert und in einem Durchlauf, ohne ein Objekt je Datensatz
+            PairHistory history = dataService.getHistoryForCurrencyPair(currencyPair, null, null);
+            int total = history.size();
             
-            if (allData.isEmpty()) {
+            if (total == 0) {
                 showAlert("Keine Daten für Statistiken verfügbar.");
                 return;
             }
             
+            long firstEpoch = Long.MAX_VALUE;
+            long lastEpoch = Long.MIN_VALUE;
+            double sumBuy = 0.0;
+            double minBuy = Double.MAX_VALUE;
+            double maxBuy = -Double.MAX_VALUE;
+            long[] signalCounts = new long[CurrencyPairData.TradingSignal.values().length];
+            long extremeHigh = 0;
+            long extremeLow = 0;
+            
+            for (int i = 0; i < total; i++) {
+                long epoch = history.getEpochSecond(i);
+                firstEpoch = Math.min(firstEpoch, epoch);
+                lastEpoch = Math.max(lastEpoch, epoch);
+                
+                double buy = history.getBuyPercentage(i);
+                sumBuy += buy;
+                minBuy = Math.min(minBuy, buy);
+                maxBuy = Math.max(maxBuy, buy);
+                if (buy > 80) {
+                    extremeHigh++;
+                } else if (buy < 20) {
+                    extremeLow++;
+                }
+                
+                signalCounts[history.getTradingSignal(i).ordinal()]++;
+            }
+            double avgBuy = sumBuy / total;
+            long buySignals = signalCounts[CurrencyPairData.TradingSignal.BUY.ordinal()];
+            long sellSignals = signalCounts[CurrencyPairData.TradingSignal.SELL.ordinal()];
+            long neutralSignals = signalCounts[CurrencyPairData.TradingSignal.NEUTRAL.ordinal()];
+            long unknownSignals = signalCounts[CurrencyPairData.TradingSignal.UNKNOWN.ordinal()];
+            
             // Berechne detaillierte Statistiken
             StringBuilder stats = new StringBuilder();
             stats.append("DETAILLIERTE STATISTIKEN FÜR ").append(currencyPair).append("\n");
             stats.append("=======================================\n\n");
             
-            stats.append("Gesamt-Datensätze: ").append(allData.size()).append("\n");
+            stats.append("Gesamt-Datensätze: ").append(total).append("\n");
             
             // Zeitraum
-            allData.sort((a, b) -> a.getTimestamp().compareTo(b.getTimestamp()));
-            stats.append("Zeitraum: ").append(allData.get(0).getTimestamp().format(DATE_TIME_FORMATTER))
-                 .append(" bis ").append(allData.get(allData.size()-1).getTimestamp().format(DATE_TIME_FORMATTER)).append("\n\n");
+            stats.append("Zeitraum: ").append(LocalDateTime.ofEpochSecond(firstEpoch, 0, ZoneOffset.UTC).format(DATE_TIME_FORMATTER))
+                 .append(" bis ").append(LocalDateTime.ofEpochSecond(lastEpoch, 0, ZoneOffset.UTC).format(DATE_TIME_FORMATTER)).append("\n\n");
             
             // Buy-Percentage Statistiken
-            double avgBuy = allData.stream().mapToDouble(CurrencyPairData::getBuyPercentage).average().orElse(0.0);
-            double minBuy = allData.stream().mapToDouble(CurrencyPairData::getBuyPercentage).min().orElse(0.0);
-            double maxBuy = allData.stream().mapToDouble(CurrencyPairData::getBuyPercentage).max().orElse(0.0);
-            
             stats.append("BUY-PERCENTAGE STATISTIKEN:\n");
             stats.append("Durchschnitt: ").append(String.format("%.2f%%", avgBuy)).append("\n");
             stats.append("Minimum: ").append(String.format("%.2f%%", minBuy)).append("\n");
             stats.append("Maximum: ").append(String.format("%.2f%%", maxBuy)).append("\n\n");
             
             // Signal-Verteilung
-            long buySignals = allData.stream().filter(d -> d.getTradingSignal() == CurrencyPairData.TradingSignal.BUY).count();
-            long sellSignals = allData.stream().filter(d -> d.getTradingSignal() == CurrencyPairData.TradingSignal.SELL).count();
-            long neutralSignals = allData.stream().filter(d -> d.getTradingSignal() == CurrencyPairData.TradingSignal.NEUTRAL).count();
-            long unknownSignals = allData.stream().filter(d -> d.getTradingSignal() == CurrencyPairData.TradingSignal.UNKNOWN).count();
-            
             stats.append("SIGNAL-VERTEILUNG:\n");
-            stats.append("BUY: ").append(buySignals).append(" (").append(String.format("%.1f%%", (buySignals * 100.0 / allData.size()))).append(")\n");
-            stats.append("SELL: ").append(sellSignals).append(" (").append(String.format("%.1f%%", (sellSignals * 100.0 / allData.size()))).append(")\n");
-            stats.append("NEUTRAL: ").append(neutralSignals).append(" (").append(String.format("%.1f%%", (neutralSignals * 100.0 / allData.size()))).append(")\n");
-            stats.append("UNKNOWN: ").append(unknownSignals).append(" (").append(String.format("%.1f%%", (unknownSignals * 100.0 / allData.size()))).append(")\n\n");
+            stats.append("BUY: ").append(buySignals).append(" (").append(String.format("%.1f%%", (buySignals * 100.0 / total))).append(")\n");
+            stats.append("SELL: ").append(sellSignals).append(" (").append(String.format("%.1f%%", (sellSignals * 100.0 / total))).append(")\n");
+            stats.append("NEUTRAL: ").append(neutralSignals).append(" (").append(String.format("%.1f%%", (neutralSignals * 100.0 / total))).append(")\n");
+            stats.append("UNKNOWN: ").append(unknownSignals).append(" (").append(String.format("%.1f%%", (unknownSignals * 100.0 / total))).append(")\n\n");
             
             // Extreme Werte
             stats.append("EXTREME WERTE (Buy > 80% oder < 20%):\n");
-            long extremeHigh = allData.stream().filter(d -> d.getBuyPercentage() > 80).count();
-            long extremeLow = allData.stream().filter(d -> d.getBuyPercentage() < 20).count();
             stats.append("Buy > 80%: ").append(extremeHigh).append(" Vorkommen\n");
             stats.append("Buy < 20%: ").append(extremeLow).append(" Vorkommen\n");
             
@@ -816,6 +849,8 @@ public class HistoricalDataWindow {
         LAST_100("Letzte 100 Einträge"),
         LAST_500("Letzte 500 Einträge"),
         LAST_1000("Letzte 1000 Einträge"),
+        LAST_7_DAYS("Letzte 7 Tage"),
+        LAST_30_DAYS("Letzte 30 Tage"),
         ALL("Alle Daten");
         
         private final String description;
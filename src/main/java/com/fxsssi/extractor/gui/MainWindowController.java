@@ -1016,8 +1016,8 @@ public class MainWindowController {
         try {
             dataService.initialize();
             
-            // Initiale Datenladung
-            refreshData();
+            // Initiale Datenladung (vorher Historie aller Paare parallel vorladen)
+            warmUpHistoryAndRefresh();
             
             // Starte Refresh basierend auf Checkbox-Zuständen
             // Default: Intervall-Refresh ist DEAKTIVIERT
@@ -1056,6 +1056,26 @@ public class MainWindowController {
         }
     }
     
+    /**
+     * NEU: Lädt die Historie aller Währungspaare parallel vor und startet danach die erste Datenladung,
+     * damit die Chart-Spalten beim ersten Zeichnen der Tabelle keine CSV-Dateien parsen müssen
+     */
+    private void warmUpHistoryAndRefresh() {
+        Thread warmUpThread = new Thread(() -> {
+            try {
+                dataService.warmUpHistoryCache(
+                    (current, total) -> Platform.runLater(() ->
+                        updateStatus("Lade Historie... (" + current + "/" + total + " Währungspaare)")),
+                    message -> Platform.runLater(() -> updateStatus(message)));
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Vorladen der Historie fehlgeschlagen: " + e.getMessage(), e);
+            }
+            refreshData();
+        }, "History-WarmUp");
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+    }
+    
     /**
      * Aktualisiert die E-Mail-Status-Anzeige
      */
@@ -6,6 +6,7 @@ import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.TableCell;
 import javafx.scene.paint.Color;
 import com.fxssi.extractor.model.CurrencyPairData;
+import com.fxssi.extractor.model.PairHistory;
 import com.fxssi.extractor.model.SignalChangeEvent;
 
 import java.time.LocalDateTime;
@@ -75,7 +76,7 @@ public class SignalHistoryChartTableCell extends TableCell<MainWindowController.
             String currencyPair = tableRow.getCurrencyPair();
             
             // Historische Daten laden über GuiDataService
-            List<CurrencyPairData> historicalData = loadHistoricalData(currencyPair);
+            PairHistory historicalData = loadHistoricalData(currencyPair);
             List<SignalChangeEvent> signalChanges = loadSignalChanges(currencyPair);
             
             if (historicalData.isEmpty()) {
@@ -100,25 +101,17 @@ public class SignalHistoryChartTableCell extends TableCell<MainWindowController.
     
     /**
      * Lädt historische Daten für das Währungspaar über den GuiDataService
+     * Spaltenorientierte Sicht aus dem Historien-Cache (chronologisch, keine CurrencyPairData-Objekte)
      */
-    private List<CurrencyPairData> loadHistoricalData(String symbol) {
+    private PairHistory loadHistoricalData(String symbol) {
         try {
-            // Verwende GuiDataService um auf CurrencyPairDataManager zuzugreifen
-            List<CurrencyPairData> allData = dataService.getHistoricalDataForCurrencyPair(symbol);
-            if (allData == null || allData.isEmpty()) {
-                return new ArrayList<>();
-            }
-            
-            // Filtere auf die letzten X Tage
+            // Nur das Zeitfenster der letzten X Tage (ältere Historie wird nicht gelesen)
             LocalDateTime cutoffTime = LocalDateTime.now().minusDays(daysPeriod);
-            return allData.stream()
-                .filter(d -> d.getTimestamp().isAfter(cutoffTime))
-                .sorted((a, b) -> a.getTimestamp().compareTo(b.getTimestamp()))
-                .collect(java.util.stream.Collectors.toList());
+            return dataService.getHistoryForCurrencyPair(symbol, cutoffTime, null);
                 
         } catch (Exception e) {
             LOGGER.warning("Fehler beim Laden historischer Daten für " + symbol + ": " + e.getMessage());
-            return new ArrayList<>();
+            return new PairHistory(symbol, 0);
         }
     }
     
@@ -157,7 +150,7 @@ public class SignalHistoryChartTableCell extends TableCell<MainWindowController.
     /**
      * Zeichnet die Signallinie
      */
-    private void drawSignalLine(GraphicsContext gc, List<CurrencyPairData> historicalData) {
+    private void drawSignalLine(GraphicsContext gc, PairHistory historicalData) {
         if (historicalData.size() < 2) return;
         
         gc.setLineWidth(1.5);
@@ -165,16 +158,16 @@ public class SignalHistoryChartTableCell extends TableCell<MainWindowController.
         double xStep = (CHART_WIDTH - 2 * MARGIN) / (double) (historicalData.size() - 1);
         
         for (int i = 0; i < historicalData.size() - 1; i++) {
-            CurrencyPairData current = historicalData.get(i);
-            CurrencyPairData next = historicalData.get(i + 1);
+            CurrencyPairData.TradingSignal current = historicalData.getTradingSignal(i);
+            CurrencyPairData.TradingSignal next = historicalData.getTradingSignal(i + 1);
             
             double x1 = MARGIN + i * xStep;
-            double y1 = getSignalY(current.getTradingSignal());
+            double y1 = getSignalY(current);
             double x2 = MARGIN + (i + 1) * xStep;
-            double y2 = getSignalY(next.getTradingSignal());
+            double y2 = getSignalY(next);
             
             // Farbe basierend auf Signal setzen
-            gc.setStroke(getSignalColor(current.getTradingSignal()));
+            gc.setStroke(getSignalColor(current));
             gc.strokeLine(x1, y1, x2, y2);
         }
     }
@@ -183,11 +176,11 @@ public class SignalHistoryChartTableCell extends TableCell<MainWindowController.
      * Zeichnet Signalwechsel-Punkte
      */
     private void drawSignalChangePoints(GraphicsContext gc, List<SignalChangeEvent> signalChanges, 
-                                       List<CurrencyPairData> historicalData) {
+                                       PairHistory historicalData) {
         if (signalChanges.isEmpty() || historicalData.isEmpty()) return;
         
-        LocalDateTime startTime = historicalData.get(0).getTimestamp();
-        LocalDateTime endTime = historicalData.get(historicalData.size() - 1).getTimestamp();
+        LocalDateTime startTime = historicalData.getTimestamp(0);
+        LocalDateTime endTime = historicalData.getTimestamp(historicalData.size() - 1);
         
         for (SignalChangeEvent change : signalChanges) {
             LocalDateTime changeTime = change.getChangeTime(); // Korrekte Methode aus SignalChangeEvent
@@ -1 +0,0 @@
-package com.fxsssi.extractor.storage;
\ No newline at end of file
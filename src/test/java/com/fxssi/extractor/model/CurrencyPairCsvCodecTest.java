@@ -0,0 +1,113 @@
+package com.fxssi.extractor.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round-Trip-Test: Der Codec muss zeichengleich zur bisherigen Formatierung (String.format / DecimalFormat)
+ * formatieren und beim Parsen dieselben Werte wie Double.parseDouble liefern.
+ */
+public class CurrencyPairCsvCodecTest {
+
+    private static final int SAMPLES = 200_000;
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Test
+    public void fixed2MatchesStringFormatAndDecimalFormat() {
+        DecimalFormat decimalFormat = new DecimalFormat("#0.00", DecimalFormatSymbols.getInstance(Locale.GERMANY));
+        Random random = new Random(42);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            double value = sample(random, i);
+
+            String expectedFormat = String.format(Locale.GERMANY, "%.2f", value);
+            String actualFormat = CurrencyPairCsvCodec.appendFixed2(new StringBuilder(), value, ',',
+                CurrencyPairCsvCodec.Rounding.FORMATTER_HALF_UP).toString();
+            assertEquals(expectedFormat, actualFormat, "String.format-Abweichung für " + value);
+
+            String expectedDecimal = decimalFormat.format(value);
+            String actualDecimal = CurrencyPairCsvCodec.appendFixed2(new StringBuilder(), value, ',',
+                CurrencyPairCsvCodec.Rounding.DECIMAL_FORMAT_HALF_EVEN).toString();
+            assertEquals(expectedDecimal, actualDecimal, "DecimalFormat-Abweichung für " + value);
+        }
+    }
+
+    @Test
+    public void formattedValuesParseBackToSameValue() {
+        Random random = new Random(7);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            double value = sample(random, i);
+            String text = CurrencyPairCsvCodec.appendFixed2(new StringBuilder(), value, ',',
+                CurrencyPairCsvCodec.Rounding.FORMATTER_HALF_UP).toString();
+
+            double expected = Double.parseDouble(text.replace(',', '.'));
+            assertEquals(expected, CurrencyPairCsvCodec.parseDecimal(text, 0, text.length()), 0.0, text);
+
+            if (value >= 0 && value < 10000) {
+                ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+                assertEquals(Math.round(expected * 100), CurrencyPairCsvCodec.parseHundredths(bytes, 0, bytes.limit()), text);
+            }
+        }
+    }
+
+    @Test
+    public void parseDecimalHandlesLongFractions() {
+        String[] inputs = {
+            "0,000000000000000000000001",
+            "0.0000000000000000000000000000000000005",
+            "-0,00000000000000000000000012",
+            "12,345678901234567890123",
+            "55,5"
+        };
+        for (String input : inputs) {
+            assertEquals(Double.parseDouble(input.replace(',', '.')),
+                CurrencyPairCsvCodec.parseDecimal(input, 0, input.length()), 0.0, input);
+        }
+    }
+
+    @Test
+    public void timestampRoundTrip() {
+        Random random = new Random(3);
+        long min = LocalDateTime.of(1990, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        long max = LocalDateTime.of(2100, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+        for (int i = 0; i < 10_000; i++) {
+            long seconds = min + (long) (random.nextDouble() * (max - min));
+            LocalDateTime timestamp = LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+            String text = CurrencyPairCsvCodec.formatTimestamp(timestamp);
+
+            assertEquals(timestamp.format(TIMESTAMP_FORMATTER), text);
+            assertEquals(timestamp, CurrencyPairCsvCodec.parseTimestamp(text, 0, text.length()));
+            assertEquals(seconds, CurrencyPairCsvCodec.parseEpochSeconds(
+                ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)), 0, text.length()));
+        }
+    }
+
+    /**
+     * Prozentwerte wie von FXSSI, exakte Rundungsgrenzen (x,xx5) sowie negative und große Werte
+     */
+    private static double sample(Random random, int i) {
+        switch (i % 4) {
+            case 0:
+                return random.nextInt(1_000_000) / 10000.0;
+            case 1:
+                return (random.nextInt(200_000) * 2 + 1) / 2000.0;
+            case 2:
+                return -random.nextDouble() * 100;
+            default:
+                return random.nextDouble() * 1e10;
+        }
+    }
+}
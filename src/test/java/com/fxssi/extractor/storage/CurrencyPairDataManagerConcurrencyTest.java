@@ -0,0 +1,135 @@
+package com.fxssi.extractor.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fxssi.extractor.model.CurrencyPairData;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Stresstest: Leser laufen parallel zu Appends, Komprimierung und Bereinigung und dürfen nie
+ * eine halb umgeschriebene Datei sehen.
+ */
+public class CurrencyPairDataManagerConcurrencyTest {
+
+    private static final String PAIR = "EUR/USD";
+    private static final int SEEDED_HOURS = 48;
+    private static final int ROWS_PER_HOUR = 30;
+    private static final int READER_THREADS = 4;
+    private static final int COMPACTION_ROUNDS = 15;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void readersNeverSeePartiallyRewrittenFile() throws Exception {
+        CurrencyPairDataManager manager = new CurrencyPairDataManager(tempDir.toString());
+        manager.createCurrencyDataDirectory();
+
+        LocalDateTime start = LocalDateTime.now().minusDays(10).truncatedTo(ChronoUnit.HOURS);
+        List<CurrencyPairData> seed = new ArrayList<>();
+        for (int hour = 0; hour < SEEDED_HOURS; hour++) {
+            for (int minute = 0; minute < ROWS_PER_HOUR; minute++) {
+                seed.add(row(start.plusHours(hour).plusMinutes(minute * 2L), hour));
+            }
+        }
+        manager.appendBatchForAllPairs(seed);
+
+        Set<LocalDateTime> seededHours = new HashSet<>();
+        for (int hour = 0; hour < SEEDED_HOURS; hour++) {
+            seededHours.add(start.plusHours(hour));
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger reads = new AtomicInteger();
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch readersDone = new CountDownLatch(READER_THREADS);
+
+        for (int i = 0; i < READER_THREADS; i++) {
+            final int readerId = i;
+            Thread reader = new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        List<CurrencyPairData> data;
+                        switch (readerId % 3) {
+                            case 0:
+                                data = manager.readDataForCurrencyPair(PAIR);
+                                break;
+                            case 1:
+                                data = manager.readDataWindowForCurrencyPair(PAIR, start, null);
+                                break;
+                            default:
+                                data = manager.readLastEntriesForCurrencyPair(PAIR, Integer.MAX_VALUE);
+                                break;
+                        }
+                        checkSnapshot(data, seededHours, failures);
+                        reads.incrementAndGet();
+                    }
+                } catch (Throwable t) {
+                    failures.add("Leser " + readerId + ": " + t);
+                } finally {
+                    readersDone.countDown();
+                }
+            }, "Stress-Reader-" + i);
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        // Schreiber: neue Stunden anhängen, wiederholt komprimieren und eine veraltete Zeile bereinigen
+        for (int round = 0; round < COMPACTION_ROUNDS; round++) {
+            LocalDateTime hour = start.plusHours(SEEDED_HOURS + round);
+            for (int minute = 0; minute < ROWS_PER_HOUR; minute++) {
+                manager.appendDataForSinglePair(row(hour.plusMinutes(minute * 2L), round));
+            }
+            manager.compactAllDataToHourly(null, null);
+
+            manager.appendDataForSinglePair(row(start.minusDays(400).plusHours(round), round));
+            manager.cleanupOldData(365);
+        }
+
+        running.set(false);
+        assertTrue(readersDone.await(30, TimeUnit.SECONDS), "Leser wurden nicht beendet");
+
+        assertTrue(failures.isEmpty(), "Inkonsistente Lesezugriffe: " + failures);
+        assertTrue(reads.get() > 0, "Keine Lesezugriffe ausgeführt");
+
+        List<CurrencyPairData> finalData = manager.readDataForCurrencyPair(PAIR);
+        assertEquals(SEEDED_HOURS + COMPACTION_ROUNDS, finalData.size());
+    }
+
+    /**
+     * Ein gültiger Snapshot enthält alle vorab geschriebenen Stunden
+     */
+    private static void checkSnapshot(List<CurrencyPairData> data, Set<LocalDateTime> seededHours,
+                                      ConcurrentLinkedQueue<String> failures) {
+        Set<LocalDateTime> hours = new HashSet<>();
+        for (CurrencyPairData row : data) {
+            hours.add(row.getTimestamp().truncatedTo(ChronoUnit.HOURS));
+        }
+        if (!hours.containsAll(seededHours)) {
+            failures.add("Snapshot mit " + data.size() + " Zeilen enthält nur " + hours.size() + " Stunden");
+        }
+        assertFalse(data.isEmpty());
+    }
+
+    private static CurrencyPairData row(LocalDateTime timestamp, int variant) {
+        double buy = 40 + (variant % 20);
+        return new CurrencyPairData(PAIR, buy, 100 - buy, CurrencyPairData.TradingSignal.BUY, timestamp);
+    }
+}
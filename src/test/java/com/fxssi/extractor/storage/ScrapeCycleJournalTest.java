@@ -0,0 +1,107 @@
+package com.fxssi.extractor.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fxssi.extractor.model.CurrencyPairData;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Wiederherstellung des Scrape-Journals: abgeschnittene Einträge am Ende, Einspielen ab dem Checkpoint
+ * und erneuter Versuch nach einer fehlgeschlagenen Übernahme.
+ */
+public class ScrapeCycleJournalTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void recoverTruncatesTornTailAndReplaysAfterCheckpoint() throws Exception {
+        List<List<CurrencyPairData>> materialized = Collections.synchronizedList(new ArrayList<>());
+        ScrapeCycleJournal journal = new ScrapeCycleJournal(tempDir.toString(), materialized::add);
+        assertEquals(0, journal.recover());
+        for (int i = 0; i < 3; i++) {
+            journal.commit(cycle(i));
+        }
+        journal.shutdown();
+        assertEquals(3, journal.getCheckpointSequence());
+        assertEquals(3, materialized.size());
+
+        Path journalDir = tempDir.resolve("journal");
+        Path journalFile = journalDir.resolve("scrape_cycles.journal");
+        long validSize = Files.size(journalFile);
+
+        // Absturz nach Zyklus 1: Checkpoint zurücksetzen, halb geschriebenen Eintrag anhängen
+        Files.write(journalDir.resolve("scrape_cycles.checkpoint"), "1".getBytes(StandardCharsets.UTF_8));
+        appendTornRecord(journalFile);
+
+        List<List<CurrencyPairData>> replayed = new ArrayList<>();
+        ScrapeCycleJournal recovered = new ScrapeCycleJournal(tempDir.toString(), replayed::add);
+        assertEquals(2, recovered.recover());
+
+        assertEquals(validSize, Files.size(journalFile));
+        assertEquals(2, replayed.size());
+        assertEquals(cycle(1).get(0).getTimestamp(), replayed.get(0).get(0).getTimestamp());
+        assertEquals(cycle(2).get(0).getTimestamp(), replayed.get(1).get(0).getTimestamp());
+        assertEquals(3, recovered.getCheckpointSequence());
+
+        // Nach der Wiederherstellung geht die Nummerierung lückenlos weiter
+        assertEquals(4, recovered.commit(cycle(3)));
+        recovered.shutdown();
+        assertEquals(4, recovered.getCheckpointSequence());
+    }
+
+    @Test
+    public void failedMaterializationIsRetriedWithNextCycle() throws Exception {
+        AtomicBoolean failNext = new AtomicBoolean(true);
+        List<List<CurrencyPairData>> materialized = Collections.synchronizedList(new ArrayList<>());
+        ScrapeCycleJournal journal = new ScrapeCycleJournal(tempDir.toString(), data -> {
+            if (failNext.getAndSet(false)) {
+                throw new IllegalStateException("CSV nicht beschreibbar");
+            }
+            materialized.add(data);
+        });
+        journal.recover();
+
+        journal.commit(cycle(0));
+        journal.commit(cycle(1));
+        journal.shutdown();
+
+        // Zyklus 1 wurde zusammen mit Zyklus 2 erneut übernommen, der Checkpoint steht auf dem letzten Zyklus
+        assertEquals(2, journal.getCheckpointSequence());
+        assertEquals(2, materialized.size());
+        assertEquals(cycle(0).get(0).getTimestamp(), materialized.get(0).get(0).getTimestamp());
+
+        List<List<CurrencyPairData>> replayed = new ArrayList<>();
+        ScrapeCycleJournal restarted = new ScrapeCycleJournal(tempDir.toString(), replayed::add);
+        assertEquals(0, restarted.recover());
+        restarted.shutdown();
+    }
+
+    private static List<CurrencyPairData> cycle(int index) {
+        LocalDateTime timestamp = START.plusMinutes(index * 20L);
+        List<CurrencyPairData> data = new ArrayList<>();
+        data.add(new CurrencyPairData("EUR/USD", 40 + index, 60 - index, CurrencyPairData.TradingSignal.BUY, timestamp));
+        data.add(new CurrencyPairData("GBP/USD", 55, 45, CurrencyPairData.TradingSignal.SELL, timestamp));
+        return data;
+    }
+
+    private static void appendTornRecord(Path journalFile) throws IOException {
+        byte[] partialHeader = {0x4A, 0x52, 0x4E, 0x31, 0, 0, 0, 0, 0, 0, 0, 9, 0, 0};
+        Files.write(journalFile, partialHeader, StandardOpenOption.APPEND);
+    }
+}